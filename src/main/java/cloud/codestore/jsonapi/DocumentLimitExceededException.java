@@ -0,0 +1,86 @@
+package cloud.codestore.jsonapi;
+
+import cloud.codestore.jsonapi.error.ErrorDocument;
+import cloud.codestore.jsonapi.error.ErrorObject;
+import cloud.codestore.jsonapi.error.ErrorSource;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+/**
+ * Thrown if a deserialized JSON:API document exceeds one of the configured {@link DocumentLimits}.
+ * The exception can be returned to the client as {@link #getErrorDocument() error document}.
+ */
+public class DocumentLimitExceededException extends JsonMappingException {
+    private final Limit limit;
+    private final long maximum;
+    private final String pointer;
+
+    /**
+     * @param parser  the parser which read the document. May be {@code null}.
+     * @param limit   the exceeded limit.
+     * @param maximum the configured maximum.
+     * @param pointer a JSON pointer to the value which exceeds the limit or {@code null}, if it applies to the whole document.
+     * @param cause   the cause of this exception. May be {@code null}.
+     */
+    public DocumentLimitExceededException(JsonParser parser, Limit limit, long maximum, String pointer, Throwable cause) {
+        super(parser, limit.description + " exceeds the maximum of " + maximum + ".", cause);
+        this.limit = limit;
+        this.maximum = maximum;
+        this.pointer = pointer;
+    }
+
+    /**
+     * @return the exceeded limit.
+     */
+    public Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the configured maximum of the exceeded limit.
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * @return a JSON pointer to the value which exceeds the limit or {@code null}, if it applies to the whole document.
+     */
+    public String getPointer() {
+        return pointer;
+    }
+
+    /**
+     * @return an {@link ErrorDocument} which describes the exceeded limit.
+     * Its status is 413 (Content Too Large) if the document is too long, or 400 (Bad Request) otherwise.
+     */
+    public ErrorDocument getErrorDocument() {
+        ErrorObject error = new ErrorObject()
+                .setStatus(limit == Limit.BYTES ? "413" : "400")
+                .setCode("document-limit-exceeded")
+                .setTitle("Document limit exceeded")
+                .setDetail(getOriginalMessage());
+
+        if (pointer != null)
+            error.setSource(new ErrorSource().setPointer(pointer));
+
+        return new ErrorDocument(error);
+    }
+
+    /**
+     * The limits of a JSON:API document.
+     */
+    public enum Limit {
+        DEPTH("The nesting depth of the document"),
+        BYTES("The length of the document"),
+        RESOURCES("The number of resource objects in the primary data"),
+        INCLUDED_RESOURCES("The number of included resource objects"),
+        LINKAGE("The number of resource identifier objects of the relationship");
+
+        private final String description;
+
+        Limit(String description) {
+            this.description = description;
+        }
+    }
+}
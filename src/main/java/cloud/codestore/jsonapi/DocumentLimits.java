@@ -0,0 +1,54 @@
+package cloud.codestore.jsonapi;
+
+/**
+ * Limits for deserializing JSON:API documents from untrusted sources.
+ * If a document exceeds any of these limits, deserialization fails with a {@link DocumentLimitExceededException}
+ * before the resource objects are bound. The nesting depth and the length of the document are enforced by the parser
+ * while the document is read, so an oversized document is not read completely.
+ * <pre>{@code
+ * DocumentLimits limits = DocumentLimits.UNLIMITED.withMaxBytes(1_000_000)
+ *                                                 .withMaxResources(100);
+ * }</pre>
+ *
+ * @param maxDepth             the maximum nesting depth of JSON objects and arrays.
+ * @param maxBytes             the maximum length of a document in bytes or characters, depending on the input source.
+ * @param maxResources         the maximum number of resource objects in the primary data.
+ * @param maxIncludedResources the maximum number of included resource objects.
+ * @param maxLinkage           the maximum number of resource identifier objects per relationship.
+ */
+public record DocumentLimits(int maxDepth, long maxBytes, int maxResources, int maxIncludedResources, int maxLinkage) {
+    /**
+     * No limits at all, except the default limits of the Jackson parser.
+     */
+    public static final DocumentLimits UNLIMITED = new DocumentLimits(
+            Integer.MAX_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE
+    );
+
+    /**
+     * @throws IllegalArgumentException if any of the limits is less than 1.
+     */
+    public DocumentLimits {
+        if (maxDepth < 1 || maxBytes < 1 || maxResources < 1 || maxIncludedResources < 1 || maxLinkage < 1)
+            throw new IllegalArgumentException("The limits must be greater than 0.");
+    }
+
+    public DocumentLimits withMaxDepth(int maxDepth) {
+        return new DocumentLimits(maxDepth, maxBytes, maxResources, maxIncludedResources, maxLinkage);
+    }
+
+    public DocumentLimits withMaxBytes(long maxBytes) {
+        return new DocumentLimits(maxDepth, maxBytes, maxResources, maxIncludedResources, maxLinkage);
+    }
+
+    public DocumentLimits withMaxResources(int maxResources) {
+        return new DocumentLimits(maxDepth, maxBytes, maxResources, maxIncludedResources, maxLinkage);
+    }
+
+    public DocumentLimits withMaxIncludedResources(int maxIncludedResources) {
+        return new DocumentLimits(maxDepth, maxBytes, maxResources, maxIncludedResources, maxLinkage);
+    }
+
+    public DocumentLimits withMaxLinkage(int maxLinkage) {
+        return new DocumentLimits(maxDepth, maxBytes, maxResources, maxIncludedResources, maxLinkage);
+    }
+}
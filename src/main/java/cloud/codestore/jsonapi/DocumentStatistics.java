@@ -0,0 +1,64 @@
+package cloud.codestore.jsonapi;
+
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+
+import java.util.Map;
+
+/**
+ * Statistics about a serialized or deserialized JSON:API document which are passed to a {@link JsonApiMetricsListener}.
+ *
+ * @param documentType      the class of the document.
+ * @param resources         the number of resource objects in the primary data.
+ * @param includedResources the number of included resource objects.
+ * @param maxIncludeDepth   the length of the longest chain of relationships from the primary data to an included resource.
+ *                          It is 0 if the document does not contain included resources.
+ * @param relationships     the number of relationships of all resource objects.
+ * @param metaObjects       the number of deserialized meta objects. Always 0 for serialized documents.
+ * @param bytes             the number of bytes or characters which were read or written, depending on the input source
+ *                          or output target, or -1 if unknown.
+ * @param nanos             the elapsed nanoseconds per {@link Phase}.
+ */
+public record DocumentStatistics(
+        Class<? extends JsonApiDocument> documentType,
+        int resources,
+        int includedResources,
+        int maxIncludeDepth,
+        int relationships,
+        int metaObjects,
+        long bytes,
+        Map<Phase, Long> nanos
+) {
+    /**
+     * @param phase a phase of serialization or deserialization.
+     * @return the elapsed nanoseconds of the given phase or 0, if the phase was not part of processing the document.
+     */
+    public long nanos(Phase phase) {
+        return nanos.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * The phases of serializing or deserializing a JSON:API document.
+     */
+    public enum Phase {
+        /**
+         * Unwrapping the "attributes" and "relationships" objects of all resource objects before deserialization.
+         */
+        UNWRAP,
+        /**
+         * Binding the unwrapped document to Java objects, excluding linking.
+         */
+        BIND,
+        /**
+         * Linking the deserialized relationships to the included resources.
+         */
+        LINK,
+        /**
+         * Walking the relationships of the primary data to include the related resources during serialization.
+         */
+        INCLUDE,
+        /**
+         * The whole serialization or deserialization of the document including all other phases.
+         */
+        TOTAL
+    }
+}
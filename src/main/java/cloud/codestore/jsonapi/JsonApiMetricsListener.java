@@ -0,0 +1,25 @@
+package cloud.codestore.jsonapi;
+
+/**
+ * Receives statistics about every JSON:API document which is serialized or deserialized
+ * by a {@link JsonApiObjectMapper}. It can be used to bridge to any metrics framework,
+ * for example to alert on documents with an unexpected number of included resources.
+ * <br/><br/>
+ * The methods are called synchronously by the thread which serialized or deserialized the document,
+ * so they should return quickly.
+ */
+public interface JsonApiMetricsListener {
+    /**
+     * Called after a JSON:API document was deserialized.
+     *
+     * @param statistics the statistics of the deserialized document.
+     */
+    default void documentRead(DocumentStatistics statistics) {}
+
+    /**
+     * Called after a JSON:API document was serialized.
+     *
+     * @param statistics the statistics of the serialized document.
+     */
+    default void documentWritten(DocumentStatistics statistics) {}
+}
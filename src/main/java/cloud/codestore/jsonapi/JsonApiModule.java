@@ -9,22 +9,32 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
  * Jackson module that needs to be registered to serialize {@code JsonApiDocument}s.
  */
 public class JsonApiModule extends SimpleModule {
+    private final JsonApiConfiguration configuration;
+
     public JsonApiModule() {
         this(null);
     }
 
     public JsonApiModule(MetaDeserializer metaDeserializer) {
+        this(metaDeserializer, new JsonApiConfiguration());
+    }
+
+    JsonApiModule(MetaDeserializer metaDeserializer, JsonApiConfiguration configuration) {
         super(JsonApiModule.class.getName());
+        this.configuration = configuration;
         this.addDeserializer(MetaInformation.class, new MetaInformationDeserializer(metaDeserializer));
     }
 
     @Override
     public void setupModule(SetupContext context) {
         super.setupModule(context);
-        context.addBeanSerializerModifier(new ResourceObjectSerializerModifier());
+        context.addBeanSerializerModifier(new ResourceObjectSerializerModifier(configuration));
         context.addBeanSerializerModifier(new LinkSerializerModifier());
-        context.addBeanDeserializerModifier(new ResourceObjectDeserializerModifier());
-        context.addBeanDeserializerModifier(new JsonApiDeserializerModifier());
-        context.addBeanDeserializerModifier(new RelationshipDeserializerModifier());
+        context.addBeanSerializerModifier(new JsonApiDocumentSerializerModifier(configuration));
+        context.addBeanDeserializerModifier(new ResourceObjectDeserializerModifier(configuration));
+        context.addBeanDeserializerModifier(new JsonApiDeserializerModifier(configuration));
+        context.addBeanDeserializerModifier(new RelationshipDeserializerModifier(configuration));
+        context.addDeserializationProblemHandler(new UnknownResourceTypeHandler(configuration));
+        context.appendAnnotationIntrospector(new ConstructorBindingIntrospector());
     }
 }
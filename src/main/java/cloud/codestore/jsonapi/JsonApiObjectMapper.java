@@ -1,18 +1,36 @@
 package cloud.codestore.jsonapi;
 
+import cloud.codestore.jsonapi.document.ResourceCollectionDocument;
+import cloud.codestore.jsonapi.internal.CountingOutputDecorator;
+import cloud.codestore.jsonapi.internal.JsonApiConfiguration;
+import cloud.codestore.jsonapi.internal.WarmUpTypes;
 import cloud.codestore.jsonapi.meta.MetaDeserializer;
 import cloud.codestore.jsonapi.meta.MetaInformation;
+import cloud.codestore.jsonapi.resource.GenericResourceObject;
+import cloud.codestore.jsonapi.resource.JsonApiType;
 import cloud.codestore.jsonapi.resource.ResourceObject;
+import cloud.codestore.jsonapi.resource.ResourceTypeRegistry;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.io.OutputDecorator;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.NamedType;
 
+import java.util.ServiceLoader;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * An {@link ObjectMapper} that needs to be used for serializing and deserializing JSON:API documents.
  */
 public class JsonApiObjectMapper extends ObjectMapper {
+    private final JsonApiConfiguration configuration = new JsonApiConfiguration();
+
     /**
      * Creates a new instance without registering an application specific {@link MetaDeserializer}.
      * Thus, {@link MetaInformation} objects will not be deserialized.
@@ -26,7 +44,7 @@ public class JsonApiObjectMapper extends ObjectMapper {
      * @param metaDeserializer an application specific {@link MetaDeserializer}.
      */
     public JsonApiObjectMapper(MetaDeserializer metaDeserializer) {
-        registerModule(new JsonApiModule(metaDeserializer));
+        registerModule(new JsonApiModule(metaDeserializer, configuration));
         setSerializationInclusion(JsonInclude.Include.NON_NULL);
         enable(SerializationFeature.INDENT_OUTPUT);
         disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
@@ -46,7 +64,8 @@ public class JsonApiObjectMapper extends ObjectMapper {
 
     /**
      * Binds the type of a JSON:API resource object with the corresponding Java class.
-     * The name of the JSON:API resource object is derived from the name of the given class.
+     * The name of the JSON:API resource object is taken from the {@link JsonApiType} annotation of the given class.
+     * Without annotation, the name is derived from the name of the given class.
      * For example, {@code Article.class} will be bound to the resource name {@code "article"}.
      *
      * @param type a Java class.
@@ -54,6 +73,10 @@ public class JsonApiObjectMapper extends ObjectMapper {
      * @throws IllegalArgumentException if the given class is an anonymous class which has no name.
      */
     public JsonApiObjectMapper registerResourceType(Class<? extends ResourceObject> type) {
+        JsonApiType annotation = type.getAnnotation(JsonApiType.class);
+        if (annotation != null)
+            return registerResourceType(annotation.value(), type);
+
         String typeName = type.getSimpleName();
         if (typeName.isEmpty()) {
             throw new IllegalArgumentException("Anonymous classes are not allowed in this method.");
@@ -63,4 +86,370 @@ public class JsonApiObjectMapper extends ObjectMapper {
         registerSubtypes(new NamedType(type, typeName));
         return this;
     }
+
+    /**
+     * Binds all resource types of the given registry.
+     * If the registry provides generated {@link cloud.codestore.jsonapi.resource.ResourceObjectWriter}s, they are used
+     * to read the attributes and relationships of the corresponding resource objects without reflection.
+     *
+     * @param registry a {@link ResourceTypeRegistry}, usually generated for all classes annotated with {@link JsonApiType}.
+     * @return this object.
+     */
+    public JsonApiObjectMapper registerResourceTypes(ResourceTypeRegistry registry) {
+        registerSubtypes(
+                registry.getResourceTypes()
+                        .entrySet()
+                        .stream()
+                        .map(resourceType -> new NamedType(resourceType.getValue(), resourceType.getKey()))
+                        .toArray(NamedType[]::new)
+        );
+        registry.getResourceObjectWriters().forEach(configuration::addResourceObjectWriter);
+        return this;
+    }
+
+    /**
+     * Binds the resource types of all {@link ResourceTypeRegistry registries} which are provided as services.
+     * The registry which is generated for classes annotated with {@link JsonApiType} is automatically registered
+     * in {@code META-INF/services}. Inside a named module, it needs to be declared by a {@code provides} directive.
+     *
+     * @return this object.
+     */
+    public JsonApiObjectMapper registerResourceTypes() {
+        for (ResourceTypeRegistry registry : ServiceLoader.load(ResourceTypeRegistry.class)) {
+            registerResourceTypes(registry);
+        }
+
+        return this;
+    }
+
+    /**
+     * Creates the serializers and deserializers of all registered resource types in advance.
+     * This includes the documents which contain the resource objects as primary data and the relationships
+     * which point to them. Thus, the first document of each type is processed as fast as all subsequent ones,
+     * instead of paying for the introspection of its classes.
+     * <br/><br/>
+     * This method should be called after all resource types were registered and the object mapper was configured.
+     *
+     * @return this object.
+     * @throws JsonMappingException if a serializer or deserializer could not be created.
+     */
+    public JsonApiObjectMapper warmUp() throws JsonMappingException {
+        SerializerProvider serializerProvider = getSerializerProviderInstance();
+        DeserializationContext deserializationContext = createDeserializationContext(null, getDeserializationConfig());
+
+        for (JavaType type : WarmUpTypes.getValueTypes(this)) {
+            serializerProvider.findTypedValueSerializer(type, true, null);
+            deserializationContext.findRootValueDeserializer(type);
+        }
+
+        for (Class<?> type : WarmUpTypes.getRuntimeClasses(this)) {
+            serializerProvider.findTypedValueSerializer(type, true, null);
+        }
+
+        return this;
+    }
+
+    /**
+     * Enables parallel serialization of large {@link ResourceCollectionDocument}s on the common {@link ForkJoinPool}.
+     *
+     * @param chunkSize the number of resource objects that are serialized by a single task.
+     *                  Documents with less primary data are serialized sequentially.
+     * @return this object.
+     * @throws IllegalArgumentException if {@code chunkSize} is less than 1.
+     * @see #enableParallelSerialization(int, ForkJoinPool)
+     */
+    public JsonApiObjectMapper enableParallelSerialization(int chunkSize) {
+        return enableParallelSerialization(chunkSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Enables parallel serialization of large {@link ResourceCollectionDocument}s.
+     * The primary data is split into chunks which are serialized into separate buffers on the given pool.
+     * The buffers are written in their original order and the related resources of all chunks are
+     * included into the document afterwards. Thus, the output contains the same data as if the
+     * document was serialized sequentially.
+     *
+     * @param chunkSize the number of resource objects that are serialized by a single task.
+     *                  Documents with less primary data are serialized sequentially.
+     * @param pool      the pool which executes the serialization tasks.
+     * @return this object.
+     * @throws IllegalArgumentException if {@code chunkSize} is less than 1.
+     * @throws NullPointerException     if {@code pool} is {@code null}.
+     */
+    public JsonApiObjectMapper enableParallelSerialization(int chunkSize, ForkJoinPool pool) {
+        configuration.enableParallelSerialization(chunkSize, pool);
+        return this;
+    }
+
+    /**
+     * Disables parallel serialization of {@link ResourceCollectionDocument}s.
+     *
+     * @return this object.
+     */
+    public JsonApiObjectMapper disableParallelSerialization() {
+        configuration.disableParallelSerialization();
+        return this;
+    }
+
+    /**
+     * Enables parallel deserialization of large JSON:API documents on the common {@link ForkJoinPool}.
+     *
+     * @param chunkSize the number of resource objects that are bound by a single task.
+     *                  Arrays with less resource objects are bound sequentially.
+     * @return this object.
+     * @throws IllegalArgumentException if {@code chunkSize} is less than 1.
+     * @see #enableParallelDeserialization(int, ForkJoinPool)
+     */
+    public JsonApiObjectMapper enableParallelDeserialization(int chunkSize) {
+        return enableParallelDeserialization(chunkSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Enables parallel deserialization of large JSON:API documents.
+     * After the document was read and unwrapped, the resource objects of large "data" and "included" arrays
+     * are bound to their Java classes in chunks on the given pool.
+     * The included resources are linked to the relationships once all resource objects are bound.
+     *
+     * @param chunkSize the number of resource objects that are bound by a single task.
+     *                  Arrays with less resource objects are bound sequentially.
+     * @param pool      the pool which executes the deserialization tasks.
+     * @return this object.
+     * @throws IllegalArgumentException if {@code chunkSize} is less than 1.
+     * @throws NullPointerException     if {@code pool} is {@code null}.
+     */
+    public JsonApiObjectMapper enableParallelDeserialization(int chunkSize, ForkJoinPool pool) {
+        configuration.enableParallelDeserialization(chunkSize, pool);
+        return this;
+    }
+
+    /**
+     * Disables parallel deserialization of JSON:API documents.
+     *
+     * @return this object.
+     */
+    public JsonApiObjectMapper disableParallelDeserialization() {
+        configuration.disableParallelDeserialization();
+        return this;
+    }
+
+    /**
+     * Enables the canonical output mode. In this mode, the output of a JSON:API document only depends on its content,
+     * so byte-identical output can be used as cache key or for content-addressed storage:
+     * <ul>
+     *     <li>the members of all maps like links, extension members and meta objects are sorted by their keys.</li>
+     *     <li>the included resources are sorted by their type and id.</li>
+     * </ul>
+     * The members of other objects are written in the order of their Java classes as usual.
+     *
+     * @return this object.
+     */
+    public JsonApiObjectMapper enableCanonicalOutput() {
+        configuration.setCanonicalOutput(true);
+        enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        return this;
+    }
+
+    /**
+     * Disables the canonical output mode.
+     *
+     * @return this object.
+     */
+    public JsonApiObjectMapper disableCanonicalOutput() {
+        configuration.setCanonicalOutput(false);
+        disable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        return this;
+    }
+
+    /**
+     * Enables caching the serialized JSON of resource objects which return a
+     * {@link ResourceObject#getCacheVersion() cache version}. The cached JSON is written as it is into
+     * the "data" and "included" arrays of subsequent documents, so it is not indented like the rest of the document.
+     *
+     * @param maximumSize the maximum number of cached resource objects.
+     *                    If the cache is full, the least recently used resource object is evicted.
+     * @return this object.
+     * @throws IllegalArgumentException if {@code maximumSize} is less than 1.
+     */
+    public JsonApiObjectMapper enableResourceObjectCache(int maximumSize) {
+        configuration.enableResourceObjectCache(maximumSize);
+        return this;
+    }
+
+    /**
+     * Disables caching the serialized JSON of resource objects and discards the cache.
+     *
+     * @return this object.
+     */
+    public JsonApiObjectMapper disableResourceObjectCache() {
+        configuration.disableResourceObjectCache();
+        return this;
+    }
+
+    /**
+     * Enables deserializing resource objects of types without a registered class into {@link GenericResourceObject}s.
+     * This only applies if the expected type of a resource object is {@link ResourceObject} itself,
+     * for example in {@code JsonApiDocument}s or relationships without a generic type.
+     * Otherwise, resource objects of unknown types are still deserialized as {@code null}.
+     * <br/><br/>
+     * Like registering resource types, this must be done before the first document is deserialized.
+     * <br/><br/>
+     * Jackson only resolves unknown type ids by a problem handler if {@link DeserializationFeature#FAIL_ON_INVALID_SUBTYPE}
+     * is enabled, so this method enables it for the whole object mapper. Values of other polymorphic types
+     * with an unknown type id fail with an {@link com.fasterxml.jackson.databind.exc.InvalidTypeIdException}
+     * unless another problem handler resolves them.
+     *
+     * @return this object.
+     * @see #disableGenericResourceObjects()
+     */
+    public JsonApiObjectMapper enableGenericResourceObjects() {
+        configuration.setGenericResourceObjects(true);
+        enable(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE);
+        return this;
+    }
+
+    /**
+     * Disables deserializing resource objects of unknown types into {@link GenericResourceObject}s
+     * and disables {@link DeserializationFeature#FAIL_ON_INVALID_SUBTYPE} again.
+     *
+     * @return this object.
+     */
+    public JsonApiObjectMapper disableGenericResourceObjects() {
+        configuration.setGenericResourceObjects(false);
+        disable(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE);
+        return this;
+    }
+
+    /**
+     * Enables sharing the strings of equal "type" values of deserialized resource objects and resource identifier objects.
+     * Types with a registered class share the registered type name, so they do not retain a copy for every
+     * occurrence. This shrinks the retained heap of large documents, for example if they are cached.
+     *
+     * @param deduplicateIds whether equal "id" values inside the same document should share the same string as well.
+     * @return this object.
+     */
+    public JsonApiObjectMapper enableStringCanonicalization(boolean deduplicateIds) {
+        configuration.enableStringCanonicalization(deduplicateIds);
+        return this;
+    }
+
+    /**
+     * Disables sharing the strings of equal types and ids.
+     *
+     * @return this object.
+     */
+    public JsonApiObjectMapper disableStringCanonicalization() {
+        configuration.disableStringCanonicalization();
+        return this;
+    }
+
+    /**
+     * Enables holding numeric ids of deserialized resource linkage as {@code long} values.
+     * An id is numeric if it is converted to the same string by {@link Long#toString(long)}.
+     * <br/><br/>
+     * The resource identifier objects of a to-many relationship are replaced by primitive arrays of types and ids,
+     * if all of them have a numeric id and neither a local id nor meta information. Such relationships create
+     * new {@link cloud.codestore.jsonapi.resource.ResourceIdentifierObject}s on every call of
+     * {@link cloud.codestore.jsonapi.relationship.ToManyRelationship#getData()}.
+     * The included resources are linked to numeric ids without hashing the id strings.
+     *
+     * @return this object.
+     */
+    public JsonApiObjectMapper enableNumericIds() {
+        configuration.setNumericIds(true);
+        return this;
+    }
+
+    /**
+     * Disables holding numeric ids as {@code long} values.
+     *
+     * @return this object.
+     */
+    public JsonApiObjectMapper disableNumericIds() {
+        configuration.setNumericIds(false);
+        return this;
+    }
+
+    /**
+     * Sets a listener which receives statistics about every serialized and deserialized JSON:API document,
+     * like the number of resources and included resources, the include depth and the elapsed time per phase.
+     * <br/><br/>
+     * To count the written bytes, the output of the {@link #getFactory() JsonFactory} is wrapped by a counting
+     * {@link com.fasterxml.jackson.core.io.OutputDecorator}. Documents which are written into a
+     * {@link com.fasterxml.jackson.core.JsonGenerator} created elsewhere report -1 as number of bytes.
+     * The decorator is removed again once neither a listener nor a maximum number of output bytes is set.
+     *
+     * @param metricsListener a {@link JsonApiMetricsListener} or {@code null} to stop collecting statistics.
+     * @return this object.
+     */
+    public JsonApiObjectMapper setMetricsListener(JsonApiMetricsListener metricsListener) {
+        configuration.setMetricsListener(metricsListener);
+        updateOutputCounting();
+        return this;
+    }
+
+    /**
+     * Sets limits for serializing JSON:API documents, which protect against runaway object graphs
+     * whose relationships include far more resources than expected.
+     * Depending on the {@link OutputLimits.Action}, serialization either fails with an
+     * {@link OutputLimitExceededException} or the document is truncated by not including further related resources.
+     * <br/><br/>
+     * To check the maximum number of bytes, the output of the {@link #getFactory() JsonFactory} is wrapped by a
+     * counting {@link com.fasterxml.jackson.core.io.OutputDecorator}. The number of bytes is not checked for documents
+     * which are written into a {@link com.fasterxml.jackson.core.JsonGenerator} created elsewhere.
+     *
+     * @param limits the {@link OutputLimits}.
+     * @return this object.
+     * @throws NullPointerException if {@code limits} is {@code null}.
+     */
+    public JsonApiObjectMapper setOutputLimits(OutputLimits limits) {
+        configuration.setOutputLimits(limits);
+        updateOutputCounting();
+        return this;
+    }
+
+    /**
+     * Sets limits for deserializing JSON:API documents from untrusted sources.
+     * If a document exceeds any of the limits, deserialization fails with a {@link DocumentLimitExceededException}
+     * which provides an {@link cloud.codestore.jsonapi.error.ErrorDocument} for the client.
+     * <br/><br/>
+     * The nesting depth and the document length are set as {@link StreamReadConstraints} of the
+     * {@link #getFactory() JsonFactory}, so they apply to everything which is read by this object mapper.
+     * The constraints are rebuilt from {@link StreamReadConstraints#defaults() the defaults of Jackson} on every call,
+     * so a nesting depth or document length which is not limited resets the constraint to the default of Jackson.
+     * <br/><br/>
+     * The number of resource objects, included resources and resource identifier objects are counted while the
+     * document is parsed, so deserialization fails before the rest of the document is read.
+     * The limits also apply to the {@link cloud.codestore.jsonapi.document.AsyncDocumentReader}.
+     *
+     * @param limits the {@link DocumentLimits}.
+     * @return this object.
+     * @throws NullPointerException if {@code limits} is {@code null}.
+     */
+    public JsonApiObjectMapper setDocumentLimits(DocumentLimits limits) {
+        configuration.setDocumentLimits(limits);
+        StreamReadConstraints.Builder constraints = StreamReadConstraints.defaults().rebuild();
+        if (limits.maxDepth() < Integer.MAX_VALUE)
+            constraints.maxNestingDepth(limits.maxDepth());
+        if (limits.maxBytes() < Long.MAX_VALUE)
+            constraints.maxDocumentLength(limits.maxBytes());
+
+        getFactory().setStreamReadConstraints(constraints.build());
+        setDefaultAttributes(getDeserializationConfig().getAttributes().withSharedAttribute(DocumentLimits.class, limits));
+        return this;
+    }
+
+    /**
+     * Wraps the output of the {@link #getFactory() JsonFactory} by a {@link CountingOutputDecorator} as long as
+     * the metrics listener or the output limits need the number of written bytes, and removes it otherwise.
+     */
+    @SuppressWarnings("deprecation")
+    private void updateOutputCounting() {
+        OutputDecorator decorator = getFactory().getOutputDecorator();
+        if (decorator instanceof CountingOutputDecorator countingDecorator) {
+            if (!configuration.isOutputCounted())
+                getFactory().setOutputDecorator(countingDecorator.getDecorator());
+        } else if (configuration.isOutputCounted()) {
+            getFactory().setOutputDecorator(new CountingOutputDecorator(decorator));
+        }
+    }
 }
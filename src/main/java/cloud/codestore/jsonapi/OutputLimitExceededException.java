@@ -0,0 +1,61 @@
+package cloud.codestore.jsonapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+/**
+ * Thrown if a serialized JSON:API document exceeds one of the configured {@link OutputLimits}.
+ */
+public class OutputLimitExceededException extends JsonMappingException {
+    private final Limit limit;
+    private final long maximum;
+
+    /**
+     * @param generator the generator which wrote the document. May be {@code null}.
+     * @param limit     the exceeded limit.
+     * @param maximum   the configured maximum.
+     */
+    public OutputLimitExceededException(JsonGenerator generator, Limit limit, long maximum) {
+        super(generator, limit.description + " exceeds the maximum of " + maximum + ".");
+        this.limit = limit;
+        this.maximum = maximum;
+    }
+
+    /**
+     * @return the exceeded limit.
+     */
+    public Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the configured maximum of the exceeded limit.
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * The limits of a serialized JSON:API document.
+     */
+    public enum Limit {
+        INCLUDED_RESOURCES("includedResources", "The number of included resource objects"),
+        INCLUSION_DEPTH("inclusionDepth", "The inclusion depth"),
+        BYTES("bytes", "The length of the document");
+
+        private final String name;
+        private final String description;
+
+        Limit(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        /**
+         * @return the name of this limit inside the "truncated" member of a document´s meta object.
+         */
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package cloud.codestore.jsonapi;
+
+/**
+ * Limits for serializing JSON:API documents, which protect against runaway object graphs
+ * whose relationships include far more resources than expected.
+ * The limits are checked while the document is written. If a limit is exceeded, the {@link Action} decides
+ * whether serialization fails with an {@link OutputLimitExceededException}
+ * or whether the included resources are truncated.
+ * <pre>{@code
+ * OutputLimits limits = OutputLimits.UNLIMITED.withMaxIncludedResources(1000)
+ *                                             .withAction(OutputLimits.Action.TRUNCATE);
+ * }</pre>
+ *
+ * @param maxIncludedResources the maximum number of included resource objects.
+ * @param maxInclusionDepth    the maximum length of a chain of relationships from the primary data to an included resource.
+ * @param maxBytes             the maximum length of a document in bytes or characters, depending on the output target.
+ * @param action               what happens if a limit is exceeded.
+ */
+public record OutputLimits(int maxIncludedResources, int maxInclusionDepth, long maxBytes, Action action) {
+    /**
+     * No limits at all.
+     */
+    public static final OutputLimits UNLIMITED = new OutputLimits(
+            Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE, Action.FAIL
+    );
+
+    /**
+     * @throws IllegalArgumentException if any of the limits is less than 1.
+     * @throws NullPointerException     if {@code action} is {@code null}.
+     */
+    public OutputLimits {
+        if (maxIncludedResources < 1 || maxInclusionDepth < 1 || maxBytes < 1)
+            throw new IllegalArgumentException("The limits must be greater than 0.");
+        if (action == null)
+            throw new NullPointerException("'action' must not be null.");
+    }
+
+    public OutputLimits withMaxIncludedResources(int maxIncludedResources) {
+        return new OutputLimits(maxIncludedResources, maxInclusionDepth, maxBytes, action);
+    }
+
+    public OutputLimits withMaxInclusionDepth(int maxInclusionDepth) {
+        return new OutputLimits(maxIncludedResources, maxInclusionDepth, maxBytes, action);
+    }
+
+    public OutputLimits withMaxBytes(long maxBytes) {
+        return new OutputLimits(maxIncludedResources, maxInclusionDepth, maxBytes, action);
+    }
+
+    public OutputLimits withAction(Action action) {
+        return new OutputLimits(maxIncludedResources, maxInclusionDepth, maxBytes, action);
+    }
+
+    /**
+     * What happens if a document exceeds one of the {@link OutputLimits}.
+     */
+    public enum Action {
+        /**
+         * Serialization fails with an {@link OutputLimitExceededException}.
+         */
+        FAIL,
+        /**
+         * Related resources which exceed a limit are not included. Their relationships only contain the resource linkage.
+         * The exceeded limits are listed in the "truncated" member of the "meta" object of the document.
+         * Since the primary data cannot be truncated, serialization still fails if the primary data exceeds
+         * the maximum number of bytes.
+         */
+        TRUNCATE
+    }
+}
@@ -0,0 +1,303 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.DocumentLimitExceededException;
+import cloud.codestore.jsonapi.DocumentLimits;
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.internal.DocumentLimitValidator;
+import cloud.codestore.jsonapi.internal.MetaInformationDeserializer;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Reads a JSON:API document which is received as a sequence of byte chunks.
+ * The chunks are passed to a non-blocking {@link JsonParser} as soon as they arrive.
+ * Every resource object of the "data" and "included" members is bound and passed to a consumer
+ * as soon as its last byte was fed, so the document never needs to be buffered as a whole.
+ * <br/><br/>
+ * The {@link JsonApiObjectMapper#setDocumentLimits(DocumentLimits) document limits} of the object mapper are enforced
+ * while the chunks are parsed. If the document exceeds a limit, {@link #feed(ByteBuffer)} or {@link #complete()} fails
+ * with a {@link DocumentLimitExceededException}.
+ * <br/><br/>
+ * The relationships of the emitted resource objects are not linked to the included resources.
+ * All other top-level members are collected and returned by {@link #complete()}.
+ * <br/><br/>
+ * A reader can only be used for a single document and is not thread-safe.
+ *
+ * <pre>{@code
+ * var reader = new AsyncDocumentReader<>(objectMapper, Article.class, articles::add);
+ * reader.feed(firstChunk);
+ * reader.feed(secondChunk);
+ * JsonApiDocument document = reader.complete();
+ * }</pre>
+ *
+ * @param <T> the type of the primary data.
+ */
+public class AsyncDocumentReader<T extends ResourceObject> {
+    private final JsonApiObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final ObjectReader dataReader;
+    private final ObjectReader includedReader;
+    private final Consumer<? super T> dataConsumer;
+    private Consumer<? super ResourceObject> includedConsumer = resource -> {};
+
+    private State state = State.ROOT;
+    private final TokenBuffer envelope;
+    private boolean collection;
+    private String member;
+    private int memberIndex;
+    private int envelopeDepth;
+
+    private TokenBuffer element;
+    private String elementPointer;
+    private State stateAfterElement;
+    private int elementDepth;
+    private int unwrappedDepth;
+    private boolean unwrapNextObject;
+
+    /**
+     * @param objectMapper the object mapper which knows all resource types of the document.
+     * @param dataType     the type of the primary data.
+     * @param dataConsumer receives every resource object of the primary data in the order of the document.
+     * @throws NullPointerException if any parameter is {@code null}.
+     */
+    public AsyncDocumentReader(JsonApiObjectMapper objectMapper, Class<T> dataType, Consumer<? super T> dataConsumer) {
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.dataReader = objectMapper.readerFor(Objects.requireNonNull(dataType));
+        this.includedReader = objectMapper.readerFor(ResourceObject.class);
+        this.dataConsumer = Objects.requireNonNull(dataConsumer);
+        this.envelope = new TokenBuffer(objectMapper, false);
+
+        try {
+            DocumentLimits limits = DocumentLimitValidator.getLimits(objectMapper.getDeserializationConfig());
+            this.parser = DocumentLimitValidator.limit(objectMapper.getFactory().createNonBlockingByteBufferParser(), limits);
+        } catch (IOException exception) {
+            throw new IllegalStateException("The JSON factory does not support non-blocking parsing.", exception);
+        }
+    }
+
+    /**
+     * @param includedConsumer receives every included resource object in the order of the document.
+     * @return this object.
+     * @throws NullPointerException if {@code includedConsumer} is {@code null}.
+     */
+    public AsyncDocumentReader<T> onIncludedResource(Consumer<? super ResourceObject> includedConsumer) {
+        this.includedConsumer = Objects.requireNonNull(includedConsumer);
+        return this;
+    }
+
+    /**
+     * Parses the given bytes.
+     * All resource objects which are completed by this chunk are passed to the consumers before this method returns.
+     *
+     * @param bytes  a chunk of the document.
+     * @param offset the index of the first byte of the chunk.
+     * @param length the number of bytes of the chunk.
+     * @throws IOException if the document is malformed or a resource object could not be bound.
+     */
+    public void feed(byte[] bytes, int offset, int length) throws IOException {
+        feed(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Parses the remaining bytes of the given buffer.
+     * All resource objects which are completed by this chunk are passed to the consumers before this method returns.
+     * The buffer is fully consumed afterwards and may be reused by the caller.
+     *
+     * @param buffer a chunk of the document.
+     * @throws IOException if the document is malformed, exceeds a limit or a resource object could not be bound.
+     */
+    public void feed(ByteBuffer buffer) throws IOException {
+        try {
+            ((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).feedInput(buffer);
+            parseAvailableTokens();
+        } catch (StreamConstraintsException exception) {
+            throw DocumentLimitValidator.translate(parser, exception);
+        }
+    }
+
+    /**
+     * Signals that the whole document was fed.
+     *
+     * @return the document containing all top-level members except "data" and "included".
+     * If the primary data was an array, the document is a {@link ResourceCollectionDocument},
+     * otherwise a {@link SingleResourceDocument}.
+     * @throws IOException if the document is incomplete or malformed.
+     */
+    public JsonApiDocument complete() throws IOException {
+        parser.getNonBlockingInputFeeder().endOfInput();
+        try {
+            parseAvailableTokens();
+        } catch (StreamConstraintsException exception) {
+            throw DocumentLimitValidator.translate(parser, exception);
+        }
+        if (state != State.DONE) {
+            throw new JsonParseException(parser, "Unexpected end of the JSON:API document");
+        }
+
+        parser.close();
+        Class<? extends JsonApiDocument> documentType = collection ? ResourceCollectionDocument.class : SingleResourceDocument.class;
+        return objectMapper.readValue(envelope.asParser(objectMapper), documentType);
+    }
+
+    private void parseAvailableTokens() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (state) {
+                case ROOT -> parseRoot(token);
+                case TOP_LEVEL -> parseTopLevelMember(token);
+                case ENVELOPE_VALUE -> copyEnvelopeValue(token);
+                case MEMBER_VALUE -> parseMemberValue(token);
+                case MEMBER_ARRAY -> parseArrayElement(token);
+                case RESOURCE_OBJECT -> copyResourceObject(token);
+                case DONE -> throw new JsonParseException(parser, "Unexpected content after the JSON:API document");
+            }
+        }
+    }
+
+    private void parseRoot(JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "A JSON:API document must be a JSON object");
+        }
+
+        envelope.writeStartObject();
+        state = State.TOP_LEVEL;
+    }
+
+    private void parseTopLevelMember(JsonToken token) throws IOException {
+        if (token == JsonToken.END_OBJECT) {
+            envelope.writeEndObject();
+            state = State.DONE;
+        } else if ("data".equals(parser.currentName()) || "included".equals(parser.currentName())) {
+            member = parser.currentName();
+            state = State.MEMBER_VALUE;
+        } else {
+            envelope.copyCurrentEvent(parser);
+            envelopeDepth = 0;
+            state = State.ENVELOPE_VALUE;
+        }
+    }
+
+    private void copyEnvelopeValue(JsonToken token) throws IOException {
+        envelope.copyCurrentEvent(parser);
+        if (token.isStructStart()) {
+            envelopeDepth++;
+        } else if (token.isStructEnd()) {
+            envelopeDepth--;
+        }
+
+        if (envelopeDepth == 0) {
+            state = State.TOP_LEVEL;
+        }
+    }
+
+    private void parseMemberValue(JsonToken token) throws IOException {
+        if (token == JsonToken.START_ARRAY) {
+            collection |= "data".equals(member);
+            memberIndex = 0;
+            state = State.MEMBER_ARRAY;
+        } else if (token == JsonToken.START_OBJECT && "data".equals(member)) {
+            startResourceObject("/data", State.TOP_LEVEL);
+        } else {
+            envelope.writeFieldName(member);
+            envelope.copyCurrentEvent(parser);
+            envelopeDepth = token.isStructStart() ? 1 : 0;
+            state = envelopeDepth == 0 ? State.TOP_LEVEL : State.ENVELOPE_VALUE;
+        }
+    }
+
+    private void parseArrayElement(JsonToken token) throws IOException {
+        if (token == JsonToken.END_ARRAY) {
+            state = State.TOP_LEVEL;
+        } else if (token == JsonToken.START_OBJECT) {
+            startResourceObject("/" + member + "/" + memberIndex++, State.MEMBER_ARRAY);
+        } else {
+            throw new JsonParseException(parser, "The \"" + member + "\" array must only contain resource objects");
+        }
+    }
+
+    private void startResourceObject(String pointer, State stateAfterElement) throws IOException {
+        element = new TokenBuffer(objectMapper, false);
+        element.writeStartObject();
+        elementPointer = pointer;
+        this.stateAfterElement = stateAfterElement;
+        elementDepth = 1;
+        unwrappedDepth = 0;
+        state = State.RESOURCE_OBJECT;
+    }
+
+    /**
+     * Copies the tokens of a resource object and unwraps its "attributes" and "relationships" objects on the fly.
+     */
+    private void copyResourceObject(JsonToken token) throws IOException {
+        if (unwrapNextObject) {
+            unwrapNextObject = false;
+            if (token == JsonToken.START_OBJECT) {
+                unwrappedDepth = ++elementDepth;
+                return;
+            }
+
+            element.writeFieldName(parser.currentName());
+        } else if (token == JsonToken.FIELD_NAME && elementDepth == 1 && isWrapper(parser.currentName())) {
+            unwrapNextObject = true;
+            return;
+        } else if (token == JsonToken.END_OBJECT && elementDepth == unwrappedDepth) {
+            elementDepth--;
+            unwrappedDepth = 0;
+            return;
+        }
+
+        element.copyCurrentEvent(parser);
+        if (token.isStructStart()) {
+            elementDepth++;
+        } else if (token.isStructEnd()) {
+            elementDepth--;
+        }
+
+        if (elementDepth == 0) {
+            emitResourceObject();
+        }
+    }
+
+    private static boolean isWrapper(String fieldName) {
+        return "attributes".equals(fieldName) || "relationships".equals(fieldName);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void emitResourceObject() throws IOException {
+        boolean primaryData = "data".equals(member);
+        ObjectReader reader = primaryData ? dataReader : includedReader;
+        Object resourceObject = reader.withAttribute(MetaInformationDeserializer.POINTER_PREFIX, elementPointer)
+                                      .readValue(element.asParser(objectMapper));
+
+        element = null;
+        state = stateAfterElement;
+        if (resourceObject != null) {
+            if (primaryData) {
+                dataConsumer.accept((T) resourceObject);
+            } else {
+                includedConsumer.accept((ResourceObject) resourceObject);
+            }
+        }
+    }
+
+    private enum State {
+        ROOT,
+        TOP_LEVEL,
+        ENVELOPE_VALUE,
+        MEMBER_VALUE,
+        MEMBER_ARRAY,
+        RESOURCE_OBJECT,
+        DONE
+    }
+}
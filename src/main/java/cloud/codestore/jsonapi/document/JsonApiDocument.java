@@ -7,15 +7,18 @@ import cloud.codestore.jsonapi.link.Link;
 import cloud.codestore.jsonapi.link.LinksObject;
 import cloud.codestore.jsonapi.meta.MetaInformation;
 import cloud.codestore.jsonapi.relationship.Relationship;
+import cloud.codestore.jsonapi.resource.ResourceIdentifierObject;
 import cloud.codestore.jsonapi.resource.ResourceObject;
 import com.fasterxml.jackson.annotation.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Represents a JSON:API document.<br/>
@@ -37,6 +40,7 @@ public abstract class JsonApiDocument extends ExtensionBase<JsonApiDocument> {
 
     private JsonApiObject jsonapi;
     private List<ResourceObject> includedResources = new LinkedList<>();
+    private final Set<ResourceIdentifierObject> includedIdentifiers = new HashSet<>();
     private LinksObject links = new LinksObject();
     private MetaInformation meta;
 
@@ -235,6 +239,8 @@ public abstract class JsonApiDocument extends ExtensionBase<JsonApiDocument> {
      * Only for internal use.<br/>
      * Includes the given {@link ResourceObject resource objects} into this JSON:API document.
      * Duplicate objects (those which have the same type and id) are ignored.
+     * Resource objects without an id are only ignored if the same object was included before.
+     * The type and id of an included resource object must not be changed afterward.
      *
      * @param resourceObjects one or more {@link ResourceObject}s.
      * @throws NullPointerException if {@code resourceObjects} is null or contains {@code null} values.
@@ -244,15 +250,20 @@ public abstract class JsonApiDocument extends ExtensionBase<JsonApiDocument> {
 
         for (ResourceObject resourceObject : resourceObjects) {
             Objects.requireNonNull(resourceObject);
-            if (notAlreadyIncluded(resourceObject)) {
+            if (markAsIncluded(resourceObject)) {
                 includedResources.add(resourceObject);
             }
         }
     }
 
-    private boolean notAlreadyIncluded(ResourceObject resourceToInclude) {
-        return includedResources.stream().noneMatch(includedResource ->
-                Objects.equals(includedResource.getIdentifier(), resourceToInclude.getIdentifier()));
+    /**
+     * @return {@code true}, if no resource object with the same type and id was included before.
+     */
+    private boolean markAsIncluded(ResourceObject resourceToInclude) {
+        if (resourceToInclude.getId() == null)
+            return includedResources.stream().noneMatch(includedResource -> includedResource == resourceToInclude);
+
+        return includedIdentifiers.add(resourceToInclude.getIdentifier());
     }
 
     /**
@@ -261,7 +272,7 @@ public abstract class JsonApiDocument extends ExtensionBase<JsonApiDocument> {
     @JsonSetter("included")
     private void setIncludedResources(List<ResourceObject> includedResources) {
         for (ResourceObject resourceObject : includedResources) {
-            if (notAlreadyIncluded(resourceObject)) {
+            if (markAsIncluded(resourceObject)) {
                 this.includedResources.add(resourceObject);
             }
         }
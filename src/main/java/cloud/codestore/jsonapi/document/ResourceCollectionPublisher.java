@@ -0,0 +1,280 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.internal.VirtualRelationshipsWriter;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes a {@link ResourceCollectionDocument} as a sequence of UTF-8 encoded byte chunks.
+ * The primary data is not taken from the document but from a {@link Flow.Publisher} of resource objects,
+ * so the resource objects of the primary data never need to be held in memory at the same time.
+ * <br/><br/>
+ * The related resources which are included by the primary data are different. Since the "included" member
+ * follows the primary data, they are collected and retained until the upstream publisher completes.
+ * Thus, the memory grows with the number of distinct included resources.
+ * <br/><br/>
+ * Every chunk contains exactly one resource object of the primary data.
+ * The first chunk additionally starts the document and the last chunk contains the included resources
+ * as well as the "links", "meta" and extension members of the given document.
+ * Resource objects are only requested from the upstream publisher if the subscriber requested chunks.
+ *
+ * <pre>{@code
+ * var document = JsonApiDocument.of(new Article[0]).setSelfLink("/articles?page=2");
+ * Flow.Publisher<ByteBuffer> body = new ResourceCollectionPublisher<>(objectMapper, document, articlePublisher);
+ * }</pre>
+ *
+ * @param <T> the type of the primary data.
+ */
+public class ResourceCollectionPublisher<T extends ResourceObject> implements Flow.Publisher<ByteBuffer> {
+    private final JsonApiObjectMapper objectMapper;
+    private final ResourceCollectionDocument<T> document;
+    private final Flow.Publisher<? extends T> data;
+
+    /**
+     * @param objectMapper the object mapper which is used to serialize the document.
+     * @param document     the document which provides the top-level members. Its primary data and included resources are ignored.
+     * @param data         the publisher of the primary data.
+     * @throws NullPointerException if any parameter is {@code null}.
+     */
+    public ResourceCollectionPublisher(
+            JsonApiObjectMapper objectMapper, ResourceCollectionDocument<T> document, Flow.Publisher<? extends T> data
+    ) {
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.document = Objects.requireNonNull(document);
+        this.data = Objects.requireNonNull(data);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        DocumentSubscription subscription;
+        try {
+            subscription = new DocumentSubscription(subscriber);
+        } catch (IOException exception) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(exception);
+            return;
+        }
+
+        subscriber.onSubscribe(subscription);
+        data.subscribe(subscription);
+    }
+
+    /**
+     * Forwards the demand of the subscriber to the upstream publisher and writes every received resource object
+     * into a separate chunk. The last chunk is only published if the subscriber requested it.
+     */
+    private class DocumentSubscription implements Flow.Subscription, Flow.Subscriber<T> {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final ObjectNode topLevelMembers;
+        private final JsonApiDocument includedResources = new JsonApiDocument() {};
+        private final ObjectWriter dataWriter;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final JsonGenerator json;
+
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private volatile boolean upstreamCompleted;
+        private Flow.Subscription upstream;
+        private long pendingUpstreamDemand;
+        private boolean headerWritten;
+
+        DocumentSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) throws IOException {
+            this.subscriber = subscriber;
+            this.topLevelMembers = objectMapper.valueToTree(document);
+            this.topLevelMembers.remove("data");
+            this.topLevelMembers.remove("included");
+            this.dataWriter = objectMapper.writer().withAttribute(VirtualRelationshipsWriter.INCLUSION_TARGET, includedResources);
+            this.json = dataWriter.createGenerator(buffer);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("The number of requested chunks must be greater than 0."));
+                return;
+            }
+
+            demand.getAndAccumulate(n, ResourceCollectionPublisher::addCapped);
+            if (upstreamCompleted) {
+                publishLastChunk();
+                return;
+            }
+
+            Flow.Subscription upstream;
+            synchronized (this) {
+                if (this.upstream == null) {
+                    pendingUpstreamDemand = addCapped(pendingUpstreamDemand, n);
+                    return;
+                }
+                upstream = this.upstream;
+            }
+
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            terminated.set(true);
+            cancelUpstream();
+        }
+
+        private void cancelUpstream() {
+            Flow.Subscription upstream;
+            synchronized (this) {
+                upstream = this.upstream;
+            }
+
+            if (upstream != null) {
+                upstream.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            long pendingDemand;
+            synchronized (this) {
+                if (upstream != null) {
+                    subscription.cancel();
+                    return;
+                }
+                upstream = subscription;
+                pendingDemand = pendingUpstreamDemand;
+            }
+
+            if (terminated.get()) {
+                subscription.cancel();
+            } else if (pendingDemand > 0) {
+                subscription.request(pendingDemand);
+            }
+        }
+
+        @Override
+        public void onNext(T resourceObject) {
+            if (terminated.get()) {
+                return;
+            }
+
+            ByteBuffer chunk;
+            try {
+                writeHeader();
+                dataWriter.writeValue(json, resourceObject);
+                chunk = drain();
+            } catch (IOException exception) {
+                fail(exception);
+                return;
+            }
+
+            demand.decrementAndGet();
+            subscriber.onNext(chunk);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (terminated.compareAndSet(false, true)) {
+                subscriber.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamCompleted = true;
+            publishLastChunk();
+        }
+
+        private void publishLastChunk() {
+            if (demand.get() > 0 && terminated.compareAndSet(false, true)) {
+                ByteBuffer chunk;
+                try {
+                    writeHeader();
+                    writeTrailer();
+                    json.close();
+                    chunk = drain();
+                } catch (IOException exception) {
+                    subscriber.onError(exception);
+                    return;
+                }
+
+                subscriber.onNext(chunk);
+                subscriber.onComplete();
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            if (terminated.compareAndSet(false, true)) {
+                cancelUpstream();
+                subscriber.onError(throwable);
+            }
+        }
+
+        private void writeHeader() throws IOException {
+            if (!headerWritten) {
+                headerWritten = true;
+                json.writeStartObject();
+                JsonNode jsonapi = topLevelMembers.remove("jsonapi");
+                if (jsonapi != null) {
+                    json.writeFieldName("jsonapi");
+                    json.writeTree(jsonapi);
+                }
+
+                json.writeFieldName("data");
+                json.writeStartArray();
+            }
+        }
+
+        private void writeTrailer() throws IOException {
+            json.writeEndArray();
+            if (!includedResources.getIncludedResources().isEmpty()) {
+                ObjectWriter includedWriter = objectMapper.writer();
+                json.writeFieldName("included");
+                json.writeStartArray();
+                for (ResourceObject resourceObject : includedResources.getIncludedResources()) {
+                    includedWriter.writeValue(json, resourceObject);
+                }
+                json.writeEndArray();
+            }
+
+            Iterator<Map.Entry<String, JsonNode>> fields = topLevelMembers.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                json.writeFieldName(field.getKey());
+                json.writeTree(field.getValue());
+            }
+
+            json.writeEndObject();
+        }
+
+        private ByteBuffer drain() throws IOException {
+            json.flush();
+            ByteBuffer chunk = ByteBuffer.wrap(buffer.toByteArray());
+            buffer.reset();
+            return chunk;
+        }
+    }
+
+    private static long addCapped(long value, long increment) {
+        long sum = value + increment;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
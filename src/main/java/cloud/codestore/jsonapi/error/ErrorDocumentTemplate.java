@@ -0,0 +1,148 @@
+package cloud.codestore.jsonapi.error;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A pre-serialized {@link ErrorDocument} which is written without any object mapping.
+ * Useful for error documents which are sent very often, like "401 Unauthorized" or "429 Too Many Requests".
+ * <br/><br/>
+ * The error document is serialized once when the template is created.
+ * String values of the document can be replaced by {@link #variable(String) variables},
+ * which are substituted by the values passed to {@link #write(OutputStream, Map)}.
+ * The values are escaped, but their length is not limited.
+ *
+ * <pre>{@code
+ * var template = new ErrorDocumentTemplate(objectMapper, new ErrorDocument(
+ *         new ErrorObject().setId(ErrorDocumentTemplate.variable("id"))
+ *                          .setStatus("429")
+ *                          .setTitle("Too Many Requests")
+ * ));
+ *
+ * template.write(outputStream, Map.of("id", requestId));
+ * }</pre>
+ */
+public class ErrorDocumentTemplate {
+    private static final Pattern VARIABLE_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{jsonapi:(" + VARIABLE_NAME.pattern() + ")}}");
+
+    private final byte[][] segments;
+    private final String[] variables;
+    private final Set<String> variableNames;
+
+    /**
+     * @param objectMapper  the object mapper which is used to serialize the error document.
+     * @param errorDocument the error document.
+     * @throws JsonProcessingException if the error document could not be serialized.
+     * @throws NullPointerException    if any parameter is {@code null}.
+     */
+    public ErrorDocumentTemplate(ObjectMapper objectMapper, ErrorDocument errorDocument) throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(Objects.requireNonNull(errorDocument));
+
+        List<byte[]> segments = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        Matcher matcher = VARIABLE.matcher(json);
+        int start = 0;
+        while (matcher.find()) {
+            segments.add(json.substring(start, matcher.start()).getBytes(StandardCharsets.UTF_8));
+            variables.add(matcher.group(1));
+            start = matcher.end();
+        }
+        segments.add(json.substring(start).getBytes(StandardCharsets.UTF_8));
+
+        this.segments = segments.toArray(byte[][]::new);
+        this.variables = variables.toArray(String[]::new);
+        this.variableNames = Collections.unmodifiableSet(new LinkedHashSet<>(variables));
+    }
+
+    /**
+     * Creates a placeholder which can be used as string value of an error document.
+     * The placeholder is replaced by the value of the variable every time the template is written.
+     * A variable can be used multiple times in the same error document.
+     *
+     * @param name the name of the variable, consisting of letters, digits, underscores and hyphens.
+     * @return the placeholder for the variable.
+     * @throws IllegalArgumentException if the name is {@code null} or contains other characters.
+     */
+    public static String variable(String name) {
+        if (name == null || !VARIABLE_NAME.matcher(name).matches())
+            throw new IllegalArgumentException("Invalid variable name: " + name);
+
+        return "{{jsonapi:" + name + "}}";
+    }
+
+    /**
+     * @return the names of the variables of this template.
+     */
+    public Set<String> getVariableNames() {
+        return variableNames;
+    }
+
+    /**
+     * Writes the error document.
+     *
+     * @param outputStream the stream to write the error document into.
+     * @throws IOException              if the error document could not be written.
+     * @throws IllegalArgumentException if this template contains any variables.
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        write(outputStream, Map.of());
+    }
+
+    /**
+     * Writes the error document and substitutes its variables with the given values.
+     *
+     * @param outputStream the stream to write the error document into.
+     * @param values       the values of the variables.
+     * @throws IOException              if the error document could not be written.
+     * @throws IllegalArgumentException if the value of any variable is missing.
+     */
+    public void write(OutputStream outputStream, Map<String, String> values) throws IOException {
+        byte[][] encodedValues = new byte[variables.length][];
+        for (int i = 0; i < variables.length; i++) {
+            String value = values.get(variables[i]);
+            if (value == null)
+                throw new IllegalArgumentException("Missing value of variable \"" + variables[i] + "\".");
+
+            encodedValues[i] = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        }
+
+        outputStream.write(segments[0]);
+        for (int i = 0; i < variables.length; i++) {
+            outputStream.write(encodedValues[i]);
+            outputStream.write(segments[i + 1]);
+        }
+    }
+
+    /**
+     * @param values the values of the variables.
+     * @return the error document as byte array.
+     * @throws IllegalArgumentException if the value of any variable is missing.
+     */
+    public byte[] toByteArray(Map<String, String> values) {
+        var outputStream = new ByteArrayOutputStream();
+        try {
+            write(outputStream, values);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return outputStream.toByteArray();
+    }
+}
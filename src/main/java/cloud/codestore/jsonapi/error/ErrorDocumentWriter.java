@@ -0,0 +1,134 @@
+package cloud.codestore.jsonapi.error;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Writes a JSON:API errors document incrementally into an {@link OutputStream}.
+ * In contrast to an {@link ErrorDocument}, the {@link ErrorObject}s do not need to be held in memory at once.
+ * Thus, it is suitable for reporting a large number of errors, like the validation errors of a bulk import.
+ * <br/><br/>
+ * Only the first {@code maximumErrors} error objects are written. All further error objects are counted, but omitted.
+ * When the writer is closed, the document is completed by a top-level "meta" object
+ * which contains the total number of errors and the number of omitted errors:
+ *
+ * <pre>{@code
+ * {
+ *   "errors": [...],
+ *   "meta": {
+ *     "totalErrors": 25000,
+ *     "omittedErrors": 24000
+ *   }
+ * }
+ * }</pre>
+ * <p>
+ * Closing the writer also closes the underlying output stream.
+ */
+public class ErrorDocumentWriter implements Closeable {
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+    private final int maximumErrors;
+    private long totalErrors;
+    private boolean closed;
+
+    /**
+     * @param objectMapper  the object mapper which is used to serialize the error objects.
+     * @param outputStream  the stream to write the error document into.
+     * @param maximumErrors the maximum number of error objects which are written.
+     * @throws IOException              if the JSON generator could not be created.
+     * @throws NullPointerException     if {@code objectMapper} or {@code outputStream} is {@code null}.
+     * @throws IllegalArgumentException if {@code maximumErrors} is less than 1.
+     */
+    public ErrorDocumentWriter(ObjectMapper objectMapper, OutputStream outputStream, int maximumErrors) throws IOException {
+        if (maximumErrors < 1)
+            throw new IllegalArgumentException("The maximum number of errors must be at least 1.");
+
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.createGenerator(Objects.requireNonNull(outputStream));
+        this.maximumErrors = maximumErrors;
+    }
+
+    /**
+     * Adds an error object to the document.
+     * The error object is written immediately unless the maximum number of errors has been reached.
+     *
+     * @param error an error object.
+     * @return this object.
+     * @throws IOException           if the error object could not be written.
+     * @throws NullPointerException  if {@code error} is {@code null}.
+     * @throws IllegalStateException if this writer is already closed.
+     */
+    public ErrorDocumentWriter add(ErrorObject error) throws IOException {
+        Objects.requireNonNull(error);
+        if (closed)
+            throw new IllegalStateException("The error document writer is already closed.");
+
+        if (totalErrors == 0) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("errors");
+        }
+
+        if (totalErrors < maximumErrors)
+            objectWriter.writeValue(generator, error);
+
+        totalErrors++;
+        return this;
+    }
+
+    /**
+     * Adds all remaining error objects of the given iterator to the document.
+     *
+     * @param errors an iterator over error objects.
+     * @return this object.
+     * @throws IOException           if an error object could not be written.
+     * @throws IllegalStateException if this writer is already closed.
+     */
+    public ErrorDocumentWriter addAll(Iterator<? extends ErrorObject> errors) throws IOException {
+        while (errors.hasNext()) {
+            add(errors.next());
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the number of error objects which were added so far, including the omitted ones.
+     */
+    public long getTotalErrors() {
+        return totalErrors;
+    }
+
+    /**
+     * Completes the error document and closes the underlying output stream.
+     *
+     * @throws IOException           if the document could not be completed.
+     * @throws IllegalStateException if no error object was added, because an error document must contain
+     *                               at least one error object. The output stream is closed anyway.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+
+        closed = true;
+        try (generator) {
+            if (totalErrors == 0)
+                throw new IllegalStateException("An error document must contain at least one error object.");
+
+            generator.writeEndArray();
+            generator.writeObjectFieldStart("meta");
+            generator.writeNumberField("totalErrors", totalErrors);
+            generator.writeNumberField("omittedErrors", Math.max(0, totalErrors - maximumErrors));
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package cloud.codestore.jsonapi.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * An {@link OutputStream} which computes an entity tag of all bytes written to it.
+ * The bytes are either forwarded to another stream or discarded, if only the entity tag is needed.
+ * Thus, the entity tag of a document is available right after it was serialized without hashing a copy of the output.
+ * <br/><br/>
+ * The entity tag is based on the 64-bit FNV-1a hash, which is much cheaper than a cryptographic digest
+ * and sufficient to detect changes of a response.
+ *
+ * <pre>{@code
+ * var eTagStream = new ETagOutputStream();
+ * objectMapper.writeValue(eTagStream, document);
+ * String eTag = eTagStream.getETag();
+ * }</pre>
+ */
+public class ETagOutputStream extends OutputStream {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final OutputStream outputStream;
+    private long hash = FNV_OFFSET_BASIS;
+
+    /**
+     * Creates a stream which discards all bytes and only computes the entity tag.
+     */
+    public ETagOutputStream() {
+        this.outputStream = null;
+    }
+
+    /**
+     * Creates a stream which forwards all bytes to the given stream.
+     *
+     * @param outputStream the stream to which the bytes are forwarded.
+     * @throws NullPointerException if {@code outputStream} is {@code null}.
+     */
+    public ETagOutputStream(OutputStream outputStream) {
+        this.outputStream = Objects.requireNonNull(outputStream);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        if (outputStream != null) {
+            outputStream.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+
+        long hash = this.hash;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (bytes[i] & 0xff)) * FNV_PRIME;
+        }
+        this.hash = hash;
+
+        if (outputStream != null) {
+            outputStream.write(bytes, offset, length);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (outputStream != null) {
+            outputStream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (outputStream != null) {
+            outputStream.close();
+        }
+    }
+
+    /**
+     * @return a strong entity tag of all bytes written so far, including the surrounding quotes.
+     */
+    public String getETag() {
+        return "\"" + String.format("%016x", hash) + "\"";
+    }
+}
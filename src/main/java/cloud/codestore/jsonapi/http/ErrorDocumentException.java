@@ -0,0 +1,36 @@
+package cloud.codestore.jsonapi.http;
+
+import cloud.codestore.jsonapi.error.ErrorDocument;
+
+/**
+ * Thrown by the request handler of a {@link JsonApiHttpHandler} to respond with a client or server error.
+ * The error document is sent along with the status code.
+ */
+public class ErrorDocumentException extends Exception {
+    private final int statusCode;
+    private final transient ErrorDocument errorDocument;
+
+    /**
+     * @param statusCode    the status code of the response.
+     * @param errorDocument the JSON:API error document of the response or {@code null} to send no body.
+     */
+    public ErrorDocumentException(int statusCode, ErrorDocument errorDocument) {
+        super("The request failed with status code " + statusCode + ".");
+        this.statusCode = statusCode;
+        this.errorDocument = errorDocument;
+    }
+
+    /**
+     * @return the status code of the response.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return the JSON:API error document of the response or {@code null}.
+     */
+    public ErrorDocument getErrorDocument() {
+        return errorDocument;
+    }
+}
@@ -0,0 +1,38 @@
+package cloud.codestore.jsonapi.http;
+
+import cloud.codestore.jsonapi.error.ErrorDocument;
+
+import java.io.IOException;
+
+/**
+ * Thrown if a server responded with a client or server error (status code 400 or above).
+ */
+public class ErrorResponseException extends IOException {
+    private final int statusCode;
+    private final transient ErrorDocument errorDocument;
+
+    /**
+     * @param statusCode    the status code of the response.
+     * @param errorDocument the JSON:API error document of the response or {@code null}.
+     */
+    public ErrorResponseException(int statusCode, ErrorDocument errorDocument) {
+        super("The server responded with status code " + statusCode + ".");
+        this.statusCode = statusCode;
+        this.errorDocument = errorDocument;
+    }
+
+    /**
+     * @return the status code of the response.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return the JSON:API error document of the response or {@code null},
+     * if the response body was empty or not a JSON:API document.
+     */
+    public ErrorDocument getErrorDocument() {
+        return errorDocument;
+    }
+}
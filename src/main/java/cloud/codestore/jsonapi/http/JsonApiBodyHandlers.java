@@ -0,0 +1,155 @@
+package cloud.codestore.jsonapi.http;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.error.ErrorDocument;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Factory methods for {@link HttpResponse.BodyHandler}s which read JSON:API documents from the responses
+ * of a {@link java.net.http.HttpClient}. The response body is parsed chunk by chunk while it is received,
+ * but the parsed tokens of the whole body are buffered until the document is bound,
+ * which takes more memory than buffering the body itself.
+ * Use an {@link cloud.codestore.jsonapi.document.AsyncDocumentReader} to process the resource objects
+ * of large responses one by one.
+ * <br/><br/>
+ * If the server responds with a status code of 400 or above, the response body is read as {@link ErrorDocument}
+ * and the request fails with an {@link ErrorResponseException}. Note that {@link java.net.http.HttpClient#send}
+ * wraps the exception into another {@link IOException}.
+ *
+ * <pre>{@code
+ * HttpResponse<ResourceCollectionDocument<Article>> response = httpClient.send(
+ *         request,
+ *         JsonApiBodyHandlers.ofDocument(objectMapper, new TypeReference<>() {})
+ * );
+ * }</pre>
+ */
+public class JsonApiBodyHandlers {
+    private JsonApiBodyHandlers() {}
+
+    /**
+     * @param objectMapper the object mapper which knows all resource types of the document.
+     * @return a body handler which reads a {@link JsonApiDocument}.
+     */
+    public static HttpResponse.BodyHandler<JsonApiDocument> ofDocument(JsonApiObjectMapper objectMapper) {
+        return ofDocument(objectMapper, JsonApiDocument.class);
+    }
+
+    /**
+     * @param objectMapper the object mapper which knows all resource types of the document.
+     * @param documentType the type of the document.
+     * @return a body handler which reads a document of the given type.
+     */
+    public static <T extends JsonApiDocument> HttpResponse.BodyHandler<T> ofDocument(
+            JsonApiObjectMapper objectMapper, Class<T> documentType
+    ) {
+        return ofDocument(objectMapper, objectMapper.constructType(documentType));
+    }
+
+    /**
+     * @param objectMapper the object mapper which knows all resource types of the document.
+     * @param documentType the type of the document including the type of the primary data.
+     * @return a body handler which reads a document of the given type.
+     */
+    public static <T extends JsonApiDocument> HttpResponse.BodyHandler<T> ofDocument(
+            JsonApiObjectMapper objectMapper, TypeReference<T> documentType
+    ) {
+        return ofDocument(objectMapper, objectMapper.constructType(documentType));
+    }
+
+    private static <T extends JsonApiDocument> HttpResponse.BodyHandler<T> ofDocument(
+            JsonApiObjectMapper objectMapper, JavaType documentType
+    ) {
+        Objects.requireNonNull(objectMapper);
+        return responseInfo -> {
+            int statusCode = responseInfo.statusCode();
+            boolean jsonApiBody = isJsonApiBody(responseInfo);
+
+            if (statusCode >= 400) {
+                if (!jsonApiBody) {
+                    return failing(new ErrorResponseException(statusCode, null));
+                }
+
+                return new JsonApiBodySubscriber<>(objectMapper, body -> {
+                    ErrorDocument errorDocument = body == null ? null : objectMapper.readValue(body, ErrorDocument.class);
+                    throw new ErrorResponseException(statusCode, errorDocument);
+                });
+            }
+
+            if (!jsonApiBody) {
+                String contentType = responseInfo.headers().firstValue("Content-Type").orElse("");
+                return failing(new IOException("Unexpected content type \"" + contentType + "\"."));
+            }
+
+            return new JsonApiBodySubscriber<>(objectMapper, body -> body == null ? null : objectMapper.readValue(body, documentType));
+        };
+    }
+
+    /**
+     * @return {@code true}, if the response does not declare a content type or if it is the JSON:API media type.
+     */
+    private static boolean isJsonApiBody(HttpResponse.ResponseInfo responseInfo) {
+        Optional<String> contentType = responseInfo.headers().firstValue("Content-Type");
+        if (contentType.isEmpty()) {
+            return true;
+        }
+
+        String mediaType = contentType.get();
+        int parameterStart = mediaType.indexOf(';');
+        if (parameterStart >= 0) {
+            mediaType = mediaType.substring(0, parameterStart);
+        }
+
+        return JsonApiDocument.MEDIA_TYPE.equalsIgnoreCase(mediaType.trim());
+    }
+
+    private static <T> HttpResponse.BodySubscriber<T> failing(IOException exception) {
+        return new FailingBodySubscriber<>(exception);
+    }
+
+    /**
+     * Discards the response body and fails with the given exception afterwards.
+     */
+    private static class FailingBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final IOException exception;
+
+        FailingBodySubscriber(IOException exception) {
+            this.exception = exception;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {}
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.completeExceptionally(exception);
+        }
+    }
+}
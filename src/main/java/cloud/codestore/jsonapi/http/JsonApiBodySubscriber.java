@@ -0,0 +1,113 @@
+package cloud.codestore.jsonapi.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Passes the chunks of a response body to a non-blocking {@link JsonParser} as soon as they arrive,
+ * so the body is parsed while it is still being received.
+ * The parsed tokens are collected in a {@link TokenBuffer} and bound by a {@link BodyReader} once the body is complete.
+ * <br/><br/>
+ * Note that this does not save memory: the tokens of the whole body are held until the body is complete,
+ * because a document is always bound as a whole, and they usually take more memory than the bytes of the body.
+ */
+class JsonApiBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final ObjectMapper objectMapper;
+    private final BodyReader<T> bodyReader;
+    private final JsonParser parser;
+    private final TokenBuffer tokens;
+    private Flow.Subscription subscription;
+
+    JsonApiBodySubscriber(ObjectMapper objectMapper, BodyReader<T> bodyReader) {
+        this.objectMapper = objectMapper;
+        this.bodyReader = bodyReader;
+        this.tokens = new TokenBuffer(objectMapper, false);
+
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+        } catch (IOException exception) {
+            throw new IllegalStateException("The JSON factory does not support non-blocking parsing.", exception);
+        }
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        if (result.isDone()) {
+            return;
+        }
+
+        try {
+            for (ByteBuffer buffer : buffers) {
+                ((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).feedInput(buffer);
+                copyAvailableTokens();
+            }
+        } catch (IOException exception) {
+            subscription.cancel();
+            result.completeExceptionally(exception);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (result.isDone()) {
+            return;
+        }
+
+        try {
+            parser.getNonBlockingInputFeeder().endOfInput();
+            copyAvailableTokens();
+            parser.close();
+            result.complete(bodyReader.read(tokens.firstToken() == null ? null : tokens.asParser(objectMapper)));
+        } catch (IOException | RuntimeException exception) {
+            result.completeExceptionally(exception);
+        }
+    }
+
+    private void copyAvailableTokens() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            tokens.copyCurrentEvent(parser);
+        }
+    }
+
+    /**
+     * Binds the tokens of a complete response body.
+     */
+    @FunctionalInterface
+    interface BodyReader<T> {
+        /**
+         * @param body the tokens of the response body or {@code null} if the body is empty.
+         * @return the bound body.
+         * @throws IOException if the body could not be bound.
+         */
+        T read(JsonParser body) throws IOException;
+    }
+}
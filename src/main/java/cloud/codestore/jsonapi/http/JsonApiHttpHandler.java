@@ -0,0 +1,219 @@
+package cloud.codestore.jsonapi.http;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.document.JsonApiObject;
+import cloud.codestore.jsonapi.error.ErrorDocument;
+import cloud.codestore.jsonapi.error.ErrorObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.System.Logger.Level;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An {@link HttpHandler} for the JDK HTTP server which writes the {@link JsonApiDocument} returned by a
+ * {@link RequestHandler} directly into the response body.
+ * <br/><br/>
+ * The response is sent with chunked transfer encoding, so it is not buffered as a whole.
+ * The document is written through the recycled output buffers of the JSON generator, so every chunk has
+ * the size of such a buffer. The "Content-Type" header contains the "ext" and "profile" parameters
+ * of the {@link JsonApiObject} of the document.
+ * <br/><br/>
+ * If the request handler throws an {@link ErrorDocumentException}, its error document is sent with its status code.
+ * Any other exception is passed to {@link #handleException(HttpExchange, Exception)},
+ * which logs it and results in a "500 Internal Server Error" response by default.
+ * <br/><br/>
+ * Responses to HEAD requests contain the same headers as responses to GET requests, but no body.
+ * <br/><br/>
+ * If entity tags are enabled, the entity tag of a document is computed by serializing it into an
+ * {@link ETagOutputStream} without producing output. If it matches the "If-None-Match" header of a GET or HEAD request,
+ * a "304 Not Modified" response is sent. Otherwise, the document is sent along with its entity tag.
+ *
+ * <pre>{@code
+ * HttpServer server = HttpServer.create(new InetSocketAddress(8080), 0);
+ * server.createContext("/articles", new JsonApiHttpHandler(objectMapper, exchange -> JsonApiDocument.of(articles)));
+ * }</pre>
+ */
+public class JsonApiHttpHandler implements HttpHandler {
+    private static final System.Logger LOGGER = System.getLogger(JsonApiHttpHandler.class.getName());
+
+    private final JsonApiObjectMapper objectMapper;
+    private final RequestHandler requestHandler;
+    private boolean eTags;
+
+    /**
+     * @param objectMapper   the object mapper which is used to serialize the documents.
+     * @param requestHandler creates the document of a request.
+     * @throws NullPointerException if any parameter is {@code null}.
+     */
+    public JsonApiHttpHandler(JsonApiObjectMapper objectMapper, RequestHandler requestHandler) {
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.requestHandler = Objects.requireNonNull(requestHandler);
+    }
+
+    /**
+     * Enables sending entity tags and answering conditional GET and HEAD requests.
+     *
+     * @return this object.
+     */
+    public JsonApiHttpHandler enableETags() {
+        this.eTags = true;
+        return this;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        JsonApiDocument document;
+        try {
+            document = requestHandler.handle(exchange);
+        } catch (ErrorDocumentException exception) {
+            sendErrors(exchange, exception.getStatusCode(), exception.getErrorDocument());
+            return;
+        } catch (Exception exception) {
+            sendErrors(exchange, 500, handleException(exchange, exception));
+            return;
+        }
+
+        if (eTags && document != null && isConditionalMethod(exchange.getRequestMethod())) {
+            ETagOutputStream eTagStream = new ETagOutputStream();
+            objectMapper.writeValue(eTagStream, document);
+            String eTag = eTagStream.getETag();
+
+            exchange.getResponseHeaders().set("ETag", eTag);
+            if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), eTag)) {
+                sendEmptyResponse(exchange, 304);
+                return;
+            }
+        }
+
+        sendDocument(exchange, 200, document);
+    }
+
+    /**
+     * Handles an exception of the request handler which is not an {@link ErrorDocumentException}.
+     * The default implementation logs the exception and returns an "Internal Server Error" document.
+     *
+     * @param exchange  the exchange of the request.
+     * @param exception the exception of the request handler.
+     * @return the error document of the "500 Internal Server Error" response or {@code null} to send no body.
+     */
+    protected ErrorDocument handleException(HttpExchange exchange, Exception exception) {
+        LOGGER.log(Level.ERROR, "Failed to handle " + exchange.getRequestMethod() + " " + exchange.getRequestURI(), exception);
+        return new ErrorDocument(new ErrorObject().setStatus("500").setTitle("Internal Server Error"));
+    }
+
+    private static boolean isConditionalMethod(String requestMethod) {
+        return "GET".equalsIgnoreCase(requestMethod) || "HEAD".equalsIgnoreCase(requestMethod);
+    }
+
+    /**
+     * Compares the entity tags of an "If-None-Match" header with the given entity tag
+     * using the weak comparison function.
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String requestedETag : ifNoneMatch.split(",")) {
+            requestedETag = requestedETag.trim();
+            if (requestedETag.startsWith("W/")) {
+                requestedETag = requestedETag.substring(2);
+            }
+
+            if (requestedETag.equals("*") || requestedETag.equals(eTag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Sends the given document. If the document is {@code null}, a response without body is sent.
+     *
+     * @param exchange   the exchange of the request.
+     * @param statusCode the status code of the response.
+     * @param document   the document to send or {@code null}.
+     * @throws IOException if the response could not be sent.
+     */
+    public void sendDocument(HttpExchange exchange, int statusCode, JsonApiDocument document) throws IOException {
+        if (document == null) {
+            sendEmptyResponse(exchange, statusCode == 200 ? 204 : statusCode);
+        } else {
+            exchange.getResponseHeaders().set("Content-Type", getContentType(document.getJsonApiObject()));
+            send(exchange, statusCode, document);
+        }
+    }
+
+    /**
+     * Sends the given error document. If the document is {@code null}, a response without body is sent.
+     *
+     * @param exchange      the exchange of the request.
+     * @param statusCode    the status code of the response.
+     * @param errorDocument the error document to send or {@code null}.
+     * @throws IOException if the response could not be sent.
+     */
+    public void sendErrors(HttpExchange exchange, int statusCode, ErrorDocument errorDocument) throws IOException {
+        if (errorDocument == null) {
+            sendEmptyResponse(exchange, statusCode);
+        } else {
+            exchange.getResponseHeaders().set("Content-Type", JsonApiDocument.MEDIA_TYPE);
+            send(exchange, statusCode, errorDocument);
+        }
+    }
+
+    private void send(HttpExchange exchange, int statusCode, Object document) throws IOException {
+        if ("HEAD".equalsIgnoreCase(exchange.getRequestMethod())) {
+            sendEmptyResponse(exchange, statusCode);
+            return;
+        }
+
+        exchange.sendResponseHeaders(statusCode, 0);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            objectMapper.writeValue(responseBody, document);
+        }
+    }
+
+    private static void sendEmptyResponse(HttpExchange exchange, int statusCode) throws IOException {
+        exchange.sendResponseHeaders(statusCode, -1);
+        exchange.close();
+    }
+
+    /**
+     * @return the JSON:API media type including the "ext" and "profile" parameters of the given JSON:API object.
+     */
+    static String getContentType(JsonApiObject jsonApiObject) {
+        StringBuilder contentType = new StringBuilder(JsonApiDocument.MEDIA_TYPE);
+        if (jsonApiObject != null) {
+            appendParameter(contentType, "ext", jsonApiObject.getExtensions());
+            appendParameter(contentType, "profile", jsonApiObject.getProfiles());
+        }
+
+        return contentType.toString();
+    }
+
+    private static void appendParameter(StringBuilder contentType, String name, List<String> uris) {
+        if (uris != null && !uris.isEmpty()) {
+            contentType.append("; ").append(name).append("=\"").append(String.join(" ", uris)).append('"');
+        }
+    }
+
+    /**
+     * Creates the JSON:API document of a request.
+     */
+    @FunctionalInterface
+    public interface RequestHandler {
+        /**
+         * @param exchange the exchange of the request.
+         * @return the document to send or {@code null} to send a "204 No Content" response.
+         * @throws ErrorDocumentException to send an error document.
+         * @throws Exception if the request could not be handled.
+         */
+        JsonApiDocument handle(HttpExchange exchange) throws Exception;
+    }
+}
@@ -0,0 +1,72 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedConstructor;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedParameter;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+
+/**
+ * Binds immutable resource objects by their constructor, like records are bound by their canonical constructor.
+ * <br/><br/>
+ * A constructor of a {@link ResourceObject} subclass is used as properties-based creator if it is the only
+ * constructor of the class, if it has parameters and if the class was compiled with {@code -parameters}.
+ * The parameters are bound to the "id" and the unwrapped attributes and relationships by their names.
+ * Explicit {@link JsonCreator} and {@code @JsonProperty} annotations take precedence, since this introspector
+ * is only asked after the Jackson annotations.
+ */
+public class ConstructorBindingIntrospector extends NopAnnotationIntrospector {
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public JsonCreator.Mode findCreatorAnnotation(MapperConfig<?> config, Annotated annotated) {
+        if (annotated instanceof AnnotatedConstructor constructor && isBindingConstructor(constructor.getAnnotated()))
+            return JsonCreator.Mode.PROPERTIES;
+
+        return null;
+    }
+
+    @Override
+    public String findImplicitPropertyName(AnnotatedMember member) {
+        if (member instanceof AnnotatedParameter parameter
+            && parameter.getOwner() instanceof AnnotatedConstructor constructor
+            && isBindingConstructor(constructor.getAnnotated())) {
+            return constructor.getAnnotated().getParameters()[parameter.getIndex()].getName();
+        }
+
+        return null;
+    }
+
+    private static boolean isBindingConstructor(Constructor<?> constructor) {
+        Class<?> type = constructor.getDeclaringClass();
+        if (!ResourceObject.class.isAssignableFrom(type) || Modifier.isAbstract(type.getModifiers()) || !isStatic(type))
+            return false;
+
+        Parameter[] parameters = constructor.getParameters();
+        return parameters.length > 0
+               && type.getDeclaredConstructors().length == 1
+               && Arrays.stream(parameters).allMatch(Parameter::isNamePresent);
+    }
+
+    /**
+     * @return {@code false}, if the constructors of the given class have an implicit parameter for the enclosing instance.
+     */
+    private static boolean isStatic(Class<?> type) {
+        if (type.isAnonymousClass() || type.isLocalClass())
+            return false;
+
+        return !type.isMemberClass() || Modifier.isStatic(type.getModifiers());
+    }
+}
@@ -0,0 +1,105 @@
+package cloud.codestore.jsonapi.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.io.OutputDecorator;
+
+import java.io.FilterOutputStream;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Wraps the output targets of all generators to count the written bytes or characters.
+ * If there is already another {@link OutputDecorator}, the output of that decorator is wrapped.
+ * <br/><br/>
+ * Only for internal use.
+ */
+public class CountingOutputDecorator extends OutputDecorator {
+    private final OutputDecorator decorator;
+
+    /**
+     * @param decorator an existing {@link OutputDecorator}. May be {@code null}.
+     */
+    public CountingOutputDecorator(OutputDecorator decorator) {
+        this.decorator = decorator;
+    }
+
+    /**
+     * @return the wrapped {@link OutputDecorator} or {@code null}.
+     */
+    public OutputDecorator getDecorator() {
+        return decorator;
+    }
+
+    @Override
+    public OutputStream decorate(IOContext context, OutputStream out) throws IOException {
+        return new CountingOutputStream(decorator == null ? out : decorator.decorate(context, out));
+    }
+
+    @Override
+    public Writer decorate(IOContext context, Writer writer) throws IOException {
+        return new CountingWriter(decorator == null ? writer : decorator.decorate(context, writer));
+    }
+
+    /**
+     * @return the number of bytes or characters which were written by the given generator so far,
+     * including its buffered output, or -1 if the output target of the generator is not counted.
+     */
+    static long count(JsonGenerator json) {
+        Object target = json.getOutputTarget();
+        if (target instanceof CountingOutputStream outputStream)
+            return outputStream.count + json.getOutputBuffered();
+        if (target instanceof CountingWriter writer)
+            return writer.count + json.getOutputBuffered();
+
+        return -1;
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
+
+    private static class CountingWriter extends FilterWriter {
+        private long count;
+
+        CountingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            out.write(c);
+            count++;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            out.write(chars, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void write(String string, int offset, int length) throws IOException {
+            out.write(string, offset, length);
+            count += length;
+        }
+    }
+}
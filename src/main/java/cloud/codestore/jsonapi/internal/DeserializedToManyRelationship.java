@@ -1,6 +1,7 @@
 package cloud.codestore.jsonapi.internal;
 
 import cloud.codestore.jsonapi.relationship.ToManyRelationship;
+import cloud.codestore.jsonapi.resource.ResourceIdentifierObject;
 import cloud.codestore.jsonapi.resource.ResourceObject;
 
 import java.lang.reflect.Array;
@@ -11,6 +12,8 @@ import java.util.List;
  */
 class DeserializedToManyRelationship<T extends ResourceObject> extends ToManyRelationship<T> {
     private final Class<T> relatedType;
+    private String[] linkageTypes;
+    private long[] linkageIds;
 
     DeserializedToManyRelationship(Class<T> relatedType) {
         this.relatedType = relatedType;
@@ -19,7 +22,7 @@ class DeserializedToManyRelationship<T extends ResourceObject> extends ToManyRel
     @SuppressWarnings("unchecked")
     void setRelatedResource(List<ResourceObject> relatedObjects) {
         if (relatedObjects.isEmpty()) {
-            super.setRelatedResource(null);
+            setRelatedResource((T[]) null);
         } else {
             T[] array = relatedObjects.stream()
                                       .map(relatedType::cast)
@@ -28,4 +31,72 @@ class DeserializedToManyRelationship<T extends ResourceObject> extends ToManyRel
             setRelatedResource(array);
         }
     }
+
+    /**
+     * Replaces the resource identifier objects by primitive arrays of types and ids,
+     * if every resource identifier has a numeric id and neither a local id nor meta information.
+     */
+    void compactLinkage() {
+        ResourceIdentifierObject[] data = super.getData();
+        if (data == null || data.length == 0)
+            return;
+
+        String[] types = new String[data.length];
+        long[] ids = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            ResourceIdentifierObject identifier = data[i];
+            if (identifier == null || identifier.getLid() != null || identifier.getMeta() != null ||
+                identifier.getId() == null || !ResourceIndex.isNumeric(identifier.getId())) {
+                return;
+            }
+
+            types[i] = identifier.getType();
+            ids[i] = Long.parseLong(identifier.getId());
+        }
+
+        super.setData((ResourceIdentifierObject[]) null);
+        linkageTypes = types;
+        linkageIds = ids;
+    }
+
+    /**
+     * @return the types of the compact resource linkage or {@code null}, if the linkage is not compact.
+     */
+    String[] getLinkageTypes() {
+        return linkageTypes;
+    }
+
+    /**
+     * @return the numeric ids of the compact resource linkage or {@code null}, if the linkage is not compact.
+     */
+    long[] getLinkageIds() {
+        return linkageIds;
+    }
+
+    @Override
+    public ResourceIdentifierObject[] getData() {
+        if (linkageIds == null)
+            return super.getData();
+
+        ResourceIdentifierObject[] data = new ResourceIdentifierObject[linkageIds.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new ResourceIdentifierObject(linkageTypes[i], Long.toString(linkageIds[i]));
+        }
+
+        return data;
+    }
+
+    @Override
+    public ToManyRelationship<T> setData(ResourceIdentifierObject... data) {
+        linkageTypes = null;
+        linkageIds = null;
+        return super.setData(data);
+    }
+
+    @Override
+    public ToManyRelationship<T> setRelatedResource(T[] resourceObjects) {
+        linkageTypes = null;
+        linkageIds = null;
+        return super.setRelatedResource(resourceObjects);
+    }
 }
@@ -1,6 +1,7 @@
 package cloud.codestore.jsonapi.internal;
 
 import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceIdentifierObject;
 import cloud.codestore.jsonapi.resource.ResourceObject;
 
 /**
@@ -8,6 +9,7 @@ import cloud.codestore.jsonapi.resource.ResourceObject;
  */
 class DeserializedToOneRelationship<T extends ResourceObject> extends ToOneRelationship<T> {
     private final Class<T> relatedType;
+    private long numericId = -1;
 
     DeserializedToOneRelationship(Class<T> relatedType) {
         this.relatedType = relatedType;
@@ -16,4 +18,26 @@ class DeserializedToOneRelationship<T extends ResourceObject> extends ToOneRelat
     void setRelatedResource(Object resourceObject) {
         setRelatedResource(relatedType.cast(resourceObject));
     }
+
+    /**
+     * Parses the id of the resource linkage once, if it is numeric and there is no local id.
+     */
+    void parseNumericId() {
+        ResourceIdentifierObject data = getData();
+        if (data != null && data.getLid() == null && data.getId() != null && ResourceIndex.isNumeric(data.getId()))
+            numericId = Long.parseLong(data.getId());
+    }
+
+    /**
+     * @return the numeric id of the resource linkage or {@code -1}, if the id is not numeric.
+     */
+    long getNumericId() {
+        return numericId;
+    }
+
+    @Override
+    public ToOneRelationship<T> setData(ResourceIdentifierObject data) {
+        numericId = -1;
+        return super.setData(data);
+    }
 }
@@ -0,0 +1,180 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.DocumentLimitExceededException;
+import cloud.codestore.jsonapi.DocumentLimitExceededException.Limit;
+import cloud.codestore.jsonapi.DocumentLimits;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+
+/**
+ * Only for internal use.<br/>
+ * Enforces the configured {@link DocumentLimits} while a JSON:API document is read.
+ * The nesting depth and the length of streamed documents are enforced by the parser
+ * through its {@link StreamReadConstraints}.
+ * The number of resource objects, included resources and resource identifier objects are counted
+ * by a {@link LimitingParser} token by token, so a document which exceeds a limit is rejected as soon as
+ * the first element above the limit is read, before the rest of the document is parsed or bound.
+ */
+public class DocumentLimitValidator {
+    private DocumentLimitValidator() {}
+
+    /**
+     * @param config the configuration of an object mapper or object reader.
+     * @return the limits which were set by {@link cloud.codestore.jsonapi.JsonApiObjectMapper#setDocumentLimits(DocumentLimits)}
+     *         or {@link DocumentLimits#UNLIMITED}.
+     */
+    public static DocumentLimits getLimits(DeserializationConfig config) {
+        Object limits = config.getAttributes().getAttribute(DocumentLimits.class);
+        return limits instanceof DocumentLimits documentLimits ? documentLimits : DocumentLimits.UNLIMITED;
+    }
+
+    /**
+     * @param parser a parser which is positioned before or at the start of a JSON:API document.
+     * @param limits the limits of the document.
+     * @return a parser which fails with a {@link DocumentLimitExceededException} as soon as the document
+     *         exceeds the maximum number of resource objects, included resources or resource identifier objects,
+     *         or the given parser, if none of them is limited.
+     */
+    public static JsonParser limit(JsonParser parser, DocumentLimits limits) {
+        if (limits.maxResources() == Integer.MAX_VALUE &&
+            limits.maxIncludedResources() == Integer.MAX_VALUE &&
+            limits.maxLinkage() == Integer.MAX_VALUE) {
+            return parser;
+        }
+
+        return new LimitingParser(parser, limits);
+    }
+
+    /**
+     * Reads the document into a tree while the number of resource objects, included resources and resource
+     * identifier objects are counted. Violations of the {@link StreamReadConstraints} of the parser are converted
+     * into a {@link DocumentLimitExceededException}.
+     */
+    static ObjectNode readTree(JsonParser parser, DocumentLimits limits) throws IOException {
+        try {
+            return limit(parser, limits).readValueAsTree();
+        } catch (StreamConstraintsException exception) {
+            throw translate(parser, exception);
+        }
+    }
+
+    /**
+     * Determines the violated constraint by comparing the current nesting depth and the number of processed
+     * bytes or characters of the parser with the constraints. Violations of other constraints are not translated.
+     *
+     * @param parser    the parser which threw the exception.
+     * @param exception the violation of a {@link StreamReadConstraints stream read constraint}.
+     * @return a {@link DocumentLimitExceededException} or the given exception.
+     */
+    public static IOException translate(JsonParser parser, StreamConstraintsException exception) {
+        StreamReadConstraints constraints = parser.streamReadConstraints();
+        if (parser.getParsingContext().getNestingDepth() > constraints.getMaxNestingDepth())
+            return new DocumentLimitExceededException(parser, Limit.DEPTH, constraints.getMaxNestingDepth(), null, exception);
+
+        JsonLocation location = parser.currentLocation();
+        long length = Math.max(location.getByteOffset(), location.getCharOffset());
+        if (constraints.hasMaxDocumentLength() && length > constraints.getMaxDocumentLength())
+            return new DocumentLimitExceededException(parser, Limit.BYTES, constraints.getMaxDocumentLength(), null, exception);
+
+        return exception;
+    }
+
+    /**
+     * @param limits the limits of the document.
+     * @param length the length of the document or -1, if unknown.
+     * @param parser the parser which read the document.
+     * @throws DocumentLimitExceededException if the document exceeds the maximum length.
+     */
+    static void validate(DocumentLimits limits, long length, JsonParser parser) throws DocumentLimitExceededException {
+        // the parser only checks the length whenever it loads more input, so documents from strings are checked here
+        if (length > limits.maxBytes())
+            throw new DocumentLimitExceededException(parser, Limit.BYTES, limits.maxBytes(), null, null);
+    }
+
+    /**
+     * Counts the elements of the arrays of a JSON:API document while they are parsed.
+     * The counts are provided by the {@link JsonStreamContext parsing context} of the parser,
+     * so the arrays are only identified once an array contains more elements than the lowest limit.
+     */
+    private static class LimitingParser extends JsonParserDelegate {
+        private final DocumentLimits limits;
+        private final int lowestLimit;
+        private JsonStreamContext documentContext;
+
+        LimitingParser(JsonParser parser, DocumentLimits limits) {
+            super(parser);
+            this.limits = limits;
+            this.lowestLimit = Math.min(limits.maxResources(), Math.min(limits.maxIncludedResources(), limits.maxLinkage()));
+            if (parser.currentToken() == JsonToken.START_OBJECT)
+                documentContext = parser.getParsingContext();
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            JsonToken token = delegate.nextToken();
+            if (token == null)
+                return null;
+
+            if (token.isStructStart()) {
+                if (documentContext == null && token == JsonToken.START_OBJECT)
+                    documentContext = delegate.getParsingContext();
+
+                count(delegate.getParsingContext().getParent());
+            } else if (token.isScalarValue()) {
+                count(delegate.getParsingContext());
+            }
+
+            return token;
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            JsonToken token = nextToken();
+            return token == JsonToken.FIELD_NAME ? nextToken() : token;
+        }
+
+        private void count(JsonStreamContext array) throws DocumentLimitExceededException {
+            if (array != null && array.inArray() && array.getEntryCount() > lowestLimit)
+                validate(array.getParent(), array.getEntryCount());
+        }
+
+        /**
+         * @param member the object which contains the array as value of its current member.
+         * @param count  the number of elements of the array.
+         */
+        private void validate(JsonStreamContext member, int count) throws DocumentLimitExceededException {
+            if (member == null || !member.inObject())
+                return;
+
+            String name = member.getCurrentName();
+            if (member == documentContext) {
+                if ("data".equals(name) && count > limits.maxResources())
+                    throw new DocumentLimitExceededException(delegate, Limit.RESOURCES, limits.maxResources(), "/data", null);
+                if ("included".equals(name) && count > limits.maxIncludedResources())
+                    throw new DocumentLimitExceededException(delegate, Limit.INCLUDED_RESOURCES, limits.maxIncludedResources(), "/included", null);
+            } else if ("data".equals(name) && count > limits.maxLinkage() && isRelationship(member)) {
+                String pointer = member.pathAsPointer().toString();
+                throw new DocumentLimitExceededException(delegate, Limit.LINKAGE, limits.maxLinkage(), pointer, null);
+            }
+        }
+
+        /**
+         * @return {@code true}, if the given object is a member of a "relationships" object.
+         */
+        private static boolean isRelationship(JsonStreamContext relationship) {
+            JsonStreamContext relationships = relationship.getParent();
+            JsonStreamContext resourceObject = relationships == null ? null : relationships.getParent();
+            return relationships.inObject() && resourceObject != null && resourceObject.inObject() &&
+                   "relationships".equals(resourceObject.getCurrentName());
+        }
+    }
+}
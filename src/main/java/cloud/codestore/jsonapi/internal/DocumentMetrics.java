@@ -0,0 +1,121 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.DocumentStatistics;
+import cloud.codestore.jsonapi.DocumentStatistics.Phase;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Collects the statistics of a single document while it is serialized or deserialized.
+ * It is passed as context attribute, so it can be updated by all involved serializers and deserializers,
+ * including those which process chunks of the document in parallel.
+ */
+class DocumentMetrics {
+    /**
+     * Name of the serialization and deserialization attribute which holds the {@link DocumentMetrics}.
+     */
+    static final String ATTRIBUTE = DocumentMetrics.class.getName();
+
+    private final AtomicInteger relationships = new AtomicInteger();
+    private final AtomicInteger metaObjects = new AtomicInteger();
+    private final AtomicInteger maxIncludeDepth = new AtomicInteger();
+    private final AtomicLongArray nanos = new AtomicLongArray(Phase.values().length);
+
+    /**
+     * @return the {@link DocumentMetrics} of the given context or {@code null}, if no metrics are collected.
+     */
+    static DocumentMetrics of(DatabindContext context) {
+        return (DocumentMetrics) context.getAttribute(ATTRIBUTE);
+    }
+
+    void addNanos(Phase phase, long nanos) {
+        this.nanos.addAndGet(phase.ordinal(), nanos);
+    }
+
+    long getNanos(Phase phase) {
+        return nanos.get(phase.ordinal());
+    }
+
+    void addRelationships(int relationships) {
+        this.relationships.addAndGet(relationships);
+    }
+
+    void addMetaObject() {
+        metaObjects.incrementAndGet();
+    }
+
+    void recordIncludeDepth(int depth) {
+        maxIncludeDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    DocumentStatistics toStatistics(JsonApiDocument document, long bytes) {
+        Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            long value = nanos.get(phase.ordinal());
+            if (value > 0)
+                phases.put(phase, value);
+        }
+
+        return new DocumentStatistics(
+                document.getClass(),
+                JsonApiEvents.countPrimaryData(document),
+                document.getIncludedResources().size(),
+                maxIncludeDepth.get(),
+                relationships.get(),
+                metaObjects.get(),
+                bytes,
+                Collections.unmodifiableMap(phases)
+        );
+    }
+
+    /**
+     * Determines the include depth of a document before it is unwrapped by following the resource linkage
+     * of the relationships from the primary data to the included resources level by level.
+     */
+    static int includeDepth(ObjectNode document) {
+        Map<String, JsonNode> includedResources = new HashMap<>();
+        for (JsonNode resource : document.path("included")) {
+            includedResources.putIfAbsent(key(resource), resource);
+        }
+
+        int depth = 0;
+        List<JsonNode> level = new ArrayList<>();
+        JsonNode data = document.path("data");
+        if (data.isArray())
+            data.forEach(level::add);
+        else if (data.isObject())
+            level.add(data);
+
+        while (!includedResources.isEmpty()) {
+            List<JsonNode> nextLevel = new ArrayList<>();
+            for (JsonNode resource : level) {
+                for (JsonNode relationship : resource.path("relationships")) {
+                    JsonNode linkage = relationship.path("data");
+                    for (JsonNode identifier : linkage.isArray() ? linkage : List.of(linkage)) {
+                        JsonNode includedResource = includedResources.remove(key(identifier));
+                        if (includedResource != null)
+                            nextLevel.add(includedResource);
+                    }
+                }
+            }
+
+            if (nextLevel.isEmpty())
+                break;
+
+            depth++;
+            level = nextLevel;
+        }
+
+        return depth;
+    }
+
+    private static String key(JsonNode resource) {
+        return resource.path("type").asText() + '\u0000' + resource.path("id").asText();
+    }
+}
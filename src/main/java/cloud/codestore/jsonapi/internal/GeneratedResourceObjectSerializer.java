@@ -0,0 +1,180 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.relationship.Relationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import cloud.codestore.jsonapi.resource.ResourceObjectWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Serializes a resource object by a {@link ResourceObjectWriter} which was generated at compile time.
+ * The attributes and relationships are read by the generated code instead of reflection.
+ * The "type", "id", "links" and "meta" members are still written by the property writers of the
+ * bean serializer created by Jackson, so their inclusion rules are the same.
+ * <br/><br/>
+ * This only replaces the property access of the attributes and relationships. The bean serializer is still required,
+ * so the class is introspected by reflection as usual.
+ */
+class GeneratedResourceObjectSerializer extends StdSerializer<ResourceObject> implements ResolvableSerializer {
+    private final ResourceObjectWriter<ResourceObject> writer;
+    private final JsonSerializer<ResourceObject> beanSerializer;
+    private final BeanPropertyWriter type;
+    private final BeanPropertyWriter id;
+    private final BeanPropertyWriter links;
+    private final BeanPropertyWriter meta;
+
+    private GeneratedResourceObjectSerializer(
+            ResourceObjectWriter<ResourceObject> writer, JsonSerializer<ResourceObject> beanSerializer,
+            Map<String, BeanPropertyWriter> properties
+    ) {
+        super(ResourceObject.class);
+        this.writer = writer;
+        this.beanSerializer = beanSerializer;
+        this.type = properties.get("type");
+        this.id = properties.get("id");
+        this.links = properties.get("links");
+        this.meta = properties.get("meta");
+    }
+
+    /**
+     * @param writer         the generated {@link ResourceObjectWriter}.
+     * @param beanDesc       the description of the resource object class.
+     * @param beanSerializer the serializer which was created by Jackson.
+     * @return a serializer which uses the generated writer or the given serializer, if the properties of the
+     *         generated writer are not the same as the properties which were determined by Jackson.
+     */
+    @SuppressWarnings("unchecked")
+    static JsonSerializer<ResourceObject> of(
+            ResourceObjectWriter<?> writer, BeanDescription beanDesc, JsonSerializer<ResourceObject> beanSerializer
+    ) {
+        Object serializer = beanSerializer;
+        if (!(serializer instanceof BeanSerializerBase bean) || bean.usesObjectId() || beanDesc.findAnyGetter() != null)
+            return beanSerializer;
+
+        Map<String, BeanPropertyWriter> properties = new HashMap<>();
+        boolean sameProperties = false;
+        for (Iterator<PropertyWriter> iterator = bean.properties(); iterator.hasNext(); ) {
+            PropertyWriter property = iterator.next();
+            if (property instanceof VirtualAttributesWriter attributes)
+                sameProperties = Set.copyOf(attributes.getAttributeNames()).equals(Set.copyOf(writer.getAttributeNames()));
+            else if (property instanceof VirtualRelationshipsWriter relationships)
+                sameProperties &= Set.copyOf(relationships.getRelationshipNames()).equals(Set.copyOf(writer.getRelationshipNames()));
+            else if (property instanceof BeanPropertyWriter beanProperty)
+                properties.put(property.getName(), beanProperty);
+        }
+
+        if (!sameProperties || properties.size() != 4 || !properties.keySet().containsAll(Set.of("type", "id", "links", "meta")))
+            return beanSerializer;
+
+        return new GeneratedResourceObjectSerializer((ResourceObjectWriter<ResourceObject>) writer, beanSerializer, properties);
+    }
+
+    @Override
+    public void serialize(ResourceObject resourceObject, JsonGenerator json, SerializerProvider provider) throws IOException {
+        json.writeStartObject(resourceObject);
+        serializeFields(resourceObject, json, provider);
+        json.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(
+            ResourceObject resourceObject, JsonGenerator json, SerializerProvider provider, TypeSerializer typeSerializer
+    ) throws IOException {
+        json.assignCurrentValue(resourceObject);
+        WritableTypeId typeId = typeSerializer.writeTypePrefix(json, typeSerializer.typeId(resourceObject, JsonToken.START_OBJECT));
+        serializeFields(resourceObject, json, provider);
+        typeSerializer.writeTypeSuffix(json, typeId);
+    }
+
+    private void serializeFields(ResourceObject resourceObject, JsonGenerator json, SerializerProvider provider) throws IOException {
+        try {
+            type.serializeAsField(resourceObject, json, provider);
+            id.serializeAsField(resourceObject, json, provider);
+            writeAttributes(resourceObject, json, provider);
+            writeRelationships(resourceObject, json, provider);
+            links.serializeAsField(resourceObject, json, provider);
+            meta.serializeAsField(resourceObject, json, provider);
+        } catch (IOException | RuntimeException exception) {
+            throw exception;
+        } catch (Exception exception) {
+            throw JsonMappingException.wrapWithPath(exception, resourceObject, "");
+        }
+    }
+
+    private void writeAttributes(ResourceObject resourceObject, JsonGenerator json, SerializerProvider provider) throws IOException {
+        AttributesWriter attributes = new AttributesWriter(json, provider);
+        writer.writeAttributes(resourceObject, attributes);
+        attributes.end();
+    }
+
+    private void writeRelationships(ResourceObject resourceObject, JsonGenerator json, SerializerProvider provider) throws IOException {
+        Map<String, Relationship> relationships = new TreeMap<>();
+        writer.collectRelationships(resourceObject, relationships);
+        VirtualRelationshipsWriter.includeRelationships(resourceObject, relationships, json, provider);
+
+        if (!relationships.isEmpty())
+            provider.defaultSerializeField("relationships", relationships, json);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        // assigns the serializers of the property writers
+        if (beanSerializer instanceof ResolvableSerializer resolvableSerializer)
+            resolvableSerializer.resolve(provider);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, ResourceObject value) {
+        return beanSerializer.isEmpty(provider, value);
+    }
+
+    /**
+     * Writes the non-null attributes into the "attributes" object, which is only started if there is such an attribute.
+     */
+    private static class AttributesWriter implements ResourceObjectWriter.AttributeWriter {
+        private final JsonGenerator json;
+        private final SerializerProvider provider;
+        private boolean started;
+
+        AttributesWriter(JsonGenerator json, SerializerProvider provider) {
+            this.json = json;
+            this.provider = provider;
+        }
+
+        @Override
+        public void write(String name, Object value) throws IOException {
+            if (value == null)
+                return;
+
+            if (!started) {
+                json.writeObjectFieldStart("attributes");
+                started = true;
+            }
+
+            provider.defaultSerializeField(name, value, json);
+        }
+
+        void end() throws IOException {
+            if (started)
+                json.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cloud.codestore.jsonapi.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The "attributes" object of a {@link cloud.codestore.jsonapi.resource.GenericResourceObject}
+ * as flat arrays of names and values. The values are plain Java objects like strings, numbers, booleans,
+ * lists and maps.
+ * <br/><br/>
+ * Only for internal use.
+ *
+ * @param names  the names of the attributes.
+ * @param values the values of the attributes in the same order as the names.
+ */
+@JsonDeserialize(using = GenericAttributes.Deserializer.class)
+public record GenericAttributes(String[] names, Object[] values) {
+    /**
+     * Reads the names and values of the attributes from the token stream of the unwrapped resource object.
+     * The values are bound into plain Java objects instead of {@link com.fasterxml.jackson.databind.JsonNode}s.
+     */
+    static class Deserializer extends StdDeserializer<GenericAttributes> {
+        Deserializer() {
+            super(GenericAttributes.class);
+        }
+
+        @Override
+        public GenericAttributes deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartObjectToken())
+                return (GenericAttributes) context.handleUnexpectedToken(GenericAttributes.class, parser);
+
+            JsonDeserializer<Object> valueDeserializer = context.findRootValueDeserializer(context.constructType(Object.class));
+            List<String> names = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            for (String name = parser.nextFieldName(); name != null; name = parser.nextFieldName()) {
+                JsonToken token = parser.nextToken();
+                names.add(name);
+                values.add(token == JsonToken.VALUE_NULL ? null : valueDeserializer.deserialize(parser, context));
+            }
+
+            return new GenericAttributes(names.toArray(String[]::new), values.toArray());
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.DocumentLimits;
+import cloud.codestore.jsonapi.JsonApiMetricsListener;
+import cloud.codestore.jsonapi.OutputLimits;
+import cloud.codestore.jsonapi.resource.ResourceObjectWriter;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Holds the optional features of a {@link cloud.codestore.jsonapi.JsonApiObjectMapper}.
+ * An instance is shared between the object mapper and the serializers/deserializers created by the
+ * {@link cloud.codestore.jsonapi.JsonApiModule}, so changes are visible to already cached (de)serializers.
+ * <br/><br/>
+ * Only for internal use.
+ */
+public class JsonApiConfiguration {
+    private int parallelSerializationChunkSize;
+    private ForkJoinPool parallelSerializationPool;
+    private int parallelDeserializationChunkSize;
+    private ForkJoinPool parallelDeserializationPool;
+    private boolean canonicalOutput;
+    private ResourceObjectCache resourceObjectCache;
+    private boolean genericResourceObjects;
+    private boolean stringCanonicalization;
+    private boolean idDeduplication;
+    private boolean numericIds;
+    private JsonApiMetricsListener metricsListener;
+    private DocumentLimits documentLimits = DocumentLimits.UNLIMITED;
+    private OutputLimits outputLimits = OutputLimits.UNLIMITED;
+    private final Map<Class<?>, ResourceObjectWriter<?>> resourceObjectWriters = new ConcurrentHashMap<>();
+
+    /**
+     * Enables serializing the primary data of {@link cloud.codestore.jsonapi.document.ResourceCollectionDocument}s
+     * in chunks of the given size on the given pool.
+     */
+    public void enableParallelSerialization(int chunkSize, ForkJoinPool pool) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("The chunk size must be greater than 0.");
+
+        this.parallelSerializationChunkSize = chunkSize;
+        this.parallelSerializationPool = Objects.requireNonNull(pool);
+    }
+
+    public void disableParallelSerialization() {
+        this.parallelSerializationChunkSize = 0;
+        this.parallelSerializationPool = null;
+    }
+
+    /**
+     * @param dataLength the number of resource objects in the primary data.
+     * @return whether the primary data should be serialized in parallel.
+     */
+    boolean serializeInParallel(int dataLength) {
+        return parallelSerializationPool != null && dataLength > parallelSerializationChunkSize;
+    }
+
+    int getParallelSerializationChunkSize() {
+        return parallelSerializationChunkSize;
+    }
+
+    ForkJoinPool getParallelSerializationPool() {
+        return parallelSerializationPool;
+    }
+
+    /**
+     * Enables binding the "data" and "included" arrays of JSON:API documents
+     * in chunks of the given size on the given pool.
+     */
+    public void enableParallelDeserialization(int chunkSize, ForkJoinPool pool) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("The chunk size must be greater than 0.");
+
+        this.parallelDeserializationChunkSize = chunkSize;
+        this.parallelDeserializationPool = Objects.requireNonNull(pool);
+    }
+
+    public void disableParallelDeserialization() {
+        this.parallelDeserializationChunkSize = 0;
+        this.parallelDeserializationPool = null;
+    }
+
+    /**
+     * @param arrayLength the number of resource objects in the "data" or "included" array.
+     * @return whether the resource objects should be bound in parallel.
+     */
+    boolean deserializeInParallel(int arrayLength) {
+        return parallelDeserializationPool != null && arrayLength > parallelDeserializationChunkSize;
+    }
+
+    int getParallelDeserializationChunkSize() {
+        return parallelDeserializationChunkSize;
+    }
+
+    ForkJoinPool getParallelDeserializationPool() {
+        return parallelDeserializationPool;
+    }
+
+    /**
+     * Enables or disables sorting the included resources of JSON:API documents by type and id.
+     */
+    public void setCanonicalOutput(boolean canonicalOutput) {
+        this.canonicalOutput = canonicalOutput;
+    }
+
+    boolean isCanonicalOutput() {
+        return canonicalOutput;
+    }
+
+    /**
+     * Enables caching the serialized JSON of resource objects which provide a
+     * {@link cloud.codestore.jsonapi.resource.ResourceObject#getCacheVersion() cache version}.
+     */
+    public void enableResourceObjectCache(int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("The maximum size must be greater than 0.");
+
+        this.resourceObjectCache = new ResourceObjectCache(maximumSize);
+    }
+
+    public void disableResourceObjectCache() {
+        this.resourceObjectCache = null;
+    }
+
+    /**
+     * @return the cache of serialized resource objects or {@code null} if caching is disabled.
+     */
+    ResourceObjectCache getResourceObjectCache() {
+        return resourceObjectCache;
+    }
+
+    /**
+     * Enables deserializing resource objects of unknown types into
+     * {@link cloud.codestore.jsonapi.resource.GenericResourceObject}s.
+     */
+    public void setGenericResourceObjects(boolean genericResourceObjects) {
+        this.genericResourceObjects = genericResourceObjects;
+    }
+
+    boolean isGenericResourceObjects() {
+        return genericResourceObjects;
+    }
+
+    /**
+     * Enables sharing the strings of equal types and optionally equal ids of deserialized documents.
+     */
+    public void enableStringCanonicalization(boolean deduplicateIds) {
+        this.stringCanonicalization = true;
+        this.idDeduplication = deduplicateIds;
+    }
+
+    public void disableStringCanonicalization() {
+        this.stringCanonicalization = false;
+        this.idDeduplication = false;
+    }
+
+    boolean isStringCanonicalization() {
+        return stringCanonicalization;
+    }
+
+    boolean isIdDeduplication() {
+        return idDeduplication;
+    }
+
+    /**
+     * Enables holding numeric ids of resource linkage as {@code long} values.
+     */
+    public void setNumericIds(boolean numericIds) {
+        this.numericIds = numericIds;
+    }
+
+    boolean isNumericIds() {
+        return numericIds;
+    }
+
+    /**
+     * Sets the listener which receives the statistics of all serialized and deserialized documents.
+     *
+     * @param metricsListener a {@link JsonApiMetricsListener} or {@code null}.
+     */
+    public void setMetricsListener(JsonApiMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * @return the {@link JsonApiMetricsListener} or {@code null} if no statistics are collected.
+     */
+    JsonApiMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Sets the limits which are validated before a document is unwrapped and bound.
+     */
+    public void setDocumentLimits(DocumentLimits documentLimits) {
+        this.documentLimits = Objects.requireNonNull(documentLimits);
+    }
+
+    DocumentLimits getDocumentLimits() {
+        return documentLimits;
+    }
+
+    /**
+     * Sets the limits which are checked while a document is written.
+     */
+    public void setOutputLimits(OutputLimits outputLimits) {
+        this.outputLimits = Objects.requireNonNull(outputLimits);
+    }
+
+    OutputLimits getOutputLimits() {
+        return outputLimits;
+    }
+
+    /**
+     * @return {@code true}, if the written bytes must be counted for the metrics listener or the output limits.
+     */
+    public boolean isOutputCounted() {
+        return metricsListener != null || outputLimits.maxBytes() < Long.MAX_VALUE;
+    }
+
+    /**
+     * Adds a generated {@link ResourceObjectWriter}, which is used instead of reflection
+     * to serialize the attributes and relationships of the corresponding resource type.
+     */
+    public void addResourceObjectWriter(ResourceObjectWriter<?> resourceObjectWriter) {
+        resourceObjectWriters.put(resourceObjectWriter.getResourceType(), resourceObjectWriter);
+    }
+
+    /**
+     * @return the {@link ResourceObjectWriter} of the given resource type or {@code null}.
+     */
+    ResourceObjectWriter<?> getResourceObjectWriter(Class<?> resourceType) {
+        return resourceObjectWriters.get(resourceType);
+    }
+}
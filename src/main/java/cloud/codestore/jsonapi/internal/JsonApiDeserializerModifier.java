@@ -1,5 +1,6 @@
 package cloud.codestore.jsonapi.internal;
 
+import cloud.codestore.jsonapi.DocumentStatistics;
 import cloud.codestore.jsonapi.document.JsonApiDocument;
 import cloud.codestore.jsonapi.relationship.Relationship;
 import cloud.codestore.jsonapi.resource.ResourceObject;
@@ -18,12 +19,25 @@ import java.io.IOException;
  * to the corresponding {@link Relationship relationships}.
  */
 public class JsonApiDeserializerModifier extends BeanDeserializerModifier {
+    /**
+     * Name of the deserialization attribute which defers the linking of the relationships.
+     * It is set if the "data" or "included" arrays are bound in parallel after the rest of the document,
+     * so the relationships are linked by calling {@link #link(JsonApiDocument, DeserializationContext, JsonApiConfiguration)} afterwards.
+     */
+    static final String DEFER_LINKING = JsonApiDeserializerModifier.class.getName() + ".deferLinking";
+
+    private final JsonApiConfiguration configuration;
+
+    public JsonApiDeserializerModifier(JsonApiConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
     @Override
     public JsonDeserializer<?> modifyDeserializer(
             DeserializationConfig config, BeanDescription beanDescription, JsonDeserializer<?> deserializer
     ) {
         if (isJsonApiDocument(beanDescription.getBeanClass())) {
-            return new DocumentDeserializer(deserializer);
+            return new DocumentDeserializer(deserializer, configuration);
         }
         return deserializer;
     }
@@ -33,21 +47,37 @@ public class JsonApiDeserializerModifier extends BeanDeserializerModifier {
     }
 
     private static class DocumentDeserializer extends DelegatingDeserializer {
+        private final JsonApiConfiguration configuration;
 
-        DocumentDeserializer(JsonDeserializer<?> deserializer) {
+        DocumentDeserializer(JsonDeserializer<?> deserializer, JsonApiConfiguration configuration) {
             super(deserializer);
+            this.configuration = configuration;
         }
 
         @Override
         protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> jsonDeserializer) {
-            return new DocumentDeserializer(jsonDeserializer);
+            return new DocumentDeserializer(jsonDeserializer, configuration);
         }
 
         @Override
         public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
             JsonApiDocument document = (JsonApiDocument) super.deserialize(parser, context);
-            new RelationshipLinker().link(document.getRelationshipBacklinks(), document.getIncludedResources());
+            if (context.getAttribute(DEFER_LINKING) == null)
+                link(document, context, configuration);
+
             return document;
         }
     }
+
+    /**
+     * Links the included resources of the given document to its relationships.
+     */
+    static void link(JsonApiDocument document, DeserializationContext context, JsonApiConfiguration configuration) {
+        long start = System.nanoTime();
+        new RelationshipLinker(configuration.isNumericIds()).link(document.getRelationshipBacklinks(), document.getIncludedResources());
+
+        DocumentMetrics metrics = DocumentMetrics.of(context);
+        if (metrics != null)
+            metrics.addNanos(DocumentStatistics.Phase.LINK, System.nanoTime() - start);
+    }
 }
@@ -6,7 +6,6 @@ import cloud.codestore.jsonapi.document.SingleResourceDocument;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -24,18 +23,21 @@ public class JsonApiDocumentDeserializer extends StdDeserializer<JsonApiDocument
 
     @Override
     public JsonApiDocument deserialize(JsonParser jsonParser, DeserializationContext context) throws IOException {
-        ObjectMapper mapper = (ObjectMapper) jsonParser.getCodec();
-        ObjectNode documentNode = mapper.readTree(jsonParser);
+        long start = JsonApiEvents.offset(jsonParser.currentTokenLocation());
+        ObjectNode documentNode = DocumentLimitValidator.readTree(jsonParser, DocumentLimitValidator.getLimits(context.getConfig()));
+        long length = JsonApiEvents.length(context, start, JsonApiEvents.offset(jsonParser.currentLocation()));
 
+        // the document is bound from the tree, so its length is passed to the recorded event
+        context.setAttribute(JsonApiEvents.DOCUMENT_LENGTH, length);
         if (documentNode.has("data")) {
             JsonNode dataNode = documentNode.get("data");
             if (dataNode.isObject()) {
-                return mapper.treeToValue(documentNode, SingleResourceDocument.class);
+                return context.readTreeAsValue(documentNode, SingleResourceDocument.class);
             } else if (dataNode.isArray()) {
-                return mapper.treeToValue(documentNode, ResourceCollectionDocument.class);
+                return context.readTreeAsValue(documentNode, ResourceCollectionDocument.class);
             }
         }
 
-        return mapper.treeToValue(documentNode, SingleResourceDocument.class);
+        return context.readTreeAsValue(documentNode, SingleResourceDocument.class);
     }
 }
@@ -0,0 +1,344 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.DocumentStatistics;
+import cloud.codestore.jsonapi.JsonApiMetricsListener;
+import cloud.codestore.jsonapi.OutputLimits;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.document.ResourceCollectionDocument;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Modifies the way, how {@link JsonApiDocument}s are serialized.
+ * <br/><br/>
+ * If parallel serialization is enabled, the primary data of {@link ResourceCollectionDocument}s is serialized
+ * by a {@link ParallelDataSerializer} and written as raw JSON into the document.
+ * <br/><br/>
+ * If canonical output is enabled, the included resources are sorted by their type and id.
+ * <br/><br/>
+ * If {@link OutputLimits} are set, they are checked by an {@link OutputGuard} while the document is written.
+ * The limits which led to truncating the document are listed in the "truncated" member of its meta object.
+ * <br/><br/>
+ * Each serialized document is recorded as {@link JsonApiEvents.DocumentWrite} event
+ * and reported to the {@link JsonApiMetricsListener}, if there is one.
+ */
+public class JsonApiDocumentSerializerModifier extends BeanSerializerModifier {
+    private final JsonApiConfiguration configuration;
+
+    public JsonApiDocumentSerializerModifier(JsonApiConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+        if (isJsonApiDocument(beanDesc.getBeanClass())) {
+            return new RecordingDocumentSerializer((JsonSerializer<JsonApiDocument>) serializer, configuration);
+        }
+
+        return serializer;
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> properties) {
+        if (isJsonApiDocument(beanDesc.getBeanClass())) {
+            for (int i = 0; i < properties.size(); i++) {
+                BeanPropertyWriter property = properties.get(i);
+                if ("included".equals(property.getName()))
+                    properties.set(i, new IncludedResourcesWriter(property, configuration));
+                else if ("data".equals(property.getName()) && isResourceCollectionDocument(beanDesc.getBeanClass()))
+                    properties.set(i, new PrimaryDataWriter(property, configuration));
+                else if ("meta".equals(property.getName()))
+                    properties.set(i, new MetaWriter(property));
+            }
+        }
+
+        return properties;
+    }
+
+    /**
+     * @param type a class type.
+     * @return {@code true}, if the given type is a subtype of {@link JsonApiDocument}.
+     */
+    private static boolean isJsonApiDocument(Class<?> type) {
+        return JsonApiDocument.class.isAssignableFrom(type);
+    }
+
+    /**
+     * @param type a class type.
+     * @return {@code true}, if the given type is a subtype of {@link ResourceCollectionDocument}.
+     */
+    private static boolean isResourceCollectionDocument(Class<?> type) {
+        return ResourceCollectionDocument.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Writes the "data" array of a {@link ResourceCollectionDocument}.
+     */
+    private static class PrimaryDataWriter extends BeanPropertyWriter {
+        private final JsonApiConfiguration configuration;
+
+        PrimaryDataWriter(BeanPropertyWriter base, JsonApiConfiguration configuration) {
+            super(base);
+            this.configuration = configuration;
+        }
+
+        private PrimaryDataWriter(PrimaryDataWriter base, PropertyName name) {
+            super(base, name);
+            this.configuration = base.configuration;
+        }
+
+        @Override
+        protected BeanPropertyWriter _new(PropertyName newName) {
+            return new PrimaryDataWriter(this, newName);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator json, SerializerProvider provider) throws Exception {
+            ResourceObject[] data = ((ResourceCollectionDocument<?>) bean).getData();
+            if (data != null && configuration.serializeInParallel(data.length)) {
+                OutputGuard guard = OutputGuard.of(provider);
+                json.writeFieldName(_name);
+                json.writeStartArray();
+                RawJsonValue[] chunks = new ParallelDataSerializer(
+                        json,
+                        provider,
+                        configuration.getParallelSerializationChunkSize(),
+                        configuration.getParallelSerializationPool(),
+                        DocumentMetrics.of(provider),
+                        guard
+                ).serialize((JsonApiDocument) bean, data);
+
+                for (RawJsonValue chunk : chunks) {
+                    if (guard == null)
+                        json.writeRawValue(chunk);
+                    else
+                        guard.writeBuffer(json, chunk);
+                }
+                json.writeEndArray();
+            } else {
+                super.serializeAsField(bean, json, provider);
+            }
+        }
+    }
+
+    /**
+     * Writes the "included" array of a {@link JsonApiDocument}.
+     */
+    private static class IncludedResourcesWriter extends BeanPropertyWriter {
+        private static final Comparator<ResourceObject> CANONICAL_ORDER = Comparator
+                .comparing(ResourceObject::getType, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(ResourceObject::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+        private final JsonApiConfiguration configuration;
+
+        IncludedResourcesWriter(BeanPropertyWriter base, JsonApiConfiguration configuration) {
+            super(base);
+            this.configuration = configuration;
+        }
+
+        private IncludedResourcesWriter(IncludedResourcesWriter base, PropertyName name) {
+            super(base, name);
+            this.configuration = base.configuration;
+        }
+
+        @Override
+        protected BeanPropertyWriter _new(PropertyName newName) {
+            return new IncludedResourcesWriter(this, newName);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator json, SerializerProvider provider) throws Exception {
+            List<ResourceObject> includedResources = ((JsonApiDocument) bean).getIncludedResources();
+            OutputGuard guard = OutputGuard.of(provider);
+            if (guard != null && !includedResources.isEmpty() && !guard.mayWriteIncludedResources())
+                return;
+
+            List<ResourceObject> limitedResources = guard == null ? includedResources : guard.limitIncludedResources(includedResources);
+
+            if (configuration.isCanonicalOutput() && !includedResources.isEmpty()) {
+                List<ResourceObject> sortedResources = new ArrayList<>(limitedResources);
+                sortedResources.sort(CANONICAL_ORDER);
+
+                json.writeFieldName(_name);
+                provider.defaultSerializeValue(sortedResources, json);
+            } else if (limitedResources != includedResources) {
+                json.writeFieldName(_name);
+                provider.defaultSerializeValue(limitedResources, json);
+            } else {
+                super.serializeAsField(bean, json, provider);
+            }
+        }
+    }
+
+    /**
+     * Writes the "meta" object of a {@link JsonApiDocument}.
+     * If the document was truncated, the exceeded limits are added as "truncated" member.
+     */
+    private static class MetaWriter extends BeanPropertyWriter {
+        MetaWriter(BeanPropertyWriter base) {
+            super(base);
+        }
+
+        private MetaWriter(MetaWriter base, PropertyName name) {
+            super(base, name);
+        }
+
+        @Override
+        protected BeanPropertyWriter _new(PropertyName newName) {
+            return new MetaWriter(this, newName);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator json, SerializerProvider provider) throws Exception {
+            OutputGuard guard = OutputGuard.of(provider);
+            List<String> exceededLimits = guard == null ? List.of() : guard.getExceededLimits();
+            if (exceededLimits.isEmpty()) {
+                super.serializeAsField(bean, json, provider);
+                return;
+            }
+
+            ObjectMapper mapper = (ObjectMapper) json.getCodec();
+            Object meta = ((JsonApiDocument) bean).getMeta();
+            ObjectNode metaNode = meta == null ? mapper.createObjectNode() : mapper.valueToTree(meta);
+            exceededLimits.forEach(metaNode.putArray("truncated")::add);
+
+            json.writeFieldName(_name);
+            json.writeTree(metaNode);
+        }
+    }
+
+    /**
+     * Records the serialization of a document as {@link JsonApiEvents.DocumentWrite} event
+     * and collects its {@link DocumentMetrics}.
+     */
+    private static class RecordingDocumentSerializer extends StdSerializer<JsonApiDocument>
+            implements ContextualSerializer, ResolvableSerializer {
+        private final JsonSerializer<JsonApiDocument> delegate;
+        private final JsonApiConfiguration configuration;
+
+        RecordingDocumentSerializer(JsonSerializer<JsonApiDocument> delegate, JsonApiConfiguration configuration) {
+            super(JsonApiDocument.class);
+            this.delegate = delegate;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public void serialize(JsonApiDocument document, JsonGenerator json, SerializerProvider provider) throws IOException {
+            JsonApiEvents.DocumentWrite event = JsonApiEvents.AVAILABLE ? new JsonApiEvents.DocumentWrite() : null;
+            if (event != null)
+                event.begin();
+            JsonApiMetricsListener listener = configuration.getMetricsListener();
+            DocumentMetrics metrics = startMetrics(listener, provider);
+            long start = System.nanoTime();
+            long startCount = metrics == null ? -1 : CountingOutputDecorator.count(json);
+            startGuard(document, json, provider);
+
+            delegate.serialize(document, json, provider);
+
+            reportMetrics(listener, metrics, document, json, start, startCount);
+            commit(event, document);
+        }
+
+        @Override
+        public void serializeWithType(
+                JsonApiDocument document, JsonGenerator json, SerializerProvider provider, TypeSerializer typeSerializer
+        ) throws IOException {
+            JsonApiEvents.DocumentWrite event = JsonApiEvents.AVAILABLE ? new JsonApiEvents.DocumentWrite() : null;
+            if (event != null)
+                event.begin();
+            JsonApiMetricsListener listener = configuration.getMetricsListener();
+            DocumentMetrics metrics = startMetrics(listener, provider);
+            long start = System.nanoTime();
+            long startCount = metrics == null ? -1 : CountingOutputDecorator.count(json);
+            startGuard(document, json, provider);
+
+            delegate.serializeWithType(document, json, provider, typeSerializer);
+
+            reportMetrics(listener, metrics, document, json, start, startCount);
+            commit(event, document);
+        }
+
+        private DocumentMetrics startMetrics(JsonApiMetricsListener listener, SerializerProvider provider) {
+            if (listener == null)
+                return null;
+
+            DocumentMetrics metrics = new DocumentMetrics();
+            provider.setAttribute(DocumentMetrics.ATTRIBUTE, metrics);
+            return metrics;
+        }
+
+        private void startGuard(JsonApiDocument document, JsonGenerator json, SerializerProvider provider) {
+            OutputLimits limits = configuration.getOutputLimits();
+            if (limits != OutputLimits.UNLIMITED)
+                provider.setAttribute(OutputGuard.ATTRIBUTE, new OutputGuard(limits, json, document));
+        }
+
+        private void reportMetrics(
+                JsonApiMetricsListener listener, DocumentMetrics metrics, JsonApiDocument document,
+                JsonGenerator json, long start, long startCount
+        ) {
+            if (metrics != null) {
+                metrics.addNanos(DocumentStatistics.Phase.TOTAL, System.nanoTime() - start);
+                long bytes = startCount < 0 ? -1 : CountingOutputDecorator.count(json) - startCount;
+                listener.documentWritten(metrics.toStatistics(document, bytes));
+            }
+        }
+
+        private void commit(JsonApiEvents.DocumentWrite event, JsonApiDocument document) {
+            if (event == null)
+                return;
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.documentType = document.getClass().getName();
+                event.resources = JsonApiEvents.countPrimaryData(document);
+                event.includedResources = document.getIncludedResources().size();
+                event.commit();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextualSerializer) {
+                var contextualDelegate = (JsonSerializer<JsonApiDocument>) contextualSerializer.createContextual(provider, property);
+                if (contextualDelegate != delegate)
+                    return new RecordingDocumentSerializer(contextualDelegate, configuration);
+            }
+
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvableSerializer)
+                resolvableSerializer.resolve(provider);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, JsonApiDocument value) {
+            return delegate.isEmpty(provider, value);
+        }
+    }
+}
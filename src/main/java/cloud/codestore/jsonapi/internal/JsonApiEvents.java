@@ -0,0 +1,168 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.document.ResourceCollectionDocument;
+import cloud.codestore.jsonapi.document.SingleResourceDocument;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JDK Flight Recorder events of the phases of serialization and deserialization.
+ * The events are only committed while a recording with the corresponding event enabled is running.
+ * Otherwise, the instrumented event classes do nothing.
+ * <br/><br/>
+ * The module "jdk.jfr" is optional. The event classes must only be loaded if it is {@link #AVAILABLE},
+ * so the callers create no events otherwise. This class itself does not depend on "jdk.jfr".
+ * <br/><br/>
+ * Only for internal use.
+ */
+public final class JsonApiEvents {
+    private static final String CATEGORY = "JSON:API";
+
+    /**
+     * Name of the deserialization attribute which holds the length of a document
+     * which was read into a tree before it is deserialized.
+     */
+    static final String DOCUMENT_LENGTH = JsonApiEvents.class.getName() + ".documentLength";
+
+    /**
+     * Whether the module "jdk.jfr" is present and readable, so the events can be created.
+     */
+    static final boolean AVAILABLE = ModuleLayer.boot()
+                                                .findModule("jdk.jfr")
+                                                .map(JsonApiEvents.class.getModule()::canRead)
+                                                .orElse(false);
+
+    private JsonApiEvents() {}
+
+    /**
+     * @return the byte offset of the given location or the character offset, if the input source consists of characters.
+     */
+    static long offset(JsonLocation location) {
+        long offset = location.getByteOffset();
+        return offset < 0 ? location.getCharOffset() : offset;
+    }
+
+    /**
+     * @return the length of the document between the given offsets or the length which was stored
+     * as {@link #DOCUMENT_LENGTH} attribute, if the offsets are unknown.
+     */
+    static long length(DeserializationContext context, long start, long end) {
+        if (start >= 0 && end >= 0)
+            return end - start;
+
+        Object length = context.getAttribute(DOCUMENT_LENGTH);
+        return length == null ? -1 : (Long) length;
+    }
+
+    /**
+     * @return the number of resource objects in the primary data of the given document.
+     */
+    static int countPrimaryData(JsonApiDocument document) {
+        if (document instanceof SingleResourceDocument<?> singleResourceDocument)
+            return singleResourceDocument.getData() == null ? 0 : 1;
+        if (document instanceof ResourceCollectionDocument<?> resourceCollectionDocument)
+            return resourceCollectionDocument.getData() == null ? 0 : resourceCollectionDocument.getData().length;
+
+        return 0;
+    }
+
+    @Name("cloud.codestore.jsonapi.DocumentRead")
+    @Label("JSON:API Document Read")
+    @Description("Deserialization of a JSON:API document including all phases")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static class DocumentRead extends Event {
+        @Label("Document Type")
+        String documentType;
+
+        @Label("Resources")
+        @Description("The number of resource objects in the primary data")
+        int resources;
+
+        @Label("Included Resources")
+        int includedResources;
+
+        @Label("Length")
+        @Description("The number of bytes or characters read, depending on the input source, or -1 if unknown")
+        long length;
+    }
+
+    @Name("cloud.codestore.jsonapi.DocumentWrite")
+    @Label("JSON:API Document Write")
+    @Description("Serialization of a JSON:API document including all phases")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static class DocumentWrite extends Event {
+        @Label("Document Type")
+        String documentType;
+
+        @Label("Resources")
+        @Description("The number of resource objects in the primary data")
+        int resources;
+
+        @Label("Included Resources")
+        int includedResources;
+    }
+
+    @Name("cloud.codestore.jsonapi.Unwrap")
+    @Label("JSON:API Unwrap")
+    @Description("Unwrapping the attributes and relationships of all resource objects of a document")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static class Unwrap extends Event {
+        @Label("Resources")
+        @Description("The number of resource objects in the primary data")
+        int resources;
+
+        @Label("Included Resources")
+        int includedResources;
+    }
+
+    @Name("cloud.codestore.jsonapi.Link")
+    @Label("JSON:API Link")
+    @Description("Linking the relationships of a document to the included resources")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static class Link extends Event {
+        @Label("Relationships")
+        int relationships;
+
+        @Label("Included Resources")
+        int includedResources;
+    }
+
+    @Name("cloud.codestore.jsonapi.Inclusion")
+    @Label("JSON:API Inclusion")
+    @Description("Walking the relationships of a resource object in the primary data to include the related resources")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static class Inclusion extends Event {
+        @Label("Resource Type")
+        String resourceType;
+
+        @Label("Included Resources")
+        @Description("The number of resource objects which were added to the included resources")
+        int includedResources;
+    }
+
+    @Name("cloud.codestore.jsonapi.MetaResolution")
+    @Label("JSON:API Meta Resolution")
+    @Description("Resolving and deserializing a meta object")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static class MetaResolution extends Event {
+        @Label("Pointer")
+        String pointer;
+
+        @Label("Meta Type")
+        @Description("The class which was resolved by the meta deserializer or null, if the meta object was read from a tree")
+        String metaType;
+    }
+}
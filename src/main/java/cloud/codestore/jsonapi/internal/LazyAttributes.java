@@ -0,0 +1,45 @@
+package cloud.codestore.jsonapi.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+
+/**
+ * The unbound "attributes" object of a {@link cloud.codestore.jsonapi.resource.LazyResourceObject}
+ * together with the object mapper which binds the single attributes.
+ * <br/><br/>
+ * Only for internal use.
+ *
+ * @param attributes   the "attributes" object.
+ * @param objectMapper the object mapper which deserialized the resource object.
+ */
+@JsonDeserialize(using = LazyAttributes.Deserializer.class)
+public record LazyAttributes(ObjectNode attributes, ObjectMapper objectMapper) {
+    /**
+     * Takes over the "attributes" object which was retained by the {@link ResourceObjectDeserializerModifier}.
+     * If the resource object is not part of a document, the "attributes" object is read as tree.
+     */
+    static class Deserializer extends StdDeserializer<LazyAttributes> {
+        Deserializer() {
+            super(LazyAttributes.class);
+        }
+
+        @Override
+        public LazyAttributes deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            ObjectNode attributes;
+            if (parser.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT && parser.getEmbeddedObject() instanceof ObjectNode node) {
+                attributes = node;
+            } else {
+                attributes = context.readValue(parser, ObjectNode.class);
+            }
+
+            return new LazyAttributes(attributes, (ObjectMapper) parser.getCodec());
+        }
+    }
+}
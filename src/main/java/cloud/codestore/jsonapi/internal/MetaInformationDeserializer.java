@@ -18,6 +18,12 @@ import java.util.Objects;
  * If there is no application specific {@link MetaDeserializer} registered, this deserializer always returns {@code null}.
  */
 public class MetaInformationDeserializer extends StdDeserializer<MetaInformation> {
+    /**
+     * Name of the deserialization attribute which holds the JSON pointer of the parsed value
+     * if it is deserialized outside the document, for example when binding resource objects in parallel.
+     */
+    public static final String POINTER_PREFIX = MetaInformationDeserializer.class.getName() + ".pointerPrefix";
+
     private MetaDeserializer metaDeserializer;
 
     /**
@@ -34,14 +40,38 @@ public class MetaInformationDeserializer extends StdDeserializer<MetaInformation
     public MetaInformation deserialize(JsonParser jsonParser, DeserializationContext context) throws IOException {
         JsonStreamContext parsingContext = jsonParser.getParsingContext();
         String pointer = parsingContext.pathAsPointer().toString();
+        Object pointerPrefix = context.getAttribute(POINTER_PREFIX);
+        if (pointerPrefix != null) {
+            pointer = pointerPrefix + pointer;
+        }
         pointer = addRelationshipPath(pointer);
 
+        JsonApiEvents.MetaResolution event = JsonApiEvents.AVAILABLE ? new JsonApiEvents.MetaResolution() : null;
+        if (event != null)
+            event.begin();
+
         Class<? extends MetaInformation> metaInformationClass = metaDeserializer.getClass(pointer);
+        MetaInformation metaInformation;
         if (metaInformationClass == null) {
-            return readFromTree(jsonParser, pointer, jsonParser.readValueAsTree());
+            metaInformation = readFromTree(jsonParser, pointer, jsonParser.readValueAsTree());
         } else {
-            return jsonParser.readValueAs(metaInformationClass);
+            metaInformation = jsonParser.readValueAs(metaInformationClass);
         }
+
+        DocumentMetrics metrics = DocumentMetrics.of(context);
+        if (metrics != null)
+            metrics.addMetaObject();
+
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.pointer = pointer;
+                event.metaType = metaInformationClass == null ? null : metaInformationClass.getName();
+                event.commit();
+            }
+        }
+
+        return metaInformation;
     }
 
     /**
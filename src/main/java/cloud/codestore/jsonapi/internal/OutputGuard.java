@@ -0,0 +1,224 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.OutputLimitExceededException;
+import cloud.codestore.jsonapi.OutputLimitExceededException.Limit;
+import cloud.codestore.jsonapi.OutputLimits;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.DatabindContext;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enforces the {@link OutputLimits} while a single document is serialized.
+ * It is passed as context attribute, so it is available for the recursive inclusion of related resources
+ * and for chunks which are serialized in parallel.
+ * <br/><br/>
+ * The limits apply to the whole document. Related resources which are included by different chunks are counted
+ * together, and the bytes of chunks, which are written into separate buffers, are added to the bytes
+ * of the document generator until the buffers are written into the document.
+ */
+class OutputGuard {
+    /**
+     * Name of the serialization attribute which holds the {@link OutputGuard}.
+     */
+    static final String ATTRIBUTE = OutputGuard.class.getName();
+
+    private final OutputLimits limits;
+    private final JsonGenerator generator;
+    private final long startCount;
+    private final Set<Limit> exceededLimits = ConcurrentHashMap.newKeySet();
+    private final Set<Object> includedResources = new HashSet<>();
+    private final Map<JsonGenerator, long[]> bufferCounts = new ConcurrentHashMap<>();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+
+    /**
+     * @param limits    the limits of the document.
+     * @param generator the generator which writes the document.
+     * @param document  the document which is written.
+     */
+    OutputGuard(OutputLimits limits, JsonGenerator generator, JsonApiDocument document) {
+        this.limits = limits;
+        this.generator = generator;
+        this.startCount = CountingOutputDecorator.count(generator);
+        for (ResourceObject includedResource : document.getIncludedResources()) {
+            includedResources.add(key(includedResource));
+        }
+    }
+
+    /**
+     * @return the {@link OutputGuard} of the given context or {@code null}, if there are no limits.
+     */
+    static OutputGuard of(DatabindContext context) {
+        return (OutputGuard) context.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * @param resourceObject the related resource.
+     * @param depth          the inclusion depth of the related resource.
+     * @return {@code true}, if the related resource may be included.
+     * @throws OutputLimitExceededException if a limit is exceeded and serialization should fail.
+     */
+    boolean mayInclude(ResourceObject resourceObject, int depth) throws OutputLimitExceededException {
+        if (depth > limits.maxInclusionDepth())
+            return exceeded(Limit.INCLUSION_DEPTH, limits.maxInclusionDepth());
+
+        Object key = key(resourceObject);
+        synchronized (includedResources) {
+            if (includedResources.contains(key))
+                return true;
+            if (includedResources.size() < limits.maxIncludedResources())
+                return includedResources.add(key);
+        }
+
+        return exceeded(Limit.INCLUDED_RESOURCES, limits.maxIncludedResources());
+    }
+
+    /**
+     * @param includedResources all included resources of the document.
+     * @return the included resources which may be written.
+     * @throws OutputLimitExceededException if there are too many included resources and serialization should fail.
+     */
+    List<ResourceObject> limitIncludedResources(List<ResourceObject> includedResources) throws OutputLimitExceededException {
+        if (includedResources.size() > limits.maxIncludedResources()) {
+            exceeded(Limit.INCLUDED_RESOURCES, limits.maxIncludedResources());
+            return includedResources.subList(0, limits.maxIncludedResources());
+        }
+
+        return includedResources;
+    }
+
+    /**
+     * Checks the number of written bytes before the "included" member is written.
+     * If the document already exceeds the maximum number of bytes, the whole member is omitted.
+     * Otherwise, at least the first included resource is written.
+     *
+     * @return {@code true}, if the "included" member may be written.
+     * @throws OutputLimitExceededException if the maximum number of bytes is exceeded and serialization should fail.
+     */
+    boolean mayWriteIncludedResources() throws OutputLimitExceededException {
+        if (startCount < 0 || CountingOutputDecorator.count(generator) - startCount + bufferedBytes.get() <= limits.maxBytes())
+            return true;
+
+        return exceeded(Limit.BYTES, limits.maxBytes());
+    }
+
+    /**
+     * Checks the number of written bytes before a resource object is written by the generator of the document
+     * or by the generator of a buffer.
+     * Resource objects of the "included" array can be omitted, while the primary data can not.
+     *
+     * @param json the generator which writes the resource object.
+     * @return {@code true}, if the resource object may be written.
+     * @throws OutputLimitExceededException if the maximum number of bytes is exceeded and serialization should fail.
+     */
+    boolean mayWrite(JsonGenerator json) throws OutputLimitExceededException {
+        if (startCount < 0)
+            return true;
+        if (json != generator && !countBuffer(json))
+            return true;
+        if (json == generator && isFirstIncludedResource(json.getOutputContext()))
+            return true;
+
+        long count = CountingOutputDecorator.count(generator) - startCount + bufferedBytes.get();
+        if (count <= limits.maxBytes())
+            return true;
+
+        if (json != generator || !isIncludedResource(json.getOutputContext()))
+            throw new OutputLimitExceededException(generator, Limit.BYTES, limits.maxBytes());
+
+        return exceeded(Limit.BYTES, limits.maxBytes());
+    }
+
+    /**
+     * Starts counting the bytes of a generator, which writes a part of the document into a separate buffer.
+     * Only the bytes which are written after this call are counted.
+     *
+     * @param json the generator of the buffer.
+     */
+    void startBuffer(JsonGenerator json) {
+        long count = CountingOutputDecorator.count(json);
+        if (startCount >= 0 && count >= 0)
+            bufferCounts.put(json, new long[]{count, count});
+    }
+
+    /**
+     * Stops counting the bytes of the given generator.
+     * The content of the buffer is still counted until it is written into the document by {@link #writeBuffer}.
+     *
+     * @param json    the generator of the buffer.
+     * @param content the part of the buffer which is written into the document.
+     */
+    void endBuffer(JsonGenerator json, RawJsonValue content) {
+        long[] counts = bufferCounts.remove(json);
+        if (counts != null)
+            bufferedBytes.addAndGet(content.length() - (counts[1] - counts[0]));
+    }
+
+    /**
+     * @param json   the generator of the document.
+     * @param buffer the content of a buffer, which was passed to {@link #endBuffer}.
+     * @throws IOException if the buffer could not be written.
+     */
+    void writeBuffer(JsonGenerator json, RawJsonValue buffer) throws IOException {
+        json.writeRawValue(buffer);
+        bufferedBytes.addAndGet(-buffer.length());
+    }
+
+    /**
+     * @return the limits which were exceeded and led to truncating the document.
+     */
+    List<String> getExceededLimits() {
+        return exceededLimits.stream().sorted().map(Limit::getName).toList();
+    }
+
+    private boolean exceeded(Limit limit, long maximum) throws OutputLimitExceededException {
+        if (limits.action() == OutputLimits.Action.FAIL)
+            throw new OutputLimitExceededException(generator, limit, maximum);
+
+        exceededLimits.add(limit);
+        return false;
+    }
+
+    /**
+     * Adds the bytes which the given generator has written since the last call to the buffered bytes.
+     *
+     * @return {@code false}, if the generator does not write a buffer of the document.
+     */
+    private boolean countBuffer(JsonGenerator json) {
+        long[] counts = bufferCounts.get(json);
+        if (counts == null)
+            return false;
+
+        // a buffer is only written by a single thread
+        long count = CountingOutputDecorator.count(json);
+        bufferedBytes.addAndGet(count - counts[1]);
+        counts[1] = count;
+        return true;
+    }
+
+    /**
+     * @return the type and id of the given resource object or the resource object itself, if it has no id.
+     */
+    private static Object key(ResourceObject resourceObject) {
+        return resourceObject.getId() == null ? resourceObject : resourceObject.getIdentifier();
+    }
+
+    private static boolean isFirstIncludedResource(JsonStreamContext context) {
+        return context.getEntryCount() == 0 && isIncludedResource(context);
+    }
+
+    private static boolean isIncludedResource(JsonStreamContext context) {
+        JsonStreamContext document = context.getParent();
+        return context.inArray() && document != null && "included".equals(document.getCurrentName())
+               && document.getParent() != null && document.getParent().inRoot();
+    }
+}
@@ -0,0 +1,95 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.relationship.Relationship;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Binds the elements of an already unwrapped array of resource objects in chunks on a {@link ForkJoinPool}.
+ * <br/><br/>
+ * The relationships of each chunk are collected in a separate document. After all chunks are bound,
+ * the relationships are added to the actual document in the order of the chunks,
+ * so they can be linked to the included resources afterwards.
+ */
+class ParallelDataDeserializer {
+    private final ObjectMapper mapper;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final DocumentMetrics metrics;
+
+    /**
+     * @param metrics the {@link DocumentMetrics} of the document. May be {@code null}.
+     */
+    ParallelDataDeserializer(ObjectMapper mapper, int chunkSize, ForkJoinPool pool, DocumentMetrics metrics) {
+        this.mapper = mapper;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param propertyName the name of the array inside the document. Used to create the JSON pointers of meta objects.
+     * @param array        the array of resource objects.
+     * @param elementType  the type of the resource objects.
+     * @param document     the document which contains the array.
+     * @return the bound resource objects in the order of the array.
+     * @throws IOException if a resource object could not be deserialized.
+     */
+    Object[] deserialize(String propertyName, ArrayNode array, JavaType elementType, JsonApiDocument document) throws IOException {
+        ObjectReader reader = mapper.readerFor(elementType).withAttribute(DocumentMetrics.ATTRIBUTE, metrics);
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+        for (int start = 0; start < array.size(); start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, array.size());
+            tasks.add(pool.submit(() -> deserializeChunk(reader, propertyName, array, from, to)));
+        }
+
+        Object[] result = new Object[array.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            Chunk chunk = join(tasks.get(i));
+            System.arraycopy(chunk.values, 0, result, i * chunkSize, chunk.values.length);
+            for (Relationship relationship : chunk.relationships.getRelationshipBacklinks()) {
+                document.addRelationshipBacklink(relationship);
+            }
+        }
+
+        return result;
+    }
+
+    private Chunk deserializeChunk(ObjectReader reader, String propertyName, ArrayNode array, int from, int to) {
+        JsonApiDocument relationships = new JsonApiDocument() {};
+        Object[] values = new Object[to - from];
+
+        try {
+            for (int i = from; i < to; i++) {
+                values[i - from] = reader.withAttribute(RelationshipDeserializerModifier.DOCUMENT, relationships)
+                                         .withAttribute(MetaInformationDeserializer.POINTER_PREFIX, "/" + propertyName + "/" + i)
+                                         .readValue(array.get(i));
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return new Chunk(values, relationships);
+    }
+
+    private static Chunk join(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private record Chunk(Object[] values, JsonApiDocument relationships) {}
+}
@@ -0,0 +1,186 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.PrettyPrinter;
+import com.fasterxml.jackson.core.util.Instantiatable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Serializes the primary data of a JSON:API document in chunks on a {@link ForkJoinPool}.
+ * <br/><br/>
+ * Each chunk is written into its own byte buffer and collects the related resources of its resource objects
+ * in a separate document. After all chunks are serialized, the related resources are included into the actual
+ * document in the order of the chunks. Thus, the result is the same as if the primary data was serialized sequentially.
+ * <br/><br/>
+ * The chunks are serialized with the {@link SerializationConfig} of the active serialization, so views, features
+ * and attributes of an {@link com.fasterxml.jackson.databind.ObjectWriter} apply to them as well.
+ * Each chunk generator receives the character escapes and a copy of the {@link PrettyPrinter} of the document
+ * generator, which has the nesting level of the "data" array, so the chunks are indented as if they were written
+ * by the document generator.
+ */
+class ParallelDataSerializer {
+    private final ObjectMapper mapper;
+    private final JsonGenerator json;
+    private final DefaultSerializerProvider provider;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final DocumentMetrics metrics;
+    private final OutputGuard guard;
+
+    /**
+     * @param json     the generator of the document, which has started the "data" array.
+     * @param provider the provider of the active serialization.
+     * @param metrics  the {@link DocumentMetrics} of the document. May be {@code null}.
+     * @param guard    the {@link OutputGuard} of the document. May be {@code null}.
+     */
+    ParallelDataSerializer(
+            JsonGenerator json, SerializerProvider provider, int chunkSize, ForkJoinPool pool,
+            DocumentMetrics metrics, OutputGuard guard
+    ) {
+        this.mapper = (ObjectMapper) json.getCodec();
+        this.json = json;
+        this.provider = (DefaultSerializerProvider) provider;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+        this.metrics = metrics;
+        this.guard = guard;
+    }
+
+    /**
+     * @param document the document which contains the primary data.
+     * @param data     the primary data.
+     * @return the serialized chunks of the primary data.
+     *         Each chunk contains a list of resource objects including the separators between them.
+     * @throws IOException if a resource object could not be serialized.
+     */
+    RawJsonValue[] serialize(JsonApiDocument document, ResourceObject[] data) throws IOException {
+        List<JsonStreamContext> enclosingContexts = new ArrayList<>();
+        for (JsonStreamContext context = json.getOutputContext(); context != null && !context.inRoot(); context = context.getParent()) {
+            enclosingContexts.add(0, context);
+        }
+
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+        for (int start = 0; start < data.length; start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, data.length);
+            tasks.add(pool.submit(() -> serializeChunk(data, from, to, enclosingContexts)));
+        }
+
+        RawJsonValue[] result = new RawJsonValue[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            Chunk chunk = join(tasks.get(i));
+            List<ResourceObject> includedResources = chunk.includedResources.getIncludedResources();
+            document.include(includedResources.toArray(ResourceObject[]::new));
+            result[i] = chunk.json;
+        }
+
+        return result;
+    }
+
+    private Chunk serializeChunk(ResourceObject[] data, int from, int to, List<JsonStreamContext> enclosingContexts) {
+        JsonApiDocument includedResources = new JsonApiDocument() {};
+        SerializationConfig config = provider.getConfig()
+                                             .withAttribute(VirtualRelationshipsWriter.INCLUSION_TARGET, includedResources)
+                                             .withAttribute(DocumentMetrics.ATTRIBUTE, metrics)
+                                             .withAttribute(OutputGuard.ATTRIBUTE, guard);
+
+        DefaultSerializerProvider chunkProvider = provider.createInstance(config, mapper.getSerializerFactory());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        try (JsonGenerator chunk = createGenerator(json, buffer, config)) {
+            // opens the same structure as the document generator, so the resource objects are written as array elements
+            for (JsonStreamContext context : enclosingContexts) {
+                if (context.inArray()) {
+                    chunk.writeStartArray();
+                } else {
+                    chunk.writeStartObject();
+                    chunk.writeFieldName(context.getCurrentName());
+                }
+            }
+
+            chunk.setPrettyPrinter(copyPrettyPrinter(json));
+
+            // the separator which precedes the resource objects is determined from two placeholders
+            chunk.writeNull();
+            chunk.flush();
+            int placeholderStart = buffer.size();
+            chunk.writeNull();
+            chunk.flush();
+            int start = buffer.size() + (buffer.size() - placeholderStart - "null".length());
+            if (guard != null)
+                guard.startBuffer(chunk);
+
+            for (int i = from; i < to; i++) {
+                chunkProvider.defaultSerializeValue(data[i], chunk);
+            }
+
+            chunk.flush();
+            byte[] bytes = buffer.toByteArray();
+            RawJsonValue content = new RawJsonValue(Arrays.copyOfRange(bytes, start, bytes.length));
+            if (guard != null)
+                guard.endBuffer(chunk, content);
+
+            return new Chunk(content, includedResources);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * @param json   the generator of the document.
+     * @param buffer the buffer into which a part of the document is written.
+     * @param config the configuration of the active serialization.
+     * @return a generator without pretty printer, which uses the same features and character escapes as the
+     *         generator of the document.
+     */
+    static JsonGenerator createGenerator(JsonGenerator json, ByteArrayOutputStream buffer, SerializationConfig config)
+            throws IOException {
+        JsonGenerator chunk = json.getCodec().getFactory().createGenerator(buffer, JsonEncoding.UTF8);
+        config.initialize(chunk);
+        chunk.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        chunk.setCharacterEscapes(json.getCharacterEscapes());
+        chunk.setHighestNonEscapedChar(json.getHighestEscapedChar());
+        chunk.setPrettyPrinter(null);
+        return chunk;
+    }
+
+    /**
+     * @param json the generator of the document.
+     * @return a copy of the pretty printer of the document generator or {@code null}, if the output is not indented.
+     *         A copy of a {@link com.fasterxml.jackson.core.util.DefaultPrettyPrinter} has the current nesting level
+     *         of the original.
+     */
+    static PrettyPrinter copyPrettyPrinter(JsonGenerator json) {
+        PrettyPrinter prettyPrinter = json.getPrettyPrinter();
+        if (prettyPrinter instanceof Instantiatable<?> instantiatable)
+            return (PrettyPrinter) instantiatable.createInstance();
+
+        return prettyPrinter;
+    }
+
+    private static Chunk join(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private record Chunk(RawJsonValue json, JsonApiDocument includedResources) {}
+}
@@ -0,0 +1,264 @@
+package cloud.codestore.jsonapi.internal;
+
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the value of an attribute or relationship property.
+ * The field or getter of the property is made accessible once and unreflected into a {@link MethodHandle}.
+ * The handle is bound to a {@code static final} field of a hidden class, which implements {@link Getter}.
+ * Thus, the JIT treats the handle as a constant and inlines the field access or getter call into {@link #get(Object)}.
+ * If no hidden class can be defined, for example in a native image, the value is read by the {@link BeanPropertyWriter}.
+ */
+final class PropertyAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final byte[] GETTER_CLASS = GetterClassWriter.write();
+
+    private final String name;
+    private final Getter getter;
+
+    private PropertyAccessor(String name, Getter getter) {
+        this.name = name;
+        this.getter = getter;
+    }
+
+    /**
+     * @param property a property of a resource object.
+     * @return an accessor for the given property.
+     */
+    static PropertyAccessor of(BeanPropertyWriter property) {
+        AnnotatedMember annotatedMember = property.getMember();
+        annotatedMember.fixAccess(true);
+
+        Getter getter = null;
+        try {
+            Member member = annotatedMember.getMember();
+            if (member instanceof Field field)
+                getter = defineGetter(MethodHandles.lookup().unreflectGetter(field));
+            else if (member instanceof Method method && method.getParameterCount() == 0)
+                getter = defineGetter(MethodHandles.lookup().unreflect(method));
+        } catch (IllegalAccessException exception) {
+            // the member is not accessible to this module, so it is read by the property writer
+        }
+
+        return new PropertyAccessor(property.getName(), getter == null ? property::get : getter);
+    }
+
+    /**
+     * @return a new instance of a hidden class which invokes the given handle or {@code null},
+     *         if hidden classes are not supported.
+     */
+    private static Getter defineGetter(MethodHandle handle) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup()
+                                                       .defineHiddenClassWithClassData(GETTER_CLASS, handle.asType(GETTER_TYPE), true);
+
+            return (Getter) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable throwable) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the name of the property.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @param bean the resource object.
+     * @return the value of the property.
+     */
+    Object get(Object bean) throws Exception {
+        return getter.get(bean);
+    }
+
+    /**
+     * Reads the value of a single property.
+     */
+    interface Getter {
+        Object get(Object bean) throws Exception;
+    }
+
+    /**
+     * Writes the class file of the hidden {@link Getter} implementation, which is equivalent to
+     * <pre>{@code
+     * final class PropertyAccessor$Hidden implements PropertyAccessor.Getter {
+     *     private static final MethodHandle HANDLE = (MethodHandle) MethodHandles.classData(MethodHandles.lookup(), "_", MethodHandle.class);
+     *
+     *     public Object get(Object bean) {
+     *         return HANDLE.invokeExact(bean);
+     *     }
+     * }
+     * }</pre>
+     * The code contains no branches, so the class file does not need stack map frames.
+     */
+    private static class GetterClassWriter {
+        private static final int VERSION = 61;
+        private static final int ACC_PUBLIC = 0x0001;
+        private static final int ACC_PRIVATE = 0x0002;
+        private static final int ACC_STATIC = 0x0008;
+        private static final int ACC_FINAL = 0x0010;
+        private static final int ACC_SUPER = 0x0020;
+
+        private final Map<String, Integer> constants = new LinkedHashMap<>();
+        private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+        private final DataOutputStream pool = new DataOutputStream(constantPool);
+        private int constantCount = 1;
+
+        static byte[] write() {
+            try {
+                return new GetterClassWriter().writeClass();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        private byte[] writeClass() throws IOException {
+            String methodHandle = "java/lang/invoke/MethodHandle";
+            String methodHandles = "java/lang/invoke/MethodHandles";
+            String lookup = "java/lang/invoke/MethodHandles$Lookup";
+
+            int thisClass = classConstant(PropertyAccessor.class.getName().replace('.', '/') + "$Hidden");
+            int superClass = classConstant("java/lang/Object");
+            int getterInterface = classConstant(Getter.class.getName().replace('.', '/'));
+            int handleField = memberConstant(9, thisClass, "HANDLE", "L" + methodHandle + ";");
+            int lookupMethod = memberConstant(10, classConstant(methodHandles), "lookup", "()L" + lookup + ";");
+            int classDataMethod = memberConstant(
+                    10, classConstant(methodHandles), "classData",
+                    "(L" + lookup + ";Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;"
+            );
+            int classDataName = constant("String:_", 8, utf8("_"));
+            int handleClass = classConstant(methodHandle);
+            int invokeExact = memberConstant(10, handleClass, "invokeExact", "(Ljava/lang/Object;)Ljava/lang/Object;");
+            int objectConstructor = memberConstant(10, superClass, "<init>", "()V");
+            int code = utf8("Code");
+            int fieldName = utf8("HANDLE");
+            int fieldDescriptor = utf8("L" + methodHandle + ";");
+            int staticInitializer = utf8("<clinit>");
+            int constructor = utf8("<init>");
+            int voidDescriptor = utf8("()V");
+            int getName = utf8("get");
+            int getDescriptor = utf8("(Ljava/lang/Object;)Ljava/lang/Object;");
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(VERSION);
+
+            out.writeShort(constantCount);
+            constantPool.writeTo(out);
+            out.writeShort(ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(getterInterface);
+
+            out.writeShort(1);
+            out.writeShort(ACC_PRIVATE | ACC_STATIC | ACC_FINAL);
+            out.writeShort(fieldName);
+            out.writeShort(fieldDescriptor);
+            out.writeShort(0);
+
+            out.writeShort(3);
+            writeMethod(out, ACC_STATIC, staticInitializer, voidDescriptor, code, 3, 0,
+                    0xB8, lookupMethod >> 8, lookupMethod,          // invokestatic MethodHandles.lookup()
+                    0x13, classDataName >> 8, classDataName,        // ldc_w "_"
+                    0x13, handleClass >> 8, handleClass,            // ldc_w MethodHandle.class
+                    0xB8, classDataMethod >> 8, classDataMethod,    // invokestatic MethodHandles.classData(...)
+                    0xC0, handleClass >> 8, handleClass,            // checkcast MethodHandle
+                    0xB3, handleField >> 8, handleField,            // putstatic HANDLE
+                    0xB1                                            // return
+            );
+            writeMethod(out, 0, constructor, voidDescriptor, code, 1, 1,
+                    0x2A,                                               // aload_0
+                    0xB7, objectConstructor >> 8, objectConstructor,    // invokespecial Object.<init>()
+                    0xB1                                                // return
+            );
+            writeMethod(out, ACC_PUBLIC, getName, getDescriptor, code, 2, 2,
+                    0xB2, handleField >> 8, handleField,    // getstatic HANDLE
+                    0x2B,                                   // aload_1
+                    0xB6, invokeExact >> 8, invokeExact,    // invokevirtual MethodHandle.invokeExact(Object)
+                    0xB0                                    // areturn
+            );
+
+            out.writeShort(0);
+            return bytes.toByteArray();
+        }
+
+        private static void writeMethod(
+                DataOutputStream out, int access, int name, int descriptor, int codeAttribute,
+                int maxStack, int maxLocals, int... instructions
+        ) throws IOException {
+            out.writeShort(access);
+            out.writeShort(name);
+            out.writeShort(descriptor);
+            out.writeShort(1);
+            out.writeShort(codeAttribute);
+            out.writeInt(12 + instructions.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(instructions.length);
+            for (int instruction : instructions) {
+                out.writeByte(instruction);
+            }
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+
+        private int utf8(String value) throws IOException {
+            Integer index = constants.get("Utf8:" + value);
+            if (index != null)
+                return index;
+
+            pool.writeByte(1);
+            pool.writeUTF(value);
+            return register("Utf8:" + value);
+        }
+
+        private int classConstant(String name) throws IOException {
+            return constant("Class:" + name, 7, utf8(name));
+        }
+
+        private int memberConstant(int tag, int owner, String name, String descriptor) throws IOException {
+            int nameAndType = nameAndType(name, descriptor);
+            return constant(tag + ":" + owner + "." + name + descriptor, tag, owner, nameAndType);
+        }
+
+        private int nameAndType(String name, String descriptor) throws IOException {
+            return constant("NameAndType:" + name + descriptor, 12, utf8(name), utf8(descriptor));
+        }
+
+        private int constant(String key, int tag, int... references) throws IOException {
+            Integer index = constants.get(key);
+            if (index != null)
+                return index;
+
+            pool.writeByte(tag);
+            for (int reference : references) {
+                pool.writeShort(reference);
+            }
+            return register(key);
+        }
+
+        private int register(String key) {
+            constants.put(key, constantCount);
+            return constantCount++;
+        }
+    }
+}
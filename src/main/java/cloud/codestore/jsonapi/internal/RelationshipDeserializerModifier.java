@@ -18,6 +18,18 @@ import java.io.IOException;
  * with the correct generic type of the related {@link ResourceObject}.
  */
 public class RelationshipDeserializerModifier extends BeanDeserializerModifier {
+    /**
+     * Name of the deserialization attribute which holds the {@link JsonApiDocument} of relationships
+     * that are deserialized outside the document, for example when binding resource objects in parallel.
+     */
+    static final String DOCUMENT = RelationshipDeserializerModifier.class.getName() + ".document";
+
+    private final JsonApiConfiguration configuration;
+
+    public RelationshipDeserializerModifier(JsonApiConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
     @Override
     public JsonDeserializer<?> modifyDeserializer(
             DeserializationConfig config, BeanDescription beanDescription, JsonDeserializer<?> deserializer
@@ -27,7 +39,7 @@ public class RelationshipDeserializerModifier extends BeanDeserializerModifier {
             JavaType javaType = beanDescription.getType().containedType(0);
             Class<?> relatedResourceType = javaType == null ? ResourceObject.class : javaType.getRawClass();
             if (ResourceObject.class.isAssignableFrom(relatedResourceType)) {
-                return new RelationshipDeserializer(deserializer, beanClass, (Class<? extends ResourceObject>) relatedResourceType);
+                return new RelationshipDeserializer(deserializer, beanClass, (Class<? extends ResourceObject>) relatedResourceType, configuration);
             } else {
                 throw new ClassCastException(relatedResourceType + " is not a subtype of " + ResourceObject.class);
             }
@@ -42,16 +54,21 @@ public class RelationshipDeserializerModifier extends BeanDeserializerModifier {
     private static class RelationshipDeserializer extends DelegatingDeserializer {
         private final Class<?> beanClass;
         private final Class<? extends ResourceObject> relatedType;
+        private final JsonApiConfiguration configuration;
 
-        RelationshipDeserializer(JsonDeserializer<?> deserializer, Class<?> beanClass, Class<? extends ResourceObject> relatedType) {
+        RelationshipDeserializer(
+                JsonDeserializer<?> deserializer, Class<?> beanClass, Class<? extends ResourceObject> relatedType,
+                JsonApiConfiguration configuration
+        ) {
             super(deserializer);
             this.beanClass = beanClass;
             this.relatedType = relatedType;
+            this.configuration = configuration;
         }
 
         @Override
         protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> jsonDeserializer) {
-            return new RelationshipDeserializer(jsonDeserializer, beanClass, relatedType);
+            return new RelationshipDeserializer(jsonDeserializer, beanClass, relatedType, configuration);
         }
 
         @Override
@@ -67,9 +84,20 @@ public class RelationshipDeserializerModifier extends BeanDeserializerModifier {
 
             if (containsResourceLinkage) {
                 JsonApiDocument parent = getParent(parser.getParsingContext().getParent());
+                if (parent == null) {
+                    parent = (JsonApiDocument) context.getAttribute(DOCUMENT);
+                }
                 if (parent != null) {
                     parent.addRelationshipBacklink(relationship);
                 }
+
+                if (configuration.isNumericIds()) {
+                    if (relationship instanceof DeserializedToOneRelationship<?> toOneRelationship) {
+                        toOneRelationship.parseNumericId();
+                    } else if (relationship instanceof DeserializedToManyRelationship<?> toManyRelationship) {
+                        toManyRelationship.compactLinkage();
+                    }
+                }
             }
 
             return relationship;
@@ -91,19 +119,17 @@ public class RelationshipDeserializerModifier extends BeanDeserializerModifier {
          * @return the {@link JsonApiDocument} which contains the currently parsed {@link Relationship}.
          */
         private JsonApiDocument getParent(JsonStreamContext parentStreamContext) {
-            if (parentStreamContext == null) {
-                return null;
-            }
-
-            Object parent = parentStreamContext.getCurrentValue();
-            if (parent instanceof JsonApiDocument jsonApiDocument) {
-                return jsonApiDocument;
-            } else if (parent instanceof ResourceObject resourceObject) {
-                if (resourceObject.getParent() != null)
-                    return resourceObject.getParent();
+            for (JsonStreamContext streamContext = parentStreamContext; streamContext != null; streamContext = streamContext.getParent()) {
+                Object parent = streamContext.getCurrentValue();
+                if (parent instanceof JsonApiDocument jsonApiDocument) {
+                    return jsonApiDocument;
+                } else if (parent instanceof ResourceObject resourceObject) {
+                    if (resourceObject.getParent() != null)
+                        return resourceObject.getParent();
+                }
             }
 
-            return getParent(parentStreamContext.getParent());
+            return null;
         }
 
         private static boolean isToOneRelationship(Class<?> type) {
@@ -4,63 +4,109 @@ import cloud.codestore.jsonapi.relationship.Relationship;
 import cloud.codestore.jsonapi.resource.ResourceIdentifierObject;
 import cloud.codestore.jsonapi.resource.ResourceObject;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * This class links included {@link ResourceObject resource objects} to their corresponding
  * {@link Relationship relationships} during deserialization.
  */
 class RelationshipLinker {
+    private final boolean numericIds;
+
+    /**
+     * @param numericIds whether numeric ids are looked up as {@code long} values.
+     */
+    RelationshipLinker(boolean numericIds) {
+        this.numericIds = numericIds;
+    }
+
     /**
      * @param relationships     all {@link Relationship relationships} inside the JSON:API document.
      * @param includedResources all included {@link ResourceObject resource objects} inside the JSON:API document.
      */
     void link(List<Relationship> relationships, List<ResourceObject> includedResources) {
         if (!includedResources.isEmpty()) {
-            Map<ResourceIdentifierObject, ResourceObject> resourceMap = toMap(includedResources);
+            JsonApiEvents.Link event = JsonApiEvents.AVAILABLE ? new JsonApiEvents.Link() : null;
+            if (event != null)
+                event.begin();
+
+            ResourceIndex<ResourceObject> resourceIndex = toIndex(includedResources);
             for (Relationship relationship : relationships) {
                 if (relationship instanceof DeserializedToOneRelationship<?> toOneRelationship) {
-                    bindIncludedResourcesToRelationship(resourceMap, toOneRelationship);
+                    bindIncludedResourcesToRelationship(resourceIndex, toOneRelationship);
                 } else if (relationship instanceof DeserializedToManyRelationship<?> toManyRelationship) {
-                    bindIncludedResourcesToRelationship(resourceMap, toManyRelationship);
+                    bindIncludedResourcesToRelationship(resourceIndex, toManyRelationship);
+                }
+            }
+
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.relationships = relationships.size();
+                    event.includedResources = includedResources.size();
+                    event.commit();
                 }
             }
         }
     }
 
-    private Map<ResourceIdentifierObject, ResourceObject> toMap(List<ResourceObject> resourceObjects) {
-        return resourceObjects.stream().collect(Collectors.toMap(
-                ResourceObject::getIdentifier,
-                resourceObject -> resourceObject
-        ));
+    private ResourceIndex<ResourceObject> toIndex(List<ResourceObject> resourceObjects) {
+        ResourceIndex<ResourceObject> resourceIndex = new ResourceIndex<>(numericIds);
+        for (ResourceObject resourceObject : resourceObjects) {
+            resourceIndex.putIfAbsent(resourceObject.getType(), resourceObject.getId(), resourceObject);
+        }
+
+        return resourceIndex;
     }
 
     private void bindIncludedResourcesToRelationship(
-            Map<ResourceIdentifierObject, ResourceObject> includedResources,
+            ResourceIndex<ResourceObject> includedResources,
             DeserializedToOneRelationship<?> relationship
     ) {
-        ResourceIdentifierObject identifier = relationship.getData();
-        ResourceObject resourceObject = includedResources.get(identifier);
+        ResourceObject resourceObject = relationship.getNumericId() < 0
+                ? lookup(includedResources, relationship.getData())
+                : includedResources.get(relationship.getData().getType(), relationship.getNumericId());
+
         if (resourceObject != null)
             relationship.setRelatedResource(resourceObject);
     }
 
     private void bindIncludedResourcesToRelationship(
-            Map<ResourceIdentifierObject, ResourceObject> includedResources,
+            ResourceIndex<ResourceObject> includedResources,
             DeserializedToManyRelationship<?> relationship
     ) {
+        long[] linkageIds = relationship.getLinkageIds();
+        if (linkageIds != null) {
+            String[] linkageTypes = relationship.getLinkageTypes();
+            List<ResourceObject> relatedObjects = new ArrayList<>(linkageIds.length);
+            for (int i = 0; i < linkageIds.length; i++) {
+                ResourceObject resourceObject = includedResources.get(linkageTypes[i], linkageIds[i]);
+                if (resourceObject != null)
+                    relatedObjects.add(resourceObject);
+            }
+
+            relationship.setRelatedResource(relatedObjects);
+            return;
+        }
+
         ResourceIdentifierObject[] resourceIdentifiers = relationship.getData();
         if (resourceIdentifiers != null) {
-            List<ResourceObject> relatedObjects = Arrays.stream(resourceIdentifiers)
-                    .map(includedResources::get)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+            List<ResourceObject> relatedObjects = new ArrayList<>(resourceIdentifiers.length);
+            for (ResourceIdentifierObject resourceIdentifier : resourceIdentifiers) {
+                ResourceObject resourceObject = lookup(includedResources, resourceIdentifier);
+                if (resourceObject != null)
+                    relatedObjects.add(resourceObject);
+            }
 
             relationship.setRelatedResource(relatedObjects);
         }
     }
+
+    private ResourceObject lookup(ResourceIndex<ResourceObject> includedResources, ResourceIdentifierObject identifier) {
+        if (identifier == null || identifier.getLid() != null)
+            return null;
+
+        return includedResources.get(identifier.getType(), identifier.getId());
+    }
 }
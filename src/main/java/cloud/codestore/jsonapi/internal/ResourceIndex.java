@@ -0,0 +1,160 @@
+package cloud.codestore.jsonapi.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An index of values by the type and id of resource objects.
+ * If numeric ids are enabled, ids which can be converted to a {@code long} and back without any loss
+ * are held in a primitive hash table per type. Thus, looking up an already parsed id by {@link #get(String, long)}
+ * neither creates a key object nor computes the hash code of the id string.
+ * All other ids are held in a regular {@link HashMap}.
+ *
+ * @param <V> the type of the indexed values.
+ */
+class ResourceIndex<V> {
+    private final boolean numericIds;
+    private final Map<String, TypeIndex<V>> types = new HashMap<>();
+
+    /**
+     * @param numericIds whether numeric ids are held in primitive hash tables.
+     */
+    ResourceIndex(boolean numericIds) {
+        this.numericIds = numericIds;
+    }
+
+    /**
+     * @param type the type of a resource object.
+     * @param id   the id of a resource object.
+     * @return the value of the resource object with the given type and id or {@code null}, if there is no such value.
+     */
+    V get(String type, String id) {
+        if (type == null || id == null)
+            return null;
+
+        if (numericIds && isNumeric(id))
+            return get(type, Long.parseLong(id));
+
+        TypeIndex<V> index = types.get(type);
+        return index == null || index.otherIds == null ? null : index.otherIds.get(id);
+    }
+
+    /**
+     * @param type the type of a resource object.
+     * @param id   the numeric id of a resource object, which was checked by {@link #isNumeric(String)} before.
+     * @return the value of the resource object with the given type and id or {@code null}, if there is no such value.
+     */
+    V get(String type, long id) {
+        TypeIndex<V> index = types.get(type);
+        return index == null ? null : index.numericIds.get(id);
+    }
+
+    /**
+     * Adds the value of a resource object if there is no value for the same type and id yet.
+     * Values without a type or id are never added.
+     *
+     * @param type  the type of a resource object.
+     * @param id    the id of a resource object.
+     * @param value the value to add.
+     * @return the existing value for the type and id or {@code null}, if the value was added.
+     */
+    V putIfAbsent(String type, String id, V value) {
+        if (type == null || id == null)
+            return null;
+
+        TypeIndex<V> index = types.computeIfAbsent(type, key -> new TypeIndex<>());
+        if (numericIds && isNumeric(id))
+            return index.numericIds.putIfAbsent(Long.parseLong(id), value);
+
+        if (index.otherIds == null)
+            index.otherIds = new HashMap<>();
+
+        return index.otherIds.putIfAbsent(id, value);
+    }
+
+    /**
+     * @param id the id of a resource object.
+     * @return {@code true}, if the id is a decimal number which is converted to the same string by {@link Long#toString(long)}.
+     */
+    static boolean isNumeric(String id) {
+        int length = id.length();
+        if (length == 0 || length > 19 || (id.charAt(0) == '0' && length > 1))
+            return false;
+
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9')
+                return false;
+        }
+
+        // 19 digits may exceed Long.MAX_VALUE
+        return length < 19 || id.compareTo("9223372036854775807") <= 0;
+    }
+
+    private static class TypeIndex<V> {
+        private final LongIndex<V> numericIds = new LongIndex<>();
+        private Map<String, V> otherIds;
+    }
+
+    /**
+     * A hash table with open addressing and linear probing for non-null values with {@code long} keys.
+     */
+    private static class LongIndex<V> {
+        private long[] keys = new long[16];
+        private Object[] values = new Object[16];
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        V get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key)
+                    return (V) values[i];
+            }
+
+            return null;
+        }
+
+        V putIfAbsent(long key, V value) {
+            V existingValue = get(key);
+            if (existingValue != null)
+                return existingValue;
+
+            if (2 * (size + 1) > keys.length)
+                resize();
+
+            insert(key, value);
+            size++;
+            return null;
+        }
+
+        private void insert(long key, Object value) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Object[oldValues.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null)
+                    insert(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int hash(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            return (int) key;
+        }
+    }
+}
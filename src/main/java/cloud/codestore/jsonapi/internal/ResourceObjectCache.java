@@ -0,0 +1,99 @@
+package cloud.codestore.jsonapi.internal;
+
+import com.fasterxml.jackson.core.PrettyPrinter;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of serialized resource objects.
+ * The entries are distributed over several segments by the hash code of their keys, so threads which access
+ * different segments do not block each other. If a segment is full, its least recently used entry is evicted.
+ */
+class ResourceObjectCache {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    ResourceObjectCache(int maximumSize) {
+        int segmentCount = Math.min(MAX_SEGMENTS, maximumSize);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // the remainder is distributed over the first segments, so the total size is exactly the maximum size
+            segments[i] = new Segment(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    RawJsonValue get(Key key) {
+        Segment segment = segmentOf(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    void put(Key key, RawJsonValue json) {
+        Segment segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, json);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+    private Segment segmentOf(Key key) {
+        int hash = key.hashCode();
+        return segments[Math.floorMod(hash ^ (hash >>> 16), segments.length)];
+    }
+
+    /**
+     * @param type      the type of the resource object.
+     * @param id        the id of the resource object.
+     * @param version   the version of the resource object.
+     * @param inclusion whether the resource object was serialized with an inclusion target.
+     *                  The relationships are serialized differently in this case.
+     * @param format    the configuration which was used to serialize the resource object.
+     */
+    record Key(String type, String id, String version, boolean inclusion, Format format) {}
+
+    /**
+     * The configuration of a serialization which affects the JSON of a resource object.
+     * A cached resource object is only reused by serializations with the same configuration.
+     *
+     * @param view                   the active view or {@code null}.
+     * @param serializationFeatures  the enabled {@link com.fasterxml.jackson.databind.SerializationFeature}s.
+     * @param generatorFeatures      the enabled {@link com.fasterxml.jackson.core.JsonGenerator.Feature}s.
+     * @param prettyPrinter          the class of the {@link PrettyPrinter} or {@code null}.
+     * @param characterEscapes       the class of the {@link CharacterEscapes} or {@code null}.
+     * @param highestNonEscapedChar  the highest character which is not escaped.
+     * @param nestingDepth           the nesting depth of the resource object, which determines its indentation.
+     * @param canonical              whether the canonical output mode is enabled.
+     */
+    record Format(
+            Class<?> view, int serializationFeatures, int generatorFeatures, Class<?> prettyPrinter,
+            Class<?> characterEscapes, int highestNonEscapedChar, int nestingDepth, boolean canonical
+    ) {}
+
+    private static class Segment extends LinkedHashMap<Key, RawJsonValue> {
+        private final int maximumSize;
+
+        Segment(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, RawJsonValue> eldest) {
+            return size() > maximumSize;
+        }
+    }
+}
@@ -1,17 +1,34 @@
 package cloud.codestore.jsonapi.internal;
 
+import cloud.codestore.jsonapi.DocumentStatistics;
+import cloud.codestore.jsonapi.JsonApiMetricsListener;
 import cloud.codestore.jsonapi.document.JsonApiDocument;
 import cloud.codestore.jsonapi.meta.MetaDeserializer;
+import cloud.codestore.jsonapi.resource.GenericResourceObject;
+import cloud.codestore.jsonapi.resource.LazyResourceObject;
+import cloud.codestore.jsonapi.resource.ResourceObject;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
 import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
 import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClassResolver;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.node.TextNode;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Unwraps the "attributes" and "relationship" objects of all resource objects in a JSON:API document.
@@ -19,12 +36,22 @@ import java.util.Map;
  * {@link MetaDeserializer} would get lost.
  */
 public class ResourceObjectDeserializerModifier extends BeanDeserializerModifier {
+    private final JsonApiConfiguration configuration;
+
+    public ResourceObjectDeserializerModifier() {
+        this(new JsonApiConfiguration());
+    }
+
+    public ResourceObjectDeserializerModifier(JsonApiConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
     @Override
     public JsonDeserializer<?> modifyDeserializer(
             DeserializationConfig config, BeanDescription beanDescription, JsonDeserializer<?> deserializer
     ) {
         if (isJsonApiDocument(beanDescription.getBeanClass())) {
-            return new FieldUnwrappingDeserializer(deserializer);
+            return new FieldUnwrappingDeserializer(deserializer, configuration);
         } else {
             return deserializer;
         }
@@ -36,31 +63,223 @@ public class ResourceObjectDeserializerModifier extends BeanDeserializerModifier
 
     /**
      * A deserializer which unwraps the "attributes" and "relationships" object.
+     * <br/><br/>
+     * If parallel deserialization is enabled, large "data" and "included" arrays are removed from the unwrapped
+     * document and bound by a {@link ParallelDataDeserializer} after the rest of the document was deserialized.
+     * <br/><br/>
+     * The "attributes" objects of {@link LazyResourceObject}s are not unwrapped, but retained as embedded objects,
+     * so they are passed to the resource objects without being copied or bound.
+     * If generic resource objects are enabled, the "attributes" and "relationships" objects of resource objects
+     * with unknown types are not unwrapped, because they are bound into a {@link GenericResourceObject} by name.
+     * <br/><br/>
+     * If string canonicalization is enabled, equal types and ids share the same strings, see {@link StringCanonicalizer}.
+     * <br/><br/>
+     * Since this is the outermost deserializer of a document, it records the {@link JsonApiEvents.DocumentRead} event
+     * and reports the {@link DocumentMetrics} to the {@link JsonApiMetricsListener}, if there is one.
      */
     private static class FieldUnwrappingDeserializer extends DelegatingDeserializer {
+        private static final String[] PARALLEL_PROPERTIES = {"data", "included"};
+
+        private final JsonApiConfiguration configuration;
+        private volatile Map<String, TextNode> resourceTypes;
+        private volatile Set<String> lazyTypes;
 
-        FieldUnwrappingDeserializer(JsonDeserializer<?> deserializer) {
+        FieldUnwrappingDeserializer(JsonDeserializer<?> deserializer, JsonApiConfiguration configuration) {
             super(deserializer);
+            this.configuration = configuration;
         }
 
         @Override
         protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> jsonDeserializer) {
-            return new FieldUnwrappingDeserializer(jsonDeserializer);
+            return new FieldUnwrappingDeserializer(jsonDeserializer, configuration);
         }
 
         @Override
         public Object deserialize(JsonParser jsonParser, DeserializationContext context) throws IOException {
-            return super.deserialize(unwrapAttributesAndRelationships(jsonParser), context);
-        }
+            JsonApiEvents.DocumentRead readEvent = JsonApiEvents.AVAILABLE ? new JsonApiEvents.DocumentRead() : null;
+            if (readEvent != null)
+                readEvent.begin();
+            long startNanos = System.nanoTime();
+            long start = JsonApiEvents.offset(jsonParser.currentTokenLocation());
+            ObjectNode rootNode = DocumentLimitValidator.readTree(jsonParser, configuration.getDocumentLimits());
+            long length = JsonApiEvents.length(context, start, JsonApiEvents.offset(jsonParser.currentLocation()));
+            DocumentLimitValidator.validate(configuration.getDocumentLimits(), length, jsonParser);
+            resolveResourceTypes(context);
 
-        private JsonParser unwrapAttributesAndRelationships(JsonParser jsonParser) throws IOException {
-            ObjectNode rootNode = jsonParser.readValueAsTree();
+            JsonApiMetricsListener listener = configuration.getMetricsListener();
+            DocumentMetrics metrics = null;
+            if (listener != null) {
+                metrics = new DocumentMetrics();
+                metrics.recordIncludeDepth(DocumentMetrics.includeDepth(rootNode));
+                context.setAttribute(DocumentMetrics.ATTRIBUTE, metrics);
+            }
+
+            JsonApiEvents.Unwrap event = JsonApiEvents.AVAILABLE ? new JsonApiEvents.Unwrap() : null;
+            if (event != null)
+                event.begin();
+            long unwrapStart = System.nanoTime();
             visit(rootNode);
+            if (configuration.isStringCanonicalization()) {
+                new StringCanonicalizer(resourceTypes, configuration.isIdDeduplication()).canonicalize(rootNode);
+            }
+
+            long bindStart = System.nanoTime();
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.resources = count(rootNode.get("data"));
+                    event.includedResources = count(rootNode.get("included"));
+                    event.commit();
+                }
+            }
+
+            ArrayNode[] parallelArrays = removeParallelArrays(rootNode);
+            Object document;
+            if (parallelArrays == null) {
+                document = super.deserialize(asTokens(jsonParser, rootNode), context);
+            } else {
+                context.setAttribute(JsonApiDeserializerModifier.DEFER_LINKING, Boolean.TRUE);
+                try {
+                    document = super.deserialize(asTokens(jsonParser, rootNode), context);
+                } finally {
+                    context.setAttribute(JsonApiDeserializerModifier.DEFER_LINKING, null);
+                }
+
+                bindInParallel((ObjectMapper) jsonParser.getCodec(), parallelArrays, (JsonApiDocument) document, metrics);
+                JsonApiDeserializerModifier.link((JsonApiDocument) document, context, configuration);
+            }
+
+            if (metrics != null) {
+                long end = System.nanoTime();
+                JsonApiDocument jsonApiDocument = (JsonApiDocument) document;
+                metrics.addNanos(DocumentStatistics.Phase.UNWRAP, bindStart - unwrapStart);
+                metrics.addNanos(DocumentStatistics.Phase.BIND, end - bindStart - metrics.getNanos(DocumentStatistics.Phase.LINK));
+                metrics.addNanos(DocumentStatistics.Phase.TOTAL, end - startNanos);
+                metrics.addRelationships(jsonApiDocument.getRelationshipBacklinks().size());
+                listener.documentRead(metrics.toStatistics(jsonApiDocument, length));
+            }
+
+            if (readEvent != null) {
+                readEvent.end();
+                if (readEvent.shouldCommit()) {
+                    JsonApiDocument jsonApiDocument = (JsonApiDocument) document;
+                    readEvent.documentType = document.getClass().getName();
+                    readEvent.resources = JsonApiEvents.countPrimaryData(jsonApiDocument);
+                    readEvent.includedResources = jsonApiDocument.getIncludedResources().size();
+                    readEvent.length = length;
+                    readEvent.commit();
+                }
+            }
+
+            return document;
+        }
+
+        private static int count(JsonNode data) {
+            if (data == null || data.isNull())
+                return 0;
+
+            return data.isArray() ? data.size() : 1;
+        }
+
+        /**
+         * Collects the type names of all registered resource objects and {@link LazyResourceObject}s.
+         * Like the subtypes of Jackson´s type deserializers, they are resolved only once.
+         */
+        private void resolveResourceTypes(DeserializationContext context) {
+            if (lazyTypes == null) {
+                DeserializationConfig config = context.getConfig();
+                AnnotatedClass resourceObjectClass = AnnotatedClassResolver.resolveWithoutSuperTypes(config, ResourceObject.class);
+                List<NamedType> types = config.getSubtypeResolver()
+                                              .collectAndResolveSubtypesByTypeId(config, resourceObjectClass)
+                                              .stream()
+                                              .filter(NamedType::hasName)
+                                              .toList();
+
+                resourceTypes = types.stream()
+                                     .map(NamedType::getName)
+                                     .distinct()
+                                     .collect(Collectors.toUnmodifiableMap(name -> name, TextNode::valueOf));
+                lazyTypes = types.stream()
+                                 .filter(type -> LazyResourceObject.class.isAssignableFrom(type.getType()))
+                                 .map(NamedType::getName)
+                                 .collect(Collectors.toUnmodifiableSet());
+            }
+        }
+
+        private JsonParser asTokens(JsonParser jsonParser, ObjectNode rootNode) throws IOException {
             JsonParser newJsonParser = jsonParser.getCodec().treeAsTokens(rootNode);
             newJsonParser.nextToken();
             return newJsonParser;
         }
 
+        /**
+         * @return the removed arrays in the order of {@link #PARALLEL_PROPERTIES} or {@code null}
+         * if no array is large enough to be bound in parallel.
+         */
+        private ArrayNode[] removeParallelArrays(ObjectNode rootNode) {
+            BeanDeserializerBase beanDeserializer = getBeanDeserializer();
+            if (beanDeserializer == null) {
+                return null;
+            }
+
+            ArrayNode[] arrays = new ArrayNode[PARALLEL_PROPERTIES.length];
+            boolean found = false;
+            for (int i = 0; i < PARALLEL_PROPERTIES.length; i++) {
+                JsonNode node = rootNode.get(PARALLEL_PROPERTIES[i]);
+                SettableBeanProperty property = beanDeserializer.findProperty(PARALLEL_PROPERTIES[i]);
+                if (node != null && node.isArray() && property != null && property.getType().isContainerType()
+                    && configuration.deserializeInParallel(node.size())) {
+                    arrays[i] = (ArrayNode) rootNode.remove(PARALLEL_PROPERTIES[i]);
+                    found = true;
+                }
+            }
+
+            return found ? arrays : null;
+        }
+
+        /**
+         * @return the bean deserializer of the document, which may be wrapped by other delegating deserializers,
+         *         or {@code null} if the document is not deserialized by a bean deserializer.
+         */
+        private BeanDeserializerBase getBeanDeserializer() {
+            JsonDeserializer<?> deserializer = _delegatee;
+            while (deserializer instanceof DelegatingDeserializer delegatingDeserializer) {
+                deserializer = delegatingDeserializer.getDelegatee();
+            }
+
+            return deserializer instanceof BeanDeserializerBase beanDeserializer ? beanDeserializer : null;
+        }
+
+        private void bindInParallel(
+                ObjectMapper mapper, ArrayNode[] arrays, JsonApiDocument document, DocumentMetrics metrics
+        ) throws IOException {
+            ParallelDataDeserializer deserializer = new ParallelDataDeserializer(
+                    mapper,
+                    configuration.getParallelDeserializationChunkSize(),
+                    configuration.getParallelDeserializationPool(),
+                    metrics
+            );
+
+            for (int i = 0; i < arrays.length; i++) {
+                if (arrays[i] != null) {
+                    SettableBeanProperty property = getBeanDeserializer().findProperty(PARALLEL_PROPERTIES[i]);
+                    JavaType elementType = property.getType().getContentType();
+                    Object[] values = deserializer.deserialize(PARALLEL_PROPERTIES[i], arrays[i], elementType, document);
+                    property.set(document, toPropertyValue(property.getType(), values));
+                }
+            }
+        }
+
+        private Object toPropertyValue(JavaType propertyType, Object[] values) {
+            if (propertyType.isArrayType()) {
+                Object array = Array.newInstance(propertyType.getContentType().getRawClass(), values.length);
+                System.arraycopy(values, 0, array, 0, values.length);
+                return array;
+            }
+
+            return Arrays.asList(values);
+        }
+
         private void visit(JsonNode node) {
             if (node.isObject()) {
                 visit((ObjectNode) node);
@@ -71,7 +290,14 @@ public class ResourceObjectDeserializerModifier extends BeanDeserializerModifier
 
         private void visit(ObjectNode node) {
             if (node.has("attributes") || node.has("relationships")) {
-                unwrap(node, "attributes");
+                if (isGenericResourceObject(node))
+                    return;
+
+                if (isLazyResourceObject(node))
+                    node.set("attributes", new POJONode(node.get("attributes")));
+                else
+                    unwrap(node, "attributes");
+
                 unwrap(node, "relationships");
             } else {
                 Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
@@ -84,6 +310,17 @@ public class ResourceObjectDeserializerModifier extends BeanDeserializerModifier
             }
         }
 
+        private boolean isGenericResourceObject(ObjectNode node) {
+            JsonNode type = node.get("type");
+            return configuration.isGenericResourceObjects() && type != null && type.isTextual()
+                   && !resourceTypes.containsKey(type.asText());
+        }
+
+        private boolean isLazyResourceObject(ObjectNode node) {
+            JsonNode type = node.get("type");
+            return node.get("attributes") instanceof ObjectNode && type != null && lazyTypes.contains(type.asText());
+        }
+
         private void visit(ArrayNode jsonArray) {
             for (JsonNode field : jsonArray) {
                 visit(field);
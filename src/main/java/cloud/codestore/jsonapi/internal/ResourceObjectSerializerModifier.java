@@ -1,12 +1,27 @@
 package cloud.codestore.jsonapi.internal;
 
+import cloud.codestore.jsonapi.document.JsonApiDocument;
 import cloud.codestore.jsonapi.relationship.Relationship;
 import cloud.codestore.jsonapi.resource.ResourceObject;
+import cloud.codestore.jsonapi.resource.ResourceObjectWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.PrettyPrinter;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
 import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
 import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -16,6 +31,12 @@ import java.util.List;
  * <br/><br/>
  * Instances of {@link ResourceObject}s contain attributes and relationships in its own fields.
  * This modifier wraps these fields in virtual objects.
+ * <br/><br/>
+ * If a {@link ResourceObjectWriter} was generated for a resource type, it reads the attributes and relationships
+ * instead of reflection.
+ * <br/><br/>
+ * If the resource object cache is enabled, the serialized JSON of resource objects with a cache version
+ * is cached and written as raw JSON the next time the same resource object is serialized.
  */
 public class ResourceObjectSerializerModifier extends BeanSerializerModifier {
     // Do not change the order of this list. It is used for ordering the properties.
@@ -23,6 +44,31 @@ public class ResourceObjectSerializerModifier extends BeanSerializerModifier {
             "type", "id", "attributes", "relationships", "links", "meta"
     );
 
+    private final JsonApiConfiguration configuration;
+
+    public ResourceObjectSerializerModifier() {
+        this(new JsonApiConfiguration());
+    }
+
+    public ResourceObjectSerializerModifier(JsonApiConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+        if (isResourceObject(beanDesc.getBeanClass())) {
+            JsonSerializer<ResourceObject> delegate = (JsonSerializer<ResourceObject>) serializer;
+            ResourceObjectWriter<?> writer = configuration.getResourceObjectWriter(beanDesc.getBeanClass());
+            if (writer != null)
+                delegate = GeneratedResourceObjectSerializer.of(writer, beanDesc, delegate);
+
+            return new CachingResourceObjectSerializer(delegate, configuration);
+        }
+
+        return serializer;
+    }
+
     @Override
     public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> properties) {
         if (isResourceObject(beanDesc.getBeanClass())) {
@@ -94,4 +140,158 @@ public class ResourceObjectSerializerModifier extends BeanSerializerModifier {
     private static boolean isRelationship(Class<?> type) {
         return Relationship.class.isAssignableFrom(type);
     }
+
+    /**
+     * Writes the cached JSON of a resource object if it has a cache version and the cache is enabled.
+     * <br/><br/>
+     * If the resource object is serialized inside a document, its related resources are included into the document.
+     * The JSON of such resource objects is only cached if they do not include any resources.
+     * Otherwise, they need to be serialized again to include the related resources.
+     * <br/><br/>
+     * The cached JSON is written with the features, character escapes and pretty printer of the active serialization.
+     * It is only reused by serializations with the same configuration and at the same nesting depth.
+     * <br/><br/>
+     * Included resources are omitted if the document already exceeds the maximum number of bytes of its {@link OutputGuard}.
+     */
+    private static class CachingResourceObjectSerializer extends StdSerializer<ResourceObject>
+            implements ContextualSerializer, ResolvableSerializer {
+        private final JsonSerializer<ResourceObject> delegate;
+        private final JsonApiConfiguration configuration;
+
+        CachingResourceObjectSerializer(JsonSerializer<ResourceObject> delegate, JsonApiConfiguration configuration) {
+            super(ResourceObject.class);
+            this.delegate = delegate;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public void serialize(ResourceObject resourceObject, JsonGenerator json, SerializerProvider provider) throws IOException {
+            if (mayWrite(json, provider) && !writeCached(resourceObject, json, provider))
+                delegate.serialize(resourceObject, json, provider);
+        }
+
+        @Override
+        public void serializeWithType(
+                ResourceObject resourceObject, JsonGenerator json, SerializerProvider provider, TypeSerializer typeSerializer
+        ) throws IOException {
+            // the type id is an existing property, so the cached JSON already contains it
+            if (mayWrite(json, provider) && !writeCached(resourceObject, json, provider))
+                delegate.serializeWithType(resourceObject, json, provider, typeSerializer);
+        }
+
+        /**
+         * @return {@code false}, if the resource object is omitted because the document exceeds its maximum length.
+         */
+        private static boolean mayWrite(JsonGenerator json, SerializerProvider provider) throws IOException {
+            OutputGuard guard = OutputGuard.of(provider);
+            return guard == null || guard.mayWrite(json);
+        }
+
+        /**
+         * @return {@code true}, if the resource object was written from or into the cache.
+         */
+        private boolean writeCached(ResourceObject resourceObject, JsonGenerator json, SerializerProvider provider) throws IOException {
+            ResourceObjectCache cache = configuration.getResourceObjectCache();
+            String version = resourceObject.getCacheVersion();
+            if (cache == null || version == null || resourceObject.getId() == null)
+                return false;
+
+            JsonApiDocument inclusionTarget = VirtualRelationshipsWriter.getInclusionTarget(resourceObject, provider);
+            var key = new ResourceObjectCache.Key(
+                    resourceObject.getType(), resourceObject.getId(), version, inclusionTarget != null, format(json, provider)
+            );
+            RawJsonValue cachedJson = cache.get(key);
+            if (cachedJson != null) {
+                json.writeRawValue(cachedJson);
+                return true;
+            }
+
+            JsonApiDocument includedResources = inclusionTarget == null ? null : new JsonApiDocument() {};
+            cachedJson = serializeFragment(resourceObject, json, provider, includedResources);
+            if (includedResources == null || includedResources.getIncludedResources().isEmpty()) {
+                cache.put(key, cachedJson);
+            } else {
+                inclusionTarget.include(includedResources.getIncludedResources().toArray(ResourceObject[]::new));
+            }
+
+            OutputGuard guard = OutputGuard.of(provider);
+            if (guard == null)
+                json.writeRawValue(cachedJson);
+            else
+                guard.writeBuffer(json, cachedJson);
+
+            return true;
+        }
+
+        private ResourceObjectCache.Format format(JsonGenerator json, SerializerProvider provider) {
+            PrettyPrinter prettyPrinter = json.getPrettyPrinter();
+            CharacterEscapes characterEscapes = json.getCharacterEscapes();
+            return new ResourceObjectCache.Format(
+                    provider.getActiveView(),
+                    provider.getConfig().getSerializationFeatures(),
+                    json.getFeatureMask(),
+                    prettyPrinter == null ? null : prettyPrinter.getClass(),
+                    characterEscapes == null ? null : characterEscapes.getClass(),
+                    json.getHighestEscapedChar(),
+                    json.getOutputContext().getNestingDepth(),
+                    configuration.isCanonicalOutput()
+            );
+        }
+
+        /**
+         * Serializes the resource object into a separate buffer with the same configuration and indentation
+         * as the given generator.
+         * Related resources are included into the given document instead of the actual inclusion target.
+         */
+        private RawJsonValue serializeFragment(
+                ResourceObject resourceObject, JsonGenerator json, SerializerProvider provider, JsonApiDocument includedResources
+        ) throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            Object inclusionTarget = provider.getAttribute(VirtualRelationshipsWriter.INCLUSION_TARGET);
+            if (includedResources != null)
+                provider.setAttribute(VirtualRelationshipsWriter.INCLUSION_TARGET, includedResources);
+
+            OutputGuard guard = OutputGuard.of(provider);
+            JsonGenerator fragment = ParallelDataSerializer.createGenerator(json, buffer, provider.getConfig());
+            fragment.setPrettyPrinter(ParallelDataSerializer.copyPrettyPrinter(json));
+            try (fragment) {
+                if (guard != null)
+                    guard.startBuffer(fragment);
+
+                delegate.serialize(resourceObject, fragment, provider);
+            } finally {
+                if (includedResources != null)
+                    provider.setAttribute(VirtualRelationshipsWriter.INCLUSION_TARGET, inclusionTarget);
+            }
+
+            RawJsonValue content = new RawJsonValue(buffer.toByteArray());
+            if (guard != null)
+                guard.endBuffer(fragment, content);
+
+            return content;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextualSerializer) {
+                var contextualDelegate = (JsonSerializer<ResourceObject>) contextualSerializer.createContextual(provider, property);
+                if (contextualDelegate != delegate)
+                    return new CachingResourceObjectSerializer(contextualDelegate, configuration);
+            }
+
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvableSerializer)
+                resolvableSerializer.resolve(provider);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, ResourceObject value) {
+            return delegate.isEmpty(provider, value);
+        }
+    }
 }
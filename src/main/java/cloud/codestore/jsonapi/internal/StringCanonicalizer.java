@@ -0,0 +1,64 @@
+package cloud.codestore.jsonapi.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Replaces equal "type" and "id" values inside a document tree by the same {@link TextNode},
+ * so the resource objects and resource identifier objects bound from the tree share their strings.
+ * <br/><br/>
+ * Registered type names are replaced by the name that was registered at the object mapper,
+ * so their strings are shared across documents. Other types and ids are only shared within a single document.
+ */
+class StringCanonicalizer {
+    private final Map<String, TextNode> registeredTypes;
+    private final boolean deduplicateIds;
+    private final Map<String, TextNode> strings = new HashMap<>();
+
+    /**
+     * @param registeredTypes the nodes of the registered type names by their names.
+     * @param deduplicateIds  whether equal ids should share the same string as well.
+     */
+    StringCanonicalizer(Map<String, TextNode> registeredTypes, boolean deduplicateIds) {
+        this.registeredTypes = registeredTypes;
+        this.deduplicateIds = deduplicateIds;
+    }
+
+    void canonicalize(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode objectNode = (ObjectNode) node;
+            replace(objectNode, "type", registeredTypes);
+            if (deduplicateIds)
+                replace(objectNode, "id", null);
+
+            Iterator<Map.Entry<String, JsonNode>> fields = objectNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (field.getValue().isContainerNode() && !"meta".equals(field.getKey()))
+                    canonicalize(field.getValue());
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                canonicalize(element);
+            }
+        }
+    }
+
+    private void replace(ObjectNode node, String fieldName, Map<String, TextNode> canonicalNodes) {
+        JsonNode value = node.get(fieldName);
+        if (value == null || !value.isTextual())
+            return;
+
+        TextNode canonicalNode = canonicalNodes == null ? null : canonicalNodes.get(value.textValue());
+        if (canonicalNode == null)
+            canonicalNode = strings.computeIfAbsent(value.textValue(), text -> (TextNode) value);
+
+        if (canonicalNode != value)
+            node.set(fieldName, canonicalNode);
+    }
+}
@@ -0,0 +1,50 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.resource.GenericResourceObject;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+
+/**
+ * Deserializes resource objects of unknown types into {@link GenericResourceObject}s,
+ * if generic resource objects are enabled and the expected type allows it.
+ * <br/><br/>
+ * Jackson only asks this handler if {@link com.fasterxml.jackson.databind.DeserializationFeature#FAIL_ON_INVALID_SUBTYPE}
+ * is enabled. Thus, resource objects of other unknown types and resource objects without type are mapped to
+ * {@link Void}, which results in {@code null} values like with the disabled feature.
+ * Problems of other polymorphic types are left to other handlers and to the configuration of the object mapper.
+ */
+public class UnknownResourceTypeHandler extends DeserializationProblemHandler {
+    private final JsonApiConfiguration configuration;
+
+    public UnknownResourceTypeHandler(JsonApiConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public JavaType handleUnknownTypeId(
+            DeserializationContext context, JavaType baseType, String subTypeId,
+            TypeIdResolver idResolver, String failureMsg
+    ) {
+        if (!isHandled(baseType))
+            return null;
+
+        if (baseType.getRawClass().isAssignableFrom(GenericResourceObject.class))
+            return context.constructType(GenericResourceObject.class);
+
+        return context.constructType(Void.class);
+    }
+
+    @Override
+    public JavaType handleMissingTypeId(
+            DeserializationContext context, JavaType baseType, TypeIdResolver idResolver, String failureMsg
+    ) {
+        return isHandled(baseType) ? context.constructType(Void.class) : null;
+    }
+
+    private boolean isHandled(JavaType baseType) {
+        return configuration.isGenericResourceObjects() && ResourceObject.class.isAssignableFrom(baseType.getRawClass());
+    }
+}
@@ -1,7 +1,10 @@
 package cloud.codestore.jsonapi.internal;
 
+import cloud.codestore.jsonapi.resource.GenericResourceObject;
+import cloud.codestore.jsonapi.resource.LazyResourceObject;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.cfg.MapperConfig;
 import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
@@ -17,9 +20,12 @@ import java.util.TreeMap;
 
 /**
  * A custom {@link VirtualBeanPropertyWriter} implementation to serialize the virtual "attributes" object.
+ * The retained attributes of a deserialized {@link LazyResourceObject} are written unchanged,
+ * unless there is a non-null attribute property with the same name.
+ * The attributes of a {@link GenericResourceObject} are written by name.
  */
 public class VirtualAttributesWriter extends VirtualBeanPropertyWriter {
-    private List<BeanPropertyWriter> attributeProperties = Collections.emptyList();
+    private List<PropertyAccessor> attributeProperties = Collections.emptyList();
 
     VirtualAttributesWriter() {}
 
@@ -29,18 +35,23 @@ public class VirtualAttributesWriter extends VirtualBeanPropertyWriter {
 
     void setAttributeProperties(List<BeanPropertyWriter> attributeProperties) {
         if (attributeProperties != null)
-            this.attributeProperties = attributeProperties;
+            this.attributeProperties = attributeProperties.stream().map(PropertyAccessor::of).toList();
     }
 
     @Override
     protected Object value(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
-        if (attributeProperties == null || attributeProperties.isEmpty())
+        if (bean instanceof GenericResourceObject genericResourceObject)
+            return genericAttributes(genericResourceObject);
+
+        JsonNode unboundAttributes = bean instanceof LazyResourceObject lazy ? lazy.getUnboundAttributes() : null;
+        if ((attributeProperties == null || attributeProperties.isEmpty()) && unboundAttributes == null)
             return null;
 
         Map<String, Object> attributes = new TreeMap<>();
+        if (unboundAttributes != null)
+            unboundAttributes.fields().forEachRemaining(field -> attributes.put(field.getKey(), field.getValue()));
 
-        for (BeanPropertyWriter property : attributeProperties) {
-            property.getMember().fixAccess(true);
+        for (PropertyAccessor property : attributeProperties) {
             Object value = property.get(bean);
             if (value != null)
                 attributes.put(property.getName(), value);
@@ -49,6 +60,22 @@ public class VirtualAttributesWriter extends VirtualBeanPropertyWriter {
         return attributes.isEmpty() ? null : attributes;
     }
 
+    /**
+     * @return the names of the attribute properties.
+     */
+    List<String> getAttributeNames() {
+        return attributeProperties.stream().map(PropertyAccessor::getName).toList();
+    }
+
+    private Map<String, Object> genericAttributes(GenericResourceObject resourceObject) {
+        Map<String, Object> attributes = new TreeMap<>();
+        for (String name : resourceObject.getAttributeNames()) {
+            attributes.put(name, resourceObject.getAttribute(name));
+        }
+
+        return attributes.isEmpty() ? null : attributes;
+    }
+
     @Override
     public VirtualBeanPropertyWriter withConfig(
             MapperConfig<?> mapperConfig, AnnotatedClass annotatedClass,
@@ -1,9 +1,11 @@
 package cloud.codestore.jsonapi.internal;
 
+import cloud.codestore.jsonapi.DocumentStatistics;
 import cloud.codestore.jsonapi.document.JsonApiDocument;
 import cloud.codestore.jsonapi.relationship.Relationship;
 import cloud.codestore.jsonapi.relationship.ToManyRelationship;
 import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.GenericResourceObject;
 import cloud.codestore.jsonapi.resource.ResourceIdentifierObject;
 import cloud.codestore.jsonapi.resource.ResourceObject;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -26,10 +28,22 @@ import java.util.*;
  * <br/><br/>
  * It also checks the "included" status of the relationships, loads the
  * related data and adds them into the {@link JsonApiDocument}.
+ * The relationships of a {@link GenericResourceObject} are written by name.
  */
 public class VirtualRelationshipsWriter extends VirtualBeanPropertyWriter {
-    private List<BeanPropertyWriter> relationshipProperties = Collections.emptyList();
-    private ObjectMapper mapper;
+    /**
+     * Name of the serialization attribute which holds the {@link JsonApiDocument} into which related resources
+     * are included. If the attribute is not set, the parent of the serialized resource object is used.
+     */
+    public static final String INCLUSION_TARGET = VirtualRelationshipsWriter.class.getName() + ".inclusionTarget";
+
+    /**
+     * Name of the serialization attribute which holds the depth of an included resource object
+     * whose relationships are included recursively. It is not set for the primary data.
+     */
+    private static final String INCLUSION_DEPTH = VirtualRelationshipsWriter.class.getName() + ".inclusionDepth";
+
+    private List<PropertyAccessor> relationshipProperties = Collections.emptyList();
 
     VirtualRelationshipsWriter() {}
 
@@ -38,34 +52,98 @@ public class VirtualRelationshipsWriter extends VirtualBeanPropertyWriter {
     }
 
     void setRelationshipProperties(List<BeanPropertyWriter> relationshipProperties) {
-        if (relationshipProperties != null)
-            this.relationshipProperties = relationshipProperties;
+        if (relationshipProperties != null) {
+            relationshipProperties.sort(Comparator.comparing(BeanPropertyWriter::getName)); //needed for ordering the included resources
+            this.relationshipProperties = relationshipProperties.stream().map(PropertyAccessor::of).toList();
+        }
     }
 
     @Override
     protected Object value(Object resourceObject, JsonGenerator json, SerializerProvider prov) throws Exception {
-        if (relationshipProperties == null || relationshipProperties.isEmpty())
+        boolean generic = resourceObject instanceof GenericResourceObject;
+        if (!generic && (relationshipProperties == null || relationshipProperties.isEmpty()))
             return null;
 
-        mapper = ((ObjectMapper) json.getCodec());
         Map<String, Relationship> relationships = new TreeMap<>();
 
-        relationshipProperties.sort(Comparator.comparing(BeanPropertyWriter::getName)); //needed for ordering the included resources
-        for (BeanPropertyWriter property : relationshipProperties) {
-            property.getMember().fixAccess(true);
+        if (generic) {
+            GenericResourceObject genericResourceObject = (GenericResourceObject) resourceObject;
+            for (String name : genericResourceObject.getRelationshipNames()) {
+                Relationship relationship = genericResourceObject.getRelationship(name);
+                if (relationship != null)
+                    relationships.put(name, relationship);
+            }
+        }
+
+        for (PropertyAccessor property : relationshipProperties) {
             Relationship relationship = (Relationship) property.get(resourceObject);
-            if (relationship != null) {
+            if (relationship != null)
                 relationships.put(property.getName(), relationship);
-
-                JsonApiDocument document = ((ResourceObject) resourceObject).getParent(); // only handle primary data relationships
-                if (relationship.isIncluded() && document != null)
-                    includeRelationship(relationship, document);
-            }
         }
 
+        includeRelationships((ResourceObject) resourceObject, relationships, json, prov);
         return relationships.isEmpty() ? null : relationships;
     }
 
+    /**
+     * @return the names of the relationship properties.
+     */
+    List<String> getRelationshipNames() {
+        return relationshipProperties.stream().map(PropertyAccessor::getName).toList();
+    }
+
+    /**
+     * Counts the relationships of the given resource object and includes the related resources
+     * of all included relationships into the inclusion target.
+     *
+     * @param resourceObject the resource object.
+     * @param relationships  the non-null relationships of the resource object, ordered by their names.
+     */
+    static void includeRelationships(
+            ResourceObject resourceObject, Map<String, Relationship> relationships, JsonGenerator json, SerializerProvider prov
+    ) throws IOException {
+        Integer depth = (Integer) prov.getAttribute(INCLUSION_DEPTH);
+        DocumentMetrics metrics = DocumentMetrics.of(prov);
+        if (metrics != null && depth == null)
+            metrics.addRelationships(relationships.size());
+
+        JsonApiDocument document = getInclusionTarget(resourceObject, prov);
+        if (document != null) {
+            // only the walk which starts at the primary data is recorded, since it contains the recursive walks
+            JsonApiEvents.Inclusion event = null;
+            if (depth == null && JsonApiEvents.AVAILABLE) {
+                event = new JsonApiEvents.Inclusion();
+                if (!event.isEnabled())
+                    event = null;
+            }
+
+            boolean timed = depth == null && (event != null || metrics != null);
+            long start = timed ? System.nanoTime() : 0;
+            int includedResources = event != null ? document.getIncludedResources().size() : 0;
+            if (event != null)
+                event.begin();
+
+            OutputGuard guard = OutputGuard.of(prov);
+            Inclusion inclusion = new Inclusion(document, (ObjectMapper) json.getCodec(), metrics, guard, depth == null ? 1 : depth + 1);
+            for (Relationship relationship : relationships.values()) {
+                if (relationship.isIncluded())
+                    includeRelationship(relationship, inclusion);
+            }
+
+            if (timed && metrics != null)
+                metrics.addNanos(DocumentStatistics.Phase.INCLUDE, System.nanoTime() - start);
+
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.resourceType = resourceObject.getType();
+                    event.includedResources = document.getIncludedResources().size() - includedResources;
+                    event.commit();
+                }
+            }
+        }
+    }
+
     @Override
     public VirtualBeanPropertyWriter withConfig(
             MapperConfig<?> mapperConfig, AnnotatedClass annotatedClass,
@@ -74,34 +152,64 @@ public class VirtualRelationshipsWriter extends VirtualBeanPropertyWriter {
         return new VirtualRelationshipsWriter(beanPropertyDefinition, annotatedClass.getAnnotations(), javaType);
     }
 
-    private void includeRelationship(Relationship relationship, JsonApiDocument document) throws IOException {
+    /**
+     * Only the relationships of the primary data are handled, which is either the case if the resource object
+     * belongs to a document or if the inclusion target was set explicitly.
+     */
+    static JsonApiDocument getInclusionTarget(ResourceObject resourceObject, SerializerProvider provider) {
+        Object inclusionTarget = provider.getAttribute(INCLUSION_TARGET);
+        return inclusionTarget == null ? resourceObject.getParent() : (JsonApiDocument) inclusionTarget;
+    }
+
+    private static void includeRelationship(Relationship relationship, Inclusion inclusion) throws IOException {
         if (relationship instanceof ToOneRelationship<?> toOneRelationship)
-            include(toOneRelationship, document);
+            include(toOneRelationship, inclusion);
         else if (relationship instanceof ToManyRelationship<?> toManyRelationship)
-            include(toManyRelationship, document);
+            include(toManyRelationship, inclusion);
     }
 
-    private void include(ToOneRelationship<?> relationship, JsonApiDocument document) throws IOException {
+    /*
+     * The resource linkage of a relationship is replaced under the lock of the relationship and only if it changed.
+     * Related resources may be shared by chunks of the primary data which are serialized in parallel,
+     * and all chunks derive the same resource linkage from the same related resources.
+     */
+    private static void include(ToOneRelationship<?> relationship, Inclusion inclusion) throws IOException {
         ResourceObject relatedData = relationship.getRelatedResource();
         if (relatedData != null) {
-            document.include(relatedData);
-            relationship.setData(relatedData.getIdentifier());
-            recursivelyIncludeRelationships(relatedData, document);
+            ResourceIdentifierObject identifier = relatedData.getIdentifier();
+            synchronized (relationship) {
+                if (!identifier.equals(relationship.getData()))
+                    relationship.setData(identifier);
+            }
+
+            if (inclusion.mayInclude(relatedData)) {
+                inclusion.document.include(relatedData);
+                recursivelyIncludeRelationships(relatedData, inclusion);
+            }
         }
     }
 
-    private void include(ToManyRelationship<?> relationship, JsonApiDocument document) throws IOException {
+    private static void include(ToManyRelationship<?> relationship, Inclusion inclusion) throws IOException {
         ResourceObject[] relatedData = relationship.getRelatedResource();
         if (relatedData != null) {
-            document.include(relatedData);
-            relationship.setData(
-                    Arrays.stream(relatedData)
-                            .map(ResourceObject::getIdentifier)
-                            .toArray(ResourceIdentifierObject[]::new)
-            );
+            ResourceIdentifierObject[] identifiers = Arrays.stream(relatedData)
+                                                           .map(ResourceObject::getIdentifier)
+                                                           .toArray(ResourceIdentifierObject[]::new);
+            synchronized (relationship) {
+                if (!Arrays.equals(identifiers, relationship.getData()))
+                    relationship.setData(identifiers);
+            }
 
+            List<ResourceObject> includedData = new ArrayList<>(relatedData.length);
             for (ResourceObject resourceObject : relatedData) {
-                recursivelyIncludeRelationships(resourceObject, document);
+                if (inclusion.mayInclude(resourceObject)) {
+                    inclusion.document.include(resourceObject);
+                    includedData.add(resourceObject);
+                }
+            }
+
+            for (ResourceObject resourceObject : includedData) {
+                recursivelyIncludeRelationships(resourceObject, inclusion);
             }
         }
     }
@@ -115,16 +223,35 @@ public class VirtualRelationshipsWriter extends VirtualBeanPropertyWriter {
      * To include related resource objects of included resource objects, this {@link VirtualRelationshipsWriter}
      * needs to be called for the corresponding relationships.
      * This is achieved by serializing the included resource object without actually writing the result.
+     * <br/>
+     * The document is passed as serialization attribute instead of setting it as parent of the included resource
+     * object. Thus, the relationships are not handled again inside the "included" array and the same resource
+     * object can safely be included into different documents by multiple threads.
      */
-    private void recursivelyIncludeRelationships(
-            ResourceObject resourceObject, JsonApiDocument document
-    ) throws IOException {
-        // Set parent to be able to include the resource object to it.
-        resourceObject.setParent(document);
+    private static void recursivelyIncludeRelationships(ResourceObject resourceObject, Inclusion inclusion) throws IOException {
+        if (inclusion.metrics != null)
+            inclusion.metrics.recordIncludeDepth(inclusion.depth);
 
-        mapper.writeValue(NULL_WRITER, resourceObject);
+        inclusion.mapper.writer()
+                        .withAttribute(INCLUSION_TARGET, inclusion.document)
+                        .withAttribute(INCLUSION_DEPTH, inclusion.depth)
+                        .withAttribute(DocumentMetrics.ATTRIBUTE, inclusion.metrics)
+                        .withAttribute(OutputGuard.ATTRIBUTE, inclusion.guard)
+                        .writeValue(NULL_WRITER, resourceObject);
+    }
 
-        // Avoid handling inclusion inside the "included" array. Otherwise, a ConcurrentModificationException occurs.
-        resourceObject.setParent(null);
+    /**
+     * The state of including the related resources of a single resource object.
+     *
+     * @param document the document into which the related resources are included.
+     * @param mapper   the mapper which is used to include the relationships of the related resources.
+     * @param metrics  the {@link DocumentMetrics} of the document or {@code null}.
+     * @param guard    the {@link OutputGuard} of the document or {@code null}.
+     * @param depth    the depth of the related resources.
+     */
+    private record Inclusion(JsonApiDocument document, ObjectMapper mapper, DocumentMetrics metrics, OutputGuard guard, int depth) {
+        boolean mayInclude(ResourceObject resourceObject) throws IOException {
+            return guard == null || guard.mayInclude(resourceObject, depth);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package cloud.codestore.jsonapi.internal;
+
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.document.ResourceCollectionDocument;
+import cloud.codestore.jsonapi.document.SingleResourceDocument;
+import cloud.codestore.jsonapi.link.LinksObject;
+import cloud.codestore.jsonapi.relationship.ToManyRelationship;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceIdentifierObject;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClassResolver;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Determines the types whose serializers and deserializers are created in advance
+ * when an object mapper is warmed up.
+ * <br/><br/>
+ * Only for internal use.
+ */
+public final class WarmUpTypes {
+    private WarmUpTypes() {}
+
+    /**
+     * @param mapper an object mapper.
+     * @return the classes of all resource objects which are registered in the given object mapper.
+     */
+    public static List<Class<?>> getResourceTypes(ObjectMapper mapper) {
+        SerializationConfig config = mapper.getSerializationConfig();
+        AnnotatedClass resourceObject = AnnotatedClassResolver.resolveWithoutSuperTypes(config, ResourceObject.class);
+
+        List<Class<?>> resourceTypes = new ArrayList<>();
+        for (NamedType namedType : mapper.getSubtypeResolver().collectAndResolveSubtypesByClass(config, resourceObject)) {
+            if (namedType.getType() != ResourceObject.class)
+                resourceTypes.add(namedType.getType());
+        }
+
+        return resourceTypes;
+    }
+
+    /**
+     * @param mapper an object mapper.
+     * @return the documents and relationships which contain the registered resource objects, as well as the
+     *         resource objects themselves. They are passed to the object mapper as value types.
+     */
+    public static List<JavaType> getValueTypes(ObjectMapper mapper) {
+        TypeFactory typeFactory = mapper.getTypeFactory();
+        List<JavaType> types = new ArrayList<>();
+        types.add(typeFactory.constructType(JsonApiDocument.class));
+        // a JsonApiDocument is deserialized as one of its subtypes without a type parameter
+        types.add(typeFactory.constructType(SingleResourceDocument.class));
+        types.add(typeFactory.constructType(ResourceCollectionDocument.class));
+        types.add(typeFactory.constructType(ResourceObject.class));
+
+        for (Class<?> resourceType : getResourceTypes(mapper)) {
+            types.add(typeFactory.constructType(resourceType));
+            types.add(typeFactory.constructParametricType(SingleResourceDocument.class, resourceType));
+            types.add(typeFactory.constructParametricType(ResourceCollectionDocument.class, resourceType));
+            types.add(typeFactory.constructParametricType(ToOneRelationship.class, resourceType));
+            types.add(typeFactory.constructParametricType(ToManyRelationship.class, resourceType));
+        }
+
+        return types;
+    }
+
+    /**
+     * The serializers of properties whose declared type differs from the type of their values
+     * are looked up by the class of the actual value while a document is written.
+     *
+     * @param mapper an object mapper.
+     * @return the runtime classes of the values inside a document.
+     */
+    public static List<Class<?>> getRuntimeClasses(ObjectMapper mapper) {
+        List<Class<?>> classes = new ArrayList<>(getResourceTypes(mapper));
+        classes.addAll(List.of(
+                SingleResourceDocument.class,
+                ResourceCollectionDocument.class,
+                ToOneRelationship.class,
+                ToManyRelationship.class,
+                DeserializedToOneRelationship.class,
+                DeserializedToManyRelationship.class,
+                ResourceIdentifierObject.class,
+                LinksObject.class,
+                TreeMap.class // the virtual "relationships" object
+        ));
+        return classes;
+    }
+}
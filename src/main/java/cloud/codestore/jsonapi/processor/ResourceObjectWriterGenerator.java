@@ -0,0 +1,402 @@
+package cloud.codestore.jsonapi.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates a {@code ResourceObjectWriter} which reads the attributes and relationships of a resource object class
+ * without reflection. Fields and getters are accessed directly. Private fields are accessed by {@code VarHandle}s,
+ * which are looked up once by the generated class.
+ * <br/><br/>
+ * The properties are determined like Jackson does by default: fields and getters annotated with {@code @JsonProperty},
+ * public fields and public getters, except those annotated with {@code @JsonIgnore}.
+ * If a class cannot be handled, no writer is generated and the resource objects are serialized by reflection.
+ * <br/><br/>
+ * Only the attributes and relationships are covered. All other members and the deserialization are handled by Jackson.
+ */
+class ResourceObjectWriterGenerator {
+    static final String WRITER_SUFFIX = "_JsonApiWriter";
+
+    private static final String RESOURCE_OBJECT = "cloud.codestore.jsonapi.resource.ResourceObject";
+    private static final String GENERIC_RESOURCE_OBJECT = "cloud.codestore.jsonapi.resource.GenericResourceObject";
+    private static final String LAZY_RESOURCE_OBJECT = "cloud.codestore.jsonapi.resource.LazyResourceObject";
+    private static final String RELATIONSHIP = "cloud.codestore.jsonapi.relationship.Relationship";
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_GETTER = "com.fasterxml.jackson.annotation.JsonGetter";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+    private static final Set<String> PREDEFINED_FIELDS = Set.of("type", "id", "attributes", "relationships", "links", "meta");
+
+    private final ProcessingEnvironment processingEnv;
+    private final Elements elements;
+    private final Types types;
+
+    ResourceObjectWriterGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    /**
+     * @param type an annotated resource object class.
+     * @return the qualified name of the generated writer or {@code null}, if no writer was generated.
+     */
+    String generate(TypeElement type) {
+        Map<String, Property> properties = collectProperties(type);
+        if (properties == null)
+            return null;
+
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String simpleName = getWriterName(type);
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(generateSource(type, packageName, simpleName, properties));
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not generate " + qualifiedName + ": " + exception.getMessage(), type);
+            return null;
+        }
+
+        return qualifiedName;
+    }
+
+    private static String getWriterName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element element = type.getEnclosingElement(); element instanceof TypeElement; element = element.getEnclosingElement()) {
+            name.insert(0, element.getSimpleName() + "_");
+        }
+
+        return name.append(WRITER_SUFFIX).toString();
+    }
+
+    /**
+     * @return the properties mapped by their names or {@code null}, if the class is not supported.
+     */
+    private Map<String, Property> collectProperties(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || !type.getTypeParameters().isEmpty())
+            return skip(type, "abstract and generic classes are not supported");
+        if (isSubtype(type.asType(), GENERIC_RESOURCE_OBJECT) || isSubtype(type.asType(), LAZY_RESOURCE_OBJECT))
+            return skip(type, "generic and lazy resource objects are not supported");
+
+        Set<String> inheritedMethods = new HashSet<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(elements.getTypeElement(RESOURCE_OBJECT)))) {
+            inheritedMethods.add(method.getSimpleName().toString());
+        }
+
+        Map<String, Property> properties = new LinkedHashMap<>();
+        Set<String> ignoredProperties = new HashSet<>();
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+
+        for (TypeElement current = type; !current.getQualifiedName().contentEquals(RESOURCE_OBJECT); current = superclass(current)) {
+            boolean samePackage = elements.getPackageOf(current).getQualifiedName().contentEquals(packageName);
+            for (Element member : current.getEnclosedElements()) {
+                Accessor accessor = toAccessor(member, inheritedMethods);
+                if (accessor == null)
+                    continue;
+                if (!samePackage)
+                    return skip(type, "properties of superclasses in other packages are not supported");
+                if (accessor.ignored) {
+                    ignoredProperties.add(accessor.implicitName);
+                    continue;
+                }
+
+                Property property = properties.computeIfAbsent(accessor.implicitName, name -> new Property());
+                property.add(accessor);
+            }
+        }
+
+        Map<String, Property> namedProperties = new TreeMap<>();
+        for (Map.Entry<String, Property> entry : properties.entrySet()) {
+            Property property = entry.getValue();
+            if (ignoredProperties.contains(entry.getKey()) || !property.isVisible())
+                continue;
+
+            String name = property.explicitName != null ? property.explicitName : entry.getKey();
+            if (PREDEFINED_FIELDS.contains(name))
+                continue;
+
+            Accessor accessor = property.getAccessor();
+            if (accessor.member.getKind() != ElementKind.FIELD && accessor.member.getModifiers().contains(Modifier.PRIVATE))
+                return skip(type, "private getters are not supported");
+            if (namedProperties.putIfAbsent(name, property) != null)
+                return skip(type, "the property \"" + name + "\" is defined more than once");
+        }
+
+        return namedProperties;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        return (TypeElement) ((DeclaredType) type.getSuperclass()).asElement();
+    }
+
+    /**
+     * @return the field or getter as {@link Accessor} or {@code null}, if it is not a property.
+     */
+    private Accessor toAccessor(Element member, Set<String> inheritedMethods) {
+        if (member.getModifiers().contains(Modifier.STATIC))
+            return null;
+
+        boolean ignored = hasAnnotation(member, JSON_IGNORE);
+        String explicitName = getAnnotationValue(member, JSON_PROPERTY);
+        if (explicitName == null)
+            explicitName = getAnnotationValue(member, JSON_GETTER);
+
+        boolean annotated = explicitName != null;
+        boolean isPublic = member.getModifiers().contains(Modifier.PUBLIC);
+
+        if (member instanceof VariableElement field && member.getKind() == ElementKind.FIELD) {
+            boolean visible = annotated || (isPublic && !field.getModifiers().contains(Modifier.TRANSIENT));
+            if (!visible && !ignored)
+                return null;
+
+            return new Accessor(member, field.getSimpleName().toString(), explicitName, field.asType(), ignored);
+        }
+
+        if (member instanceof ExecutableElement method && member.getKind() == ElementKind.METHOD) {
+            String methodName = method.getSimpleName().toString();
+            TypeMirror returnType = method.getReturnType();
+            if (!method.getParameters().isEmpty() || returnType.getKind() == TypeKind.VOID || inheritedMethods.contains(methodName))
+                return null;
+
+            String implicitName = null;
+            if (methodName.startsWith("get") && methodName.length() > 3)
+                implicitName = mangle(methodName.substring(3));
+            else if (methodName.startsWith("is") && methodName.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN)
+                implicitName = mangle(methodName.substring(2));
+            else if (annotated || ignored)
+                implicitName = methodName;
+
+            boolean visible = annotated || (isPublic && implicitName != null);
+            if (implicitName == null || (!visible && !ignored))
+                return null;
+
+            return new Accessor(member, implicitName, explicitName, returnType, ignored);
+        }
+
+        return null;
+    }
+
+    /**
+     * Derives the property name from the name of a getter like Jackson does by default:
+     * all leading upper-case characters are converted to lower case.
+     */
+    private static String mangle(String name) {
+        StringBuilder mangledName = new StringBuilder(name);
+        for (int i = 0; i < mangledName.length(); i++) {
+            char character = mangledName.charAt(i);
+            char lowerCase = Character.toLowerCase(character);
+            if (character == lowerCase)
+                break;
+
+            mangledName.setCharAt(i, lowerCase);
+        }
+
+        return mangledName.toString();
+    }
+
+    private boolean isSubtype(TypeMirror type, String supertype) {
+        TypeElement supertypeElement = elements.getTypeElement(supertype);
+        return supertypeElement != null && types.isAssignable(types.erasure(type), types.erasure(supertypeElement.asType()));
+    }
+
+    private static boolean hasAnnotation(Element element, String annotation) {
+        return element.getAnnotationMirrors()
+                      .stream()
+                      .anyMatch(mirror -> mirror.getAnnotationType().toString().equals(annotation));
+    }
+
+    /**
+     * @return the "value" of the given annotation, an empty string if the value is not set
+     *         or {@code null} if the element is not annotated.
+     */
+    private static String getAnnotationValue(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().toString().equals(annotation)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : mirror.getElementValues().entrySet()) {
+                    if (value.getKey().getSimpleName().contentEquals("value"))
+                        return String.valueOf(value.getValue().getValue());
+                }
+
+                return "";
+            }
+        }
+
+        return null;
+    }
+
+    private <T> T skip(TypeElement type, String reason) {
+        processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.NOTE, "No ResourceObjectWriter is generated for " + type.getQualifiedName() + ": " + reason + ".", type
+        );
+        return null;
+    }
+
+    private String generateSource(TypeElement type, String packageName, String simpleName, Map<String, Property> properties) {
+        String typeName = type.getQualifiedName().toString();
+        List<String> attributes = new ArrayList<>();
+        List<String> relationships = new ArrayList<>();
+        List<String> handles = new ArrayList<>();
+        List<String> lookups = new ArrayList<>();
+
+        for (Map.Entry<String, Property> entry : properties.entrySet()) {
+            Accessor accessor = entry.getValue().getAccessor();
+            String expression;
+            if (accessor.member.getModifiers().contains(Modifier.PRIVATE)) {
+                String handle = "FIELD_" + handles.size();
+                String declaringType = ((TypeElement) accessor.member.getEnclosingElement()).getQualifiedName().toString();
+                handles.add(handle);
+                lookups.add(handle + " = MethodHandles.privateLookupIn(" + declaringType + ".class, lookup)\n"
+                            + "                    .findVarHandle(" + declaringType + ".class, \"" + accessor.member.getSimpleName()
+                            + "\", " + types.erasure(accessor.type) + ".class);");
+                expression = handle + ".get(resourceObject)";
+            } else if (accessor.member instanceof ExecutableElement) {
+                expression = "resourceObject." + accessor.member.getSimpleName() + "()";
+            } else {
+                expression = "resourceObject." + accessor.member.getSimpleName();
+            }
+
+            String name = elements.getConstantExpression(entry.getKey());
+            if (isSubtype(accessor.type, RELATIONSHIP))
+                relationships.add("put(relationships, " + name + ", (Relationship) " + expression + ");");
+            else
+                attributes.add("writer.write(" + name + ", (Object) " + expression + ");");
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+
+        source.append("import cloud.codestore.jsonapi.relationship.Relationship;\n")
+              .append("import cloud.codestore.jsonapi.resource.ResourceObjectWriter;\n\n")
+              .append("import java.io.IOException;\n")
+              .append("import java.lang.invoke.MethodHandles;\n")
+              .append("import java.lang.invoke.VarHandle;\n")
+              .append("import java.util.List;\n")
+              .append("import java.util.Map;\n\n")
+              .append("/**\n")
+              .append(" * Reads the attributes and relationships of {@link ").append(typeName).append("} without reflection.\n")
+              .append(" * Generated by ").append(ResourceTypeProcessor.class.getName()).append(".\n")
+              .append(" */\n")
+              .append("public final class ").append(simpleName).append(" implements ResourceObjectWriter<").append(typeName).append("> {\n");
+
+        if (!handles.isEmpty()) {
+            for (String handle : handles) {
+                source.append("    private static final VarHandle ").append(handle).append(";\n");
+            }
+
+            source.append("\n    static {\n")
+                  .append("        try {\n")
+                  .append("            MethodHandles.Lookup lookup = MethodHandles.lookup();\n");
+            for (String lookup : lookups) {
+                source.append("            ").append(lookup).append("\n");
+            }
+            source.append("        } catch (ReflectiveOperationException exception) {\n")
+                  .append("            throw new ExceptionInInitializerError(exception);\n")
+                  .append("        }\n")
+                  .append("    }\n");
+        }
+
+        source.append("\n    @Override\n")
+              .append("    public Class<").append(typeName).append("> getResourceType() {\n")
+              .append("        return ").append(typeName).append(".class;\n")
+              .append("    }\n\n")
+              .append("    @Override\n")
+              .append("    public List<String> getAttributeNames() {\n")
+              .append("        return List.of(").append(names(properties, false)).append(");\n")
+              .append("    }\n\n")
+              .append("    @Override\n")
+              .append("    public List<String> getRelationshipNames() {\n")
+              .append("        return List.of(").append(names(properties, true)).append(");\n")
+              .append("    }\n\n")
+              .append("    @Override\n")
+              .append("    public void writeAttributes(").append(typeName).append(" resourceObject, AttributeWriter writer) throws IOException {\n");
+        for (String attribute : attributes) {
+            source.append("        ").append(attribute).append("\n");
+        }
+        source.append("    }\n\n")
+              .append("    @Override\n")
+              .append("    public void collectRelationships(").append(typeName).append(" resourceObject, Map<String, Relationship> relationships) {\n");
+        for (String relationship : relationships) {
+            source.append("        ").append(relationship).append("\n");
+        }
+        source.append("    }\n\n")
+              .append("    private static void put(Map<String, Relationship> relationships, String name, Relationship relationship) {\n")
+              .append("        if (relationship != null)\n")
+              .append("            relationships.put(name, relationship);\n")
+              .append("    }\n")
+              .append("}\n");
+
+        return source.toString();
+    }
+
+    private String names(Map<String, Property> properties, boolean relationships) {
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<String, Property> entry : properties.entrySet()) {
+            if (isSubtype(entry.getValue().getAccessor().type, RELATIONSHIP) == relationships)
+                names.add(elements.getConstantExpression(entry.getKey()));
+        }
+
+        return String.join(", ", names);
+    }
+
+    /**
+     * A field or getter of a property.
+     */
+    private record Accessor(Element member, String implicitName, String explicitName, TypeMirror type, boolean ignored) {
+        boolean isVisible() {
+            return explicitName != null || member.getModifiers().contains(Modifier.PUBLIC);
+        }
+    }
+
+    /**
+     * The field and getter of a property. Like Jackson, the getter is preferred for serialization.
+     * Accessors of subclasses are added first, so they hide those of their superclasses.
+     */
+    private static class Property {
+        private Accessor field;
+        private Accessor getter;
+        private String explicitName;
+
+        void add(Accessor accessor) {
+            if (accessor.member instanceof ExecutableElement) {
+                if (getter == null)
+                    getter = accessor;
+            } else if (field == null) {
+                field = accessor;
+            }
+
+            if (explicitName == null && accessor.explicitName != null && !accessor.explicitName.isEmpty())
+                explicitName = accessor.explicitName;
+        }
+
+        boolean isVisible() {
+            return (getter != null && getter.isVisible()) || (field != null && field.isVisible());
+        }
+
+        Accessor getAccessor() {
+            return getter != null && getter.isVisible() ? getter : field;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package cloud.codestore.jsonapi.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Generates a {@code ResourceTypeRegistry} for all classes which are annotated with {@code @JsonApiType}.
+ * The registry is also listed as service provider in {@code META-INF/services}.
+ * For GraalVM native images, the reflection metadata of the annotated classes is generated into
+ * {@code META-INF/native-image/<registry name>/reflect-config.json}.
+ * <br/><br/>
+ * The fully qualified name of the registry can be set by the processor option {@value #REGISTRY_OPTION}.
+ * By default, the registry is called {@value #DEFAULT_REGISTRY_NAME} and is generated
+ * into the common package of all annotated classes.
+ * <br/><br/>
+ * If the processor option {@value #WRITERS_OPTION} is {@code true}, a {@code ResourceObjectWriter} is generated
+ * for every annotated class. The writers are returned by the registry.
+ * They only read the attributes and relationships without reflection during serialization.
+ */
+public class ResourceTypeProcessor extends AbstractProcessor {
+    /**
+     * The processor option which contains the fully qualified name of the generated registry.
+     */
+    public static final String REGISTRY_OPTION = "cloud.codestore.jsonapi.registry";
+    /**
+     * The processor option which enables the generation of {@code ResourceObjectWriter}s.
+     */
+    public static final String WRITERS_OPTION = "cloud.codestore.jsonapi.writers";
+    static final String DEFAULT_REGISTRY_NAME = "JsonApiResourceTypes";
+
+    private static final String ANNOTATION = "cloud.codestore.jsonapi.resource.JsonApiType";
+    private static final String RESOURCE_OBJECT = "cloud.codestore.jsonapi.resource.ResourceObject";
+    private static final String REGISTRY = "cloud.codestore.jsonapi.resource.ResourceTypeRegistry";
+
+    private final Map<String, TypeElement> resourceTypes = new TreeMap<>();
+    private boolean generated;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(ANNOTATION);
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(REGISTRY_OPTION, WRITERS_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+        if (annotation == null || roundEnv.processingOver())
+            return false;
+
+        Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(annotation);
+        if (elements.isEmpty())
+            return false;
+
+        if (generated) {
+            error(elements.iterator().next(), "Resource types which are generated by other annotation processors are not supported.");
+            return true;
+        }
+
+        boolean valid = true;
+        for (Element element : elements) {
+            valid &= collect(element);
+        }
+
+        if (valid && !resourceTypes.isEmpty()) {
+            generate(getRegistryName());
+            generated = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return {@code true}, if the annotated element is a valid resource type.
+     */
+    private boolean collect(Element element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            error(element, "@JsonApiType is only allowed on classes.");
+            return false;
+        }
+
+        TypeElement type = (TypeElement) element;
+        TypeMirror resourceObject = processingEnv.getElementUtils().getTypeElement(RESOURCE_OBJECT).asType();
+        if (!processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), resourceObject)) {
+            error(element, "Classes annotated with @JsonApiType must extend ResourceObject.");
+            return false;
+        }
+
+        if (!isAccessible(type)) {
+            error(element, "Classes annotated with @JsonApiType must be public.");
+            return false;
+        }
+
+        String name = type.getAnnotationMirrors().stream()
+                          .filter(mirror -> mirror.getAnnotationType().toString().equals(ANNOTATION))
+                          .flatMap(mirror -> mirror.getElementValues().values().stream())
+                          .map(value -> String.valueOf(value.getValue()))
+                          .findFirst()
+                          .orElse("");
+        if (name.isBlank()) {
+            error(element, "The name of a resource type must not be blank.");
+            return false;
+        }
+
+        TypeElement existingType = resourceTypes.putIfAbsent(name, type);
+        if (existingType != null && !existingType.equals(type)) {
+            error(element, "The resource type \"" + name + "\" is already bound to " + existingType.getQualifiedName() + ".");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * The registry is generated into another package, so the class and all enclosing classes must be public.
+     */
+    private static boolean isAccessible(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC))
+                return false;
+        }
+
+        return true;
+    }
+
+    private String getRegistryName() {
+        String registryName = processingEnv.getOptions().get(REGISTRY_OPTION);
+        if (registryName != null && !registryName.isBlank())
+            return registryName.trim();
+
+        String commonPackage = null;
+        for (TypeElement type : resourceTypes.values()) {
+            String packageName = getPackage(type).getQualifiedName().toString();
+            commonPackage = commonPackage == null ? packageName : commonPackage(commonPackage, packageName);
+        }
+
+        return commonPackage.isEmpty() ? DEFAULT_REGISTRY_NAME : commonPackage + "." + DEFAULT_REGISTRY_NAME;
+    }
+
+    private static PackageElement getPackage(Element element) {
+        while (!(element instanceof PackageElement))
+            element = element.getEnclosingElement();
+
+        return (PackageElement) element;
+    }
+
+    private static String commonPackage(String package1, String package2) {
+        String[] names1 = package1.split("\\.");
+        String[] names2 = package2.split("\\.");
+        StringBuilder commonPackage = new StringBuilder();
+        for (int i = 0; i < Math.min(names1.length, names2.length) && names1[i].equals(names2[i]); i++) {
+            if (i > 0)
+                commonPackage.append('.');
+
+            commonPackage.append(names1[i]);
+        }
+
+        return commonPackage.toString();
+    }
+
+    private void generate(String registryName) {
+        int lastDot = registryName.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : registryName.substring(0, lastDot);
+        String simpleName = registryName.substring(lastDot + 1);
+        Element[] originatingElements = resourceTypes.values().toArray(Element[]::new);
+        Filer filer = processingEnv.getFiler();
+
+        List<String> writers = new ArrayList<>();
+        if (Boolean.parseBoolean(processingEnv.getOptions().get(WRITERS_OPTION))) {
+            ResourceObjectWriterGenerator generator = new ResourceObjectWriterGenerator(processingEnv);
+            for (TypeElement type : resourceTypes.values()) {
+                String writerName = generator.generate(type);
+                if (writerName != null)
+                    writers.add(writerName);
+            }
+        }
+
+        try (Writer writer = filer.createSourceFile(registryName, originatingElements).openWriter()) {
+            writer.write(generateSource(packageName, simpleName, writers));
+        } catch (IOException exception) {
+            error(null, "Could not generate " + registryName + ": " + exception.getMessage());
+            return;
+        }
+
+        try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + REGISTRY, originatingElements).openWriter()) {
+            writer.write(registryName + "\n");
+        } catch (IOException exception) {
+            error(null, "Could not register " + registryName + " as service provider: " + exception.getMessage());
+        }
+
+        String reflectConfig = "META-INF/native-image/" + registryName + "/reflect-config.json";
+        try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", reflectConfig, originatingElements).openWriter()) {
+            writer.write(generateReflectConfig(registryName));
+        } catch (IOException exception) {
+            error(null, "Could not generate " + reflectConfig + ": " + exception.getMessage());
+        }
+    }
+
+    /**
+     * The resource types and their superclasses are introspected by Jackson. Arrays of them are created
+     * for to-many relationships and the registry is instantiated by the {@code ServiceLoader}.
+     */
+    private String generateReflectConfig(String registryName) {
+        Set<String> classes = new TreeSet<>();
+        Set<String> arrays = new TreeSet<>();
+        for (TypeElement type : resourceTypes.values()) {
+            arrays.add(processingEnv.getElementUtils().getBinaryName(type) + "[]");
+            for (TypeElement current = type; !current.getQualifiedName().contentEquals(RESOURCE_OBJECT); ) {
+                classes.add(processingEnv.getElementUtils().getBinaryName(current).toString());
+                current = (TypeElement) ((DeclaredType) current.getSuperclass()).asElement();
+            }
+        }
+
+        List<String> entries = new ArrayList<>();
+        for (String name : classes) {
+            entries.add("  {\n"
+                        + "    \"name\": \"" + name + "\",\n"
+                        + "    \"allDeclaredConstructors\": true,\n"
+                        + "    \"allDeclaredMethods\": true,\n"
+                        + "    \"allDeclaredFields\": true\n"
+                        + "  }");
+        }
+
+        for (String name : arrays) {
+            entries.add("  {\n    \"name\": \"" + name + "\"\n  }");
+        }
+
+        entries.add("  {\n"
+                    + "    \"name\": \"" + registryName + "\",\n"
+                    + "    \"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]\n"
+                    + "  }");
+
+        return "[\n" + String.join(",\n", entries) + "\n]\n";
+    }
+
+    private String generateSource(String packageName, String simpleName, List<String> writers) {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+
+        source.append("import cloud.codestore.jsonapi.resource.ResourceObject;\n");
+        if (!writers.isEmpty())
+            source.append("import cloud.codestore.jsonapi.resource.ResourceObjectWriter;\n");
+
+        source.append("import cloud.codestore.jsonapi.resource.ResourceTypeRegistry;\n\n");
+        if (!writers.isEmpty())
+            source.append("import java.util.List;\n");
+
+        source.append("import java.util.Map;\n\n")
+              .append("/**\n")
+              .append(" * Contains all classes which are annotated with {@code @JsonApiType}.\n")
+              .append(" * Generated by ").append(getClass().getName()).append(".\n")
+              .append(" */\n")
+              .append("public final class ").append(simpleName).append(" implements ResourceTypeRegistry {\n")
+              .append("    @Override\n")
+              .append("    public Map<String, Class<? extends ResourceObject>> getResourceTypes() {\n")
+              .append("        return Map.ofEntries(\n");
+
+        int i = 0;
+        for (Map.Entry<String, TypeElement> resourceType : resourceTypes.entrySet()) {
+            source.append("                Map.entry(")
+                  .append(processingEnv.getElementUtils().getConstantExpression(resourceType.getKey()))
+                  .append(", ")
+                  .append(resourceType.getValue().getQualifiedName())
+                  .append(".class)")
+                  .append(++i < resourceTypes.size() ? ",\n" : "\n");
+        }
+
+        source.append("        );\n")
+              .append("    }\n");
+
+        if (!writers.isEmpty()) {
+            source.append("\n    @Override\n")
+                  .append("    public List<ResourceObjectWriter<?>> getResourceObjectWriters() {\n")
+                  .append("        return List.of(\n");
+            for (int j = 0; j < writers.size(); j++) {
+                source.append("                new ").append(writers.get(j)).append("()")
+                      .append(j + 1 < writers.size() ? ",\n" : "\n");
+            }
+            source.append("        );\n")
+                  .append("    }\n");
+        }
+
+        return source.append("}\n").toString();
+    }
+
+    private void error(Element element, String message) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
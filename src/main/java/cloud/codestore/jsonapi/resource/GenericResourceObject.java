@@ -0,0 +1,186 @@
+package cloud.codestore.jsonapi.resource;
+
+import cloud.codestore.jsonapi.internal.GenericAttributes;
+import cloud.codestore.jsonapi.relationship.Relationship;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link ResourceObject} of an arbitrary type which holds its attributes and relationships by name.
+ * If {@link cloud.codestore.jsonapi.JsonApiObjectMapper#enableGenericResourceObjects() enabled},
+ * resource objects of types without a registered class are deserialized into instances of this class.
+ * Thus, proxies and caches can handle any resource type without a class per type.
+ * <br/><br/>
+ * The attributes are held in flat arrays of names and plain Java values, like strings, numbers, booleans,
+ * lists and maps. Like all resource objects, a generic resource object is first read into a tree to unwrap its
+ * "attributes" and "relationships" members. The attributes are then bound from that tree into plain values,
+ * so the tree is not retained.
+ * Since resource objects usually have few attributes, they are looked up by a linear search.
+ * When a generic resource object is serialized, all attributes and relationships are written as they are.
+ */
+public class GenericResourceObject extends ResourceObject {
+    private String[] attributeNames = new String[0];
+    private Object[] attributeValues = new Object[0];
+    private String[] relationshipNames = new String[0];
+    private Relationship[] relationships = new Relationship[0];
+
+    /**
+     * Creates a new {@link GenericResourceObject} with the given type.
+     *
+     * @param type the type of this resource object.
+     * @throws IllegalArgumentException if the type is {@code null} or blank.
+     */
+    @JsonCreator
+    public GenericResourceObject(@JsonProperty("type") String type) {
+        super(type);
+    }
+
+    /**
+     * Creates a new {@link GenericResourceObject}.
+     *
+     * @param type the type of the resource object.
+     * @param id   the id of the resource object.
+     * @throws IllegalArgumentException if the type or id is {@code null} or blank.
+     */
+    public GenericResourceObject(String type, String id) {
+        super(type, id);
+    }
+
+    /**
+     * @param name the name of an attribute.
+     * @return the value of the attribute or {@code null}, if this resource object does not have such an attribute.
+     * Objects are represented as {@link Map}s and arrays as {@link List}s.
+     */
+    public Object getAttribute(String name) {
+        int index = indexOf(attributeNames, name);
+        return index < 0 ? null : attributeValues[index];
+    }
+
+    /**
+     * @param name the name of an attribute.
+     * @param type the expected type of the attribute, for example {@code String.class} or {@code Number.class}.
+     * @return the value of the attribute or {@code null}, if this resource object does not have such an attribute.
+     * @throws ClassCastException if the value of the attribute is not an instance of the given type.
+     */
+    public <T> T getAttribute(String name, Class<T> type) {
+        return type.cast(getAttribute(name));
+    }
+
+    /**
+     * Sets or replaces the value of an attribute.
+     *
+     * @param name  the name of the attribute.
+     * @param value the value of the attribute.
+     * @return this object.
+     * @throws NullPointerException if the name is {@code null}.
+     */
+    public GenericResourceObject setAttribute(String name, Object value) {
+        Objects.requireNonNull(name);
+        int index = indexOf(attributeNames, name);
+        if (index < 0) {
+            attributeNames = append(attributeNames, name);
+            attributeValues = append(attributeValues, value);
+        } else {
+            attributeValues[index] = value;
+        }
+
+        return this;
+    }
+
+    /**
+     * @param name the name of an attribute.
+     * @return {@code true}, if this resource object has an attribute with the given name.
+     */
+    public boolean hasAttribute(String name) {
+        return indexOf(attributeNames, name) >= 0;
+    }
+
+    /**
+     * @return the names of all attributes in their original order.
+     */
+    @JsonIgnore
+    public List<String> getAttributeNames() {
+        return List.of(attributeNames);
+    }
+
+    /**
+     * @param name the name of a relationship.
+     * @return the relationship or {@code null}, if this resource object does not have such a relationship.
+     * Deserialized relationships are instances of {@link cloud.codestore.jsonapi.relationship.ToOneRelationship}
+     * or {@link cloud.codestore.jsonapi.relationship.ToManyRelationship}, if they contain resource linkage.
+     */
+    public Relationship getRelationship(String name) {
+        int index = indexOf(relationshipNames, name);
+        return index < 0 ? null : relationships[index];
+    }
+
+    /**
+     * Sets or replaces a relationship.
+     *
+     * @param name         the name of the relationship.
+     * @param relationship the relationship.
+     * @return this object.
+     * @throws NullPointerException if any parameter is {@code null}.
+     */
+    public GenericResourceObject setRelationship(String name, Relationship relationship) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(relationship);
+        int index = indexOf(relationshipNames, name);
+        if (index < 0) {
+            relationshipNames = append(relationshipNames, name);
+            relationships = append(relationships, relationship);
+        } else {
+            relationships[index] = relationship;
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the names of all relationships in their original order.
+     */
+    @JsonIgnore
+    public List<String> getRelationshipNames() {
+        return List.of(relationshipNames);
+    }
+
+    /**
+     * Used internally for deserialization
+     */
+    @JsonSetter("attributes")
+    private void setAttributes(GenericAttributes attributes) {
+        this.attributeNames = attributes.names();
+        this.attributeValues = attributes.values();
+    }
+
+    /**
+     * Used internally for deserialization
+     */
+    @JsonSetter("relationships")
+    private void setRelationships(Map<String, Relationship> relationships) {
+        this.relationshipNames = relationships.keySet().toArray(String[]::new);
+        this.relationships = relationships.values().toArray(Relationship[]::new);
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name))
+                return i;
+        }
+
+        return -1;
+    }
+
+    private static <T> T[] append(T[] array, T element) {
+        T[] newArray = Arrays.copyOf(array, array.length + 1);
+        newArray[array.length] = element;
+        return newArray;
+    }
+}
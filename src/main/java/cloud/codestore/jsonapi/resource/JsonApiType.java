@@ -0,0 +1,28 @@
+package cloud.codestore.jsonapi.resource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a {@link ResourceObject} class to the type of a JSON:API resource object.
+ * <br/><br/>
+ * All annotated classes are collected at compile time into a generated {@link ResourceTypeRegistry},
+ * if the {@code cloud.codestore.jsonapi.processor.ResourceTypeProcessor} is on the annotation processor path.
+ * The registry can then be registered in a single call, instead of registering each resource type manually.
+ * <pre>{@code
+ * @JsonApiType("article")
+ * public class Article extends ResourceObject {...}
+ * }</pre>
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JsonApiType {
+    /**
+     * @return the name of the type of the JSON:API resource object.
+     */
+    String value();
+}
@@ -0,0 +1,176 @@
+package cloud.codestore.jsonapi.resource;
+
+import cloud.codestore.jsonapi.internal.LazyAttributes;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ResourceObject} which does not bind its attributes during deserialization.
+ * Instead, the "attributes" object is retained as it is, and single attributes are bound on first access.
+ * Thus, consumers which only need the type, id or a few attributes of a resource object
+ * do not pay for binding large attribute payloads.
+ * <br/><br/>
+ * Subclasses provide access to their attributes by calling {@link #getAttribute(String, Class)}.
+ * Fields annotated with {@link com.fasterxml.jackson.annotation.JsonProperty} are not bound from the "attributes"
+ * object, but they are serialized and take precedence over the retained attributes with the same name.
+ * When a deserialized lazy resource object is serialized again, the retained attributes are written unchanged.
+ * <br/><br/>
+ * The "attributes" object is retained as tree for the lifetime of the resource object, because it is needed
+ * to bind further attributes and to write the attributes unchanged. Bound attributes are cached in addition to the tree.
+ * Thus, lazy resource objects save time if only a few attributes are accessed, but not memory.
+ * Attributes can be bound by multiple threads concurrently.
+ *
+ * <pre>{@code
+ * public class Article extends LazyResourceObject {
+ *     public Article() {
+ *         super("article");
+ *     }
+ *
+ *     public String getTitle() {
+ *         return getAttribute("title", String.class);
+ *     }
+ * }
+ * }</pre>
+ * <p>
+ * Lazy resource objects must be registered at the {@link cloud.codestore.jsonapi.JsonApiObjectMapper}
+ * like any other resource object. The attributes are retained when a document is read by the object mapper.
+ * The {@link cloud.codestore.jsonapi.document.AsyncDocumentReader} does not support lazy resource objects.
+ */
+public abstract class LazyResourceObject extends ResourceObject {
+    private LazyAttributes lazyAttributes;
+    private final Map<String, Object> boundAttributes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link LazyResourceObject} with the given type.
+     *
+     * @param type the type of this resource object.
+     * @throws IllegalArgumentException if the type is {@code null} or blank.
+     */
+    public LazyResourceObject(String type) {
+        super(type);
+    }
+
+    /**
+     * Creates a new {@link LazyResourceObject}.
+     *
+     * @param type the type of the resource object.
+     * @param id   the id of the resource object.
+     * @throws IllegalArgumentException if the type or id is {@code null} or blank.
+     */
+    public LazyResourceObject(String type, String id) {
+        super(type, id);
+    }
+
+    /**
+     * Binds a single attribute of this resource object. The bound value is cached,
+     * so subsequent calls for the same attribute and type return the same value.
+     *
+     * @param name the name of the attribute.
+     * @param type the type of the attribute.
+     * @return the value of the attribute or {@code null}, if this resource object does not have such an attribute.
+     * @throws UncheckedIOException if the attribute could not be bound to the given type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(String name, Class<T> type) {
+        return (T) bind(name, type);
+    }
+
+    /**
+     * Binds a single attribute of this resource object to a generic type.
+     *
+     * @param name the name of the attribute.
+     * @param type the type of the attribute.
+     * @return the value of the attribute or {@code null}, if this resource object does not have such an attribute.
+     * @throws UncheckedIOException if the attribute could not be bound to the given type.
+     * @see #getAttribute(String, Class)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(String name, TypeReference<T> type) {
+        return (T) bind(name, type.getType());
+    }
+
+    /**
+     * @param name the name of an attribute.
+     * @return {@code true}, if the retained "attributes" object contains an attribute with the given name.
+     */
+    public boolean hasAttribute(String name) {
+        return lazyAttributes != null && lazyAttributes.attributes().has(name);
+    }
+
+    /**
+     * @return the names of all retained attributes. The set is empty, if this resource object was not deserialized.
+     */
+    @JsonIgnore
+    public Set<String> getAttributeNames() {
+        if (lazyAttributes == null)
+            return Collections.emptySet();
+
+        Set<String> names = new LinkedHashSet<>();
+        lazyAttributes.attributes().fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    /**
+     * @return the retained, unbound "attributes" object or {@code null}, if this resource object was not deserialized.
+     */
+    @JsonIgnore
+    public JsonNode getUnboundAttributes() {
+        return lazyAttributes == null ? null : lazyAttributes.attributes();
+    }
+
+    /**
+     * Used internally for deserialization
+     */
+    @JsonSetter("attributes")
+    private void setLazyAttributes(LazyAttributes lazyAttributes) {
+        this.lazyAttributes = lazyAttributes;
+        this.boundAttributes.clear();
+    }
+
+    /**
+     * The attribute is bound by the object mapper which deserialized this resource object.
+     * If multiple threads bind the same attribute concurrently, all of them return the value which was cached first.
+     */
+    private Object bind(String name, Type type) {
+        LazyAttributes lazyAttributes = this.lazyAttributes;
+        if (lazyAttributes == null)
+            return null;
+
+        JsonNode node = lazyAttributes.attributes().get(name);
+        if (node == null || node.isNull())
+            return null;
+
+        ObjectMapper objectMapper = lazyAttributes.objectMapper();
+        JavaType javaType = objectMapper.getTypeFactory().constructType(type);
+        String key = name + '\u0000' + javaType.toCanonical();
+        Object value = boundAttributes.get(key);
+        if (value == null) {
+            try {
+                value = objectMapper.treeToValue(node, javaType);
+            } catch (JsonProcessingException exception) {
+                throw new UncheckedIOException(exception);
+            }
+
+            if (value != null) {
+                Object cachedValue = boundAttributes.putIfAbsent(key, value);
+                if (cachedValue != null)
+                    value = cachedValue;
+            }
+        }
+
+        return value;
+    }
+}
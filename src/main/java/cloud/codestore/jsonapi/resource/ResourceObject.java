@@ -181,6 +181,19 @@ public abstract class ResourceObject {
         return new ToManyRelationship<>(resourceObjects);
     }
 
+    /**
+     * Resource objects which rarely change, like reference data, can return a version to allow caching their JSON.
+     * If the resource object cache of the {@link cloud.codestore.jsonapi.JsonApiObjectMapper} is enabled,
+     * a resource object is only serialized once per type, id and version.
+     * The version must change whenever the serialized resource object would change.
+     *
+     * @return the version of this resource object or {@code null}, if it must not be cached.
+     */
+    @JsonIgnore
+    public String getCacheVersion() {
+        return null;
+    }
+
     /**
      * @return a {@link ResourceIdentifierObject} which contains the type and id of this resource object.
      */
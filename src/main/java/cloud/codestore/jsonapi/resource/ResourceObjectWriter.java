@@ -0,0 +1,68 @@
+package cloud.codestore.jsonapi.resource;
+
+import cloud.codestore.jsonapi.relationship.Relationship;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the attributes and relationships of a {@link ResourceObject} class without reflection.
+ * Implementations are generated at compile time for classes which are annotated with {@link JsonApiType},
+ * if the processor option {@code cloud.codestore.jsonapi.writers} is set to {@code true}.
+ * <br/><br/>
+ * This is a micro-optimization of serialization only. The serializer of the resource object is still created by
+ * Jackson, which introspects the class by reflection, and the "type", "id", "links" and "meta" members are still
+ * written by it. Resource objects are always deserialized by Jackson.
+ * <br/><br/>
+ * A writer is only used if its attributes and relationships are the same as the properties which Jackson
+ * determines for the class at runtime. Otherwise, the resource object is serialized by Jackson as usual.
+ *
+ * @param <T> the type of the resource object.
+ */
+public interface ResourceObjectWriter<T extends ResourceObject> {
+    /**
+     * @return the class of the resource objects which are written by this writer.
+     */
+    Class<T> getResourceType();
+
+    /**
+     * @return the names of all attributes.
+     */
+    List<String> getAttributeNames();
+
+    /**
+     * @return the names of all relationships.
+     */
+    List<String> getRelationshipNames();
+
+    /**
+     * Passes all attributes of the given resource object to the given {@link AttributeWriter}, ordered by their names.
+     *
+     * @param resourceObject a resource object.
+     * @param writer         the {@link AttributeWriter}.
+     * @throws IOException if an attribute could not be written.
+     */
+    void writeAttributes(T resourceObject, AttributeWriter writer) throws IOException;
+
+    /**
+     * Puts all non-null relationships of the given resource object into the given map.
+     *
+     * @param resourceObject a resource object.
+     * @param relationships  the relationships mapped by their names.
+     */
+    void collectRelationships(T resourceObject, Map<String, Relationship> relationships);
+
+    /**
+     * Writes a single attribute.
+     */
+    @FunctionalInterface
+    interface AttributeWriter {
+        /**
+         * @param name  the name of the attribute.
+         * @param value the value of the attribute. {@code null} values are not written.
+         * @throws IOException if the attribute could not be written.
+         */
+        void write(String name, Object value) throws IOException;
+    }
+}
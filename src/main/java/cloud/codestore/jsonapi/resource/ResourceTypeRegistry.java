@@ -0,0 +1,23 @@
+package cloud.codestore.jsonapi.resource;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provides the resource types of an application to register them in a single call.
+ * An implementation of this interface is generated at compile time for all classes which are annotated with
+ * {@link JsonApiType}. It is registered as service provider, so it can be loaded by a {@link java.util.ServiceLoader}.
+ */
+public interface ResourceTypeRegistry {
+    /**
+     * @return the Java classes of the resource objects, mapped by the names of their JSON:API types.
+     */
+    Map<String, Class<? extends ResourceObject>> getResourceTypes();
+
+    /**
+     * @return the {@link ResourceObjectWriter}s of the resource types, if they were generated.
+     */
+    default List<ResourceObjectWriter<?>> getResourceObjectWriters() {
+        return List.of();
+    }
+}
@@ -1,9 +1,14 @@
 module cloud.codestore.jsonapi {
     requires transitive com.fasterxml.jackson.databind;
+    requires static java.net.http;
+    requires static jdk.httpserver;
+    requires static java.compiler;
+    requires static jdk.jfr;
 
     exports cloud.codestore.jsonapi;
     exports cloud.codestore.jsonapi.document;
     exports cloud.codestore.jsonapi.error;
+    exports cloud.codestore.jsonapi.http;
     exports cloud.codestore.jsonapi.link;
     exports cloud.codestore.jsonapi.meta;
     exports cloud.codestore.jsonapi.relationship;
@@ -12,9 +17,12 @@ module cloud.codestore.jsonapi {
     opens cloud.codestore.jsonapi to com.fasterxml.jackson.databind;
     opens cloud.codestore.jsonapi.document to com.fasterxml.jackson.databind;
     opens cloud.codestore.jsonapi.error to com.fasterxml.jackson.databind;
+    opens cloud.codestore.jsonapi.http to com.fasterxml.jackson.databind;
     opens cloud.codestore.jsonapi.link to com.fasterxml.jackson.databind;
     opens cloud.codestore.jsonapi.meta to com.fasterxml.jackson.databind;
     opens cloud.codestore.jsonapi.relationship to com.fasterxml.jackson.databind;
     opens cloud.codestore.jsonapi.resource to com.fasterxml.jackson.databind;
     opens cloud.codestore.jsonapi.internal to com.fasterxml.jackson.databind;
+
+    uses cloud.codestore.jsonapi.resource.ResourceTypeRegistry;
 }
\ No newline at end of file
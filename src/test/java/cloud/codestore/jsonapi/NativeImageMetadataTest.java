@@ -0,0 +1,176 @@
+package cloud.codestore.jsonapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the reflection metadata for GraalVM native images against the classes of the library:
+ * every class which is introspected by Jackson and every class which is instantiated by Jackson must be registered.
+ * Arrays are created by {@code Array.newInstance}, so the array types of the properties must be registered as well.
+ */
+@DisplayName("The native image metadata")
+class NativeImageMetadataTest {
+    private static final String REFLECT_CONFIG = "/META-INF/native-image/cloud.codestore/jsonapi/reflect-config.json";
+    private static final String PACKAGE = "cloud.codestore.jsonapi.";
+
+    private static Map<String, JsonNode> entries;
+    private static List<Class<?>> classes;
+
+    @BeforeAll
+    static void loadMetadata() throws Exception {
+        entries = new HashMap<>();
+        try (InputStream input = JsonApiObjectMapper.class.getResourceAsStream(REFLECT_CONFIG)) {
+            assertThat(input).isNotNull();
+            new ObjectMapper().readTree(input).forEach(entry -> entries.put(entry.get("name").asText(), entry));
+        }
+
+        Path classesDirectory = Path.of(JsonApiObjectMapper.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        classes = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(classesDirectory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".class")).toList()) {
+                String name = classesDirectory.relativize(file).toString().replace(".class", "").replace(file.getFileSystem().getSeparator(), ".");
+                if (name.startsWith(PACKAGE) && !name.startsWith(PACKAGE + "processor.") && !name.equals("module-info"))
+                    classes.add(Class.forName(name, false, JsonApiObjectMapper.class.getClassLoader()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("only contains existing classes")
+    void existingClasses() {
+        for (String name : entries.keySet()) {
+            assertThat(classes).extracting(Class::getName).as("registered class").contains(name.replace("[]", ""));
+        }
+    }
+
+    @Test
+    @DisplayName("contains all members of classes with Jackson annotations")
+    void annotatedClasses() {
+        Set<String> missingClasses = new TreeSet<>();
+        for (Class<?> type : classes) {
+            if (!getJacksonAnnotations(type).isEmpty() && !registersAllMembers(entries.get(type.getName())))
+                missingClasses.add(type.getName());
+        }
+
+        assertThat(missingClasses).isEmpty();
+    }
+
+    @Test
+    @DisplayName("contains the constructors of classes which are referenced by Jackson annotations")
+    void referencedClasses() throws Exception {
+        Set<Class<?>> referencedClasses = new HashSet<>();
+        for (Class<?> type : classes) {
+            for (Annotation annotation : getJacksonAnnotations(type)) {
+                collectReferencedClasses(annotation, referencedClasses);
+            }
+        }
+
+        assertThat(referencedClasses).isNotEmpty();
+        Set<String> missingClasses = new TreeSet<>();
+        for (Class<?> type : referencedClasses) {
+            JsonNode entry = entries.get(type.getName());
+            if (entry == null || !(entry.path("allDeclaredConstructors").asBoolean() || hasDefaultConstructor(entry)))
+                missingClasses.add(type.getName());
+        }
+
+        assertThat(missingClasses).isEmpty();
+    }
+
+    @Test
+    @DisplayName("contains the array types of the properties of classes with Jackson annotations")
+    void arrayTypes() {
+        Set<String> missingArrays = new TreeSet<>();
+        for (Class<?> type : classes) {
+            if (getJacksonAnnotations(type).isEmpty())
+                continue;
+
+            List<Class<?>> propertyTypes = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                propertyTypes.add(field.getType());
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                propertyTypes.add(method.getReturnType());
+                propertyTypes.addAll(List.of(method.getParameterTypes()));
+            }
+
+            for (Class<?> propertyType : propertyTypes) {
+                if (propertyType.isArray() && propertyType.getComponentType().getName().startsWith(PACKAGE)) {
+                    String name = propertyType.getComponentType().getName() + "[]";
+                    if (!entries.containsKey(name))
+                        missingArrays.add(name);
+                }
+            }
+        }
+
+        assertThat(missingArrays).isEmpty();
+    }
+
+    private static List<Annotation> getJacksonAnnotations(Class<?> type) {
+        List<AnnotatedElement> elements = new ArrayList<>();
+        elements.add(type);
+        elements.addAll(List.of(type.getDeclaredFields()));
+        elements.addAll(List.of(type.getDeclaredMethods()));
+        elements.addAll(List.of(type.getDeclaredConstructors()));
+
+        List<Annotation> annotations = new ArrayList<>();
+        for (AnnotatedElement element : elements) {
+            for (Annotation annotation : element.getDeclaredAnnotations()) {
+                if (annotation.annotationType().getName().startsWith("com.fasterxml.jackson."))
+                    annotations.add(annotation);
+            }
+        }
+
+        return annotations;
+    }
+
+    private static void collectReferencedClasses(Object value, Set<Class<?>> referencedClasses) throws Exception {
+        if (value instanceof Class<?> type && type.getName().startsWith(PACKAGE)) {
+            referencedClasses.add(type);
+        } else if (value instanceof Object[] array) {
+            for (Object element : array) {
+                collectReferencedClasses(element, referencedClasses);
+            }
+        } else if (value instanceof Annotation annotation) {
+            for (Method member : annotation.annotationType().getDeclaredMethods()) {
+                collectReferencedClasses(member.invoke(annotation), referencedClasses);
+            }
+        }
+    }
+
+    private static boolean registersAllMembers(JsonNode entry) {
+        return entry != null
+               && entry.path("allDeclaredConstructors").asBoolean()
+               && entry.path("allDeclaredMethods").asBoolean()
+               && entry.path("allDeclaredFields").asBoolean();
+    }
+
+    private static boolean hasDefaultConstructor(JsonNode entry) {
+        for (JsonNode method : entry.path("methods")) {
+            if (method.path("name").asText().equals("<init>") && method.path("parameterTypes").isEmpty())
+                return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,181 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.meta.MetaDeserializer;
+import cloud.codestore.jsonapi.meta.MetaInformation;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("An asynchronously read JSON:API document")
+class AsyncDocumentReaderTest {
+    private static final String JSON = """
+            {
+              "data": [{
+                "type": "article",
+                "id": "1",
+                "attributes": {"title": "First"},
+                "relationships": {
+                  "author": {
+                    "data": {"type": "person", "id": "10"},
+                    "meta": {"info": "relationship"}
+                  }
+                },
+                "meta": {"info": "article"}
+              }, {
+                "type": "article",
+                "id": "2",
+                "attributes": {"title": "Second"}
+              }],
+              "included": [{
+                "type": "person",
+                "id": "10",
+                "attributes": {"name": "Jane"}
+              }],
+              "links": {"self": "/articles"},
+              "meta": {"info": "document"}
+            }""";
+
+    private final PointerRecorder pointers = new PointerRecorder();
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper(pointers)
+            .registerResourceType(Article.class)
+            .registerResourceType(Person.class);
+    private final List<Article> articles = new ArrayList<>();
+    private final List<ResourceObject> includedResources = new ArrayList<>();
+
+    @Test
+    @DisplayName("emits every resource object as soon as it is complete")
+    void emitsResourceObjectsEarly() throws Exception {
+        var reader = createReader();
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        int endOfFirstArticle = JSON.indexOf("}, {") + 1;
+
+        reader.feed(bytes, 0, endOfFirstArticle);
+        assertThat(articles).extracting(ResourceObject::getId).containsExactly("1");
+
+        reader.feed(bytes, endOfFirstArticle, bytes.length - endOfFirstArticle);
+        assertThat(articles).extracting(ResourceObject::getId).containsExactly("1", "2");
+        assertThat(includedResources).extracting(ResourceObject::getId).containsExactly("10");
+    }
+
+    @Test
+    @DisplayName("binds attributes and relationships from arbitrarily split chunks")
+    void arbitraryChunks() throws Exception {
+        feedInChunks(createReader(), 3);
+
+        assertThat(articles).extracting(article -> article.title).containsExactly("First", "Second");
+        assertThat(articles.get(0).author.getData().getId()).isEqualTo("10");
+        assertThat(articles.get(1).author).isNull();
+        assertThat(((Person) includedResources.get(0)).name).isEqualTo("Jane");
+    }
+
+    @Test
+    @DisplayName("returns the remaining top-level members")
+    void topLevelMembers() throws Exception {
+        JsonApiDocument document = feedInChunks(createReader(), 16);
+
+        assertThat(document).isInstanceOf(ResourceCollectionDocument.class);
+        assertThat(((ResourceCollectionDocument<?>) document).getData()).isNull();
+        assertThat(document.getIncludedResources()).isEmpty();
+        assertThat(document.getLinks().getSelfLink()).isEqualTo("/articles");
+    }
+
+    @Test
+    @DisplayName("passes the JSON pointers of the document to the meta deserializer")
+    void metaPointers() throws Exception {
+        feedInChunks(createReader(), 5);
+        assertThat(pointers.pointers).containsExactlyInAnyOrder(
+                "/data/0/relationships/author/meta",
+                "/data/0/meta",
+                "/meta"
+        );
+    }
+
+    @Test
+    @DisplayName("fails if the document is incomplete")
+    void incompleteDocument() throws Exception {
+        var reader = createReader();
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        reader.feed(bytes, 0, bytes.length / 2);
+        assertThatThrownBy(reader::complete).isInstanceOf(JsonParseException.class);
+    }
+
+    @Nested
+    @DisplayName("with a single resource object")
+    class SingleResourceTest {
+        @Test
+        @DisplayName("emits the primary data and returns a single resource document")
+        void singleResource() throws Exception {
+            var reader = createReader();
+            byte[] bytes = """
+                    {"data": {"type": "article", "id": "1", "attributes": {"title": "Single"}}, "meta": {"info": "document"}}
+                    """.getBytes(StandardCharsets.UTF_8);
+            reader.feed(bytes, 0, bytes.length);
+
+            assertThat(articles).extracting(article -> article.title).containsExactly("Single");
+            assertThat(reader.complete()).isInstanceOf(SingleResourceDocument.class);
+            assertThat(pointers.pointers).containsExactly("/meta");
+        }
+    }
+
+    private AsyncDocumentReader<Article> createReader() {
+        return new AsyncDocumentReader<>(objectMapper, Article.class, articles::add)
+                .onIncludedResource(includedResources::add);
+    }
+
+    private JsonApiDocument feedInChunks(AsyncDocumentReader<?> reader, int chunkSize) throws Exception {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            reader.feed(bytes, offset, Math.min(chunkSize, bytes.length - offset));
+        }
+
+        return reader.complete();
+    }
+
+    private static class PointerRecorder implements MetaDeserializer {
+        final Set<String> pointers = Collections.synchronizedSet(new HashSet<>());
+
+        @Override
+        public Class<? extends MetaInformation> getClass(String pointer) {
+            pointers.add(pointer);
+            return null;
+        }
+    }
+
+    private static class Article extends ResourceObject {
+        final String title;
+        final ToOneRelationship<Person> author;
+
+        @JsonCreator
+        Article(@JsonProperty("title") String title, @JsonProperty("author") ToOneRelationship<Person> author) {
+            super("article");
+            this.title = title;
+            this.author = author;
+        }
+    }
+
+    private static class Person extends ResourceObject {
+        final String name;
+
+        @JsonCreator
+        Person(@JsonProperty("name") String name) {
+            super("person");
+            this.name = name;
+        }
+    }
+}
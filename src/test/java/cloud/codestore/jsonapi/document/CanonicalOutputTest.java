@@ -0,0 +1,110 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.link.Link;
+import cloud.codestore.jsonapi.meta.MetaInformation;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A JSON:API document written in canonical output mode")
+class CanonicalOutputTest {
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper().enableCanonicalOutput();
+
+    @Test
+    @DisplayName("does not depend on the insertion order of links, meta and extension members")
+    void insertionOrder() throws Exception {
+        String first = objectMapper.writeValueAsString(createDocument(List.of("b", "a", "c"), "2", "1"));
+        String second = objectMapper.writeValueAsString(createDocument(List.of("c", "b", "a"), "1", "2"));
+
+        assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("sorts links, meta and extension members by their names")
+    void sortedMembers() throws Exception {
+        String json = objectMapper.writeValueAsString(createDocument(List.of("b", "a", "c"), "2", "1"));
+
+        assertThat(json).containsSubsequence("\"first\"", "\"next\"", "\"self\"", "\"a\"", "\"b\"", "\"c\"");
+        assertThat(json).containsSubsequence("\"ext:a\"", "\"ext:b\"", "\"ext:c\"");
+    }
+
+    @Test
+    @DisplayName("sorts the included resources by their type and id")
+    void sortedIncludedResources() throws Exception {
+        var document = JsonApiDocument.of(new Article("1"));
+        document.include(new Person("2"), new Article("3"), new Person("1"));
+
+        assertThat(objectMapper.writeValueAsString(document)).containsSubsequence(
+                "\"included\"",
+                "\"type\" : \"article\"", "\"id\" : \"3\"",
+                "\"type\" : \"person\"", "\"id\" : \"1\"",
+                "\"type\" : \"person\"", "\"id\" : \"2\""
+        );
+    }
+
+    @Test
+    @DisplayName("can be disabled")
+    void disabled() throws Exception {
+        var document = JsonApiDocument.of(new Article("1"));
+        document.include(new Person("2"), new Person("1"));
+
+        objectMapper.disableCanonicalOutput();
+        assertThat(objectMapper.writeValueAsString(document)).containsSubsequence("\"id\" : \"2\"", "\"id\" : \"1\"");
+    }
+
+    private JsonApiDocument createDocument(List<String> keys, String... includedIds) {
+        var document = JsonApiDocument.of(new Article("1"));
+        var meta = new MapMeta();
+        for (String key : keys) {
+            meta.values.put(key, key.toUpperCase());
+            document.setExtensionMember("ext:" + key, key);
+        }
+
+        document.setMeta(meta);
+        if (keys.get(0).equals("b")) {
+            document.setSelfLink("/articles").getLinks().add("next", new Link("/articles?page=2")).add("first", new Link("/articles"));
+        } else {
+            document.getLinks().add("first", new Link("/articles")).add("next", new Link("/articles?page=2"));
+            document.setSelfLink("/articles");
+        }
+
+        for (String id : includedIds) {
+            document.include(new Person(id));
+        }
+
+        return document;
+    }
+
+    private static class MapMeta implements MetaInformation {
+        final Map<String, Object> values = new LinkedHashMap<>();
+
+        @JsonAnyGetter
+        Map<String, Object> getValues() {
+            return values;
+        }
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty("title")
+        String title = "Title";
+
+        Article(String id) {
+            super("article", id);
+        }
+    }
+
+    private static class Person extends ResourceObject {
+        Person(String id) {
+            super("person", id);
+        }
+    }
+}
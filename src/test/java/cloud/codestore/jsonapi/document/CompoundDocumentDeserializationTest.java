@@ -1,5 +1,6 @@
 package cloud.codestore.jsonapi.document;
 
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
 import cloud.codestore.jsonapi.TestObjectReader;
 import cloud.codestore.jsonapi.relationship.ToManyRelationship;
 import cloud.codestore.jsonapi.relationship.ToOneRelationship;
@@ -8,6 +9,7 @@ import cloud.codestore.jsonapi.resource.ResourceObject;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -19,6 +21,33 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DisplayName("A compound document")
 class CompoundDocumentDeserializationTest {
     private static final TestObjectReader reader = new TestObjectReader(Article.class, Person.class, Comment.class);
+    private static final String NUMERIC_IDS = """
+                {
+                  "data": {
+                    "type": "article",
+                    "id": "1",
+                    "relationships": {
+                      "comments": {
+                        "data": [
+                          {"type":"comment", "id":"7"},
+                          {"type":"comment", "id":"007"},
+                          {"type":"comment", "id":"9223372036854775807"},
+                          {"type":"comment", "id":"9223372036854775808"},
+                          {"type":"comment", "id":"-1"},
+                          {"type":"person", "id":"7"}
+                        ]
+                      }
+                    }
+                  },
+                  "included": [
+                    {"type": "comment", "id": "-1", "attributes": {"text": "negative"}},
+                    {"type": "comment", "id": "9223372036854775808", "attributes": {"text": "too large"}},
+                    {"type": "comment", "id": "9223372036854775807", "attributes": {"text": "largest"}},
+                    {"type": "comment", "id": "007", "attributes": {"text": "leading zeros"}},
+                    {"type": "comment", "id": "7", "attributes": {"text": "seven"}},
+                    {"type": "comment", "id": "7", "attributes": {"text": "duplicate"}}
+                  ]
+                }""";
 
     @Test
     @DisplayName("must contain an array of resource objects in a top-level included member")
@@ -130,6 +159,92 @@ class CompoundDocumentDeserializationTest {
 
     }
 
+    @Test
+    @DisplayName("links numeric and non-numeric ids exactly by their string representation")
+    void numericIds() {
+        var document = reader.read(NUMERIC_IDS, new TypeReference<SingleResourceDocument<Article>>() {});
+        assertNumericIdsLinked(document);
+    }
+
+    @Test
+    @DisplayName("links numeric and non-numeric ids exactly by their string representation if numeric ids are enabled")
+    void enabledNumericIds() throws Exception {
+        var objectMapper = new JsonApiObjectMapper().enableNumericIds();
+        objectMapper.registerResourceType(Article.class);
+        objectMapper.registerResourceType(Person.class);
+        objectMapper.registerResourceType(Comment.class);
+
+        var document = objectMapper.readValue(NUMERIC_IDS, new TypeReference<SingleResourceDocument<Article>>() {});
+        assertNumericIdsLinked(document);
+    }
+
+    @Test
+    @DisplayName("keeps compact numeric resource linkage of resources which are not included")
+    void compactNumericLinkage() throws Exception {
+        var objectMapper = new JsonApiObjectMapper().enableNumericIds();
+        objectMapper.registerResourceType(Article.class);
+        objectMapper.registerResourceType(Person.class);
+        objectMapper.registerResourceType(Comment.class);
+
+        var document = objectMapper.readValue("""
+                {
+                  "data": {
+                    "type": "article",
+                    "id": "1",
+                    "relationships": {
+                      "comments": {"data": [{"type":"comment", "id":"5"}, {"type":"comment", "id":"12"}]}
+                    }
+                  }
+                }""", new TypeReference<SingleResourceDocument<Article>>() {});
+
+        Article article = document.getData();
+        assertThat(article.comments.getRelatedResource()).isNull();
+        assertThat(article.comments.getData()).containsExactly(
+                new ResourceIdentifierObject("comment", "5"),
+                new ResourceIdentifierObject("comment", "12")
+        );
+        assertThat(objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(article.comments))
+                .isEqualTo("{\"data\":[{\"type\":\"comment\",\"id\":\"5\"},{\"type\":\"comment\",\"id\":\"12\"}]}");
+    }
+
+    @Test
+    @DisplayName("links compact numeric resource linkage to included resources")
+    void linkCompactNumericLinkage() throws Exception {
+        var objectMapper = new JsonApiObjectMapper().enableNumericIds();
+        objectMapper.registerResourceType(Article.class);
+        objectMapper.registerResourceType(Person.class);
+        objectMapper.registerResourceType(Comment.class);
+
+        var document = objectMapper.readValue("""
+                {
+                  "data": {
+                    "type": "article",
+                    "id": "1",
+                    "relationships": {
+                      "author": {"data": {"type":"person", "id":"9"}},
+                      "comments": {"data": [{"type":"comment", "id":"12"}, {"type":"comment", "id":"5"}]}
+                    }
+                  },
+                  "included": [
+                    {"type": "person", "id": "9", "attributes": {"name": "Dan"}},
+                    {"type": "comment", "id": "5", "attributes": {"text": "five"}},
+                    {"type": "comment", "id": "12", "attributes": {"text": "twelve"}}
+                  ]
+                }""", new TypeReference<SingleResourceDocument<Article>>() {});
+
+        assertThat(document.getData().author.getRelatedResource().name).isEqualTo("Dan");
+        assertThat(document.getData().comments.getRelatedResource())
+                .extracting(comment -> comment.text)
+                .containsExactly("twelve", "five");
+    }
+
+    private static void assertNumericIdsLinked(SingleResourceDocument<Article> document) {
+        assertThat(document.getIncludedResources()).hasSize(5);
+        assertThat(document.getData().comments.getRelatedResource())
+                .extracting(comment -> comment.text)
+                .containsExactly("seven", "leading zeros", "largest", "too large", "negative");
+    }
+
     private static class Article extends ResourceObject {
         String title;
         ToOneRelationship<Person> author;
@@ -0,0 +1,228 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.DocumentLimitExceededException;
+import cloud.codestore.jsonapi.DocumentLimitExceededException.Limit;
+import cloud.codestore.jsonapi.DocumentLimits;
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.error.ErrorObject;
+import cloud.codestore.jsonapi.relationship.ToManyRelationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@DisplayName("Document limits")
+class DocumentLimitsTest {
+    private static final String DOCUMENT = """
+            {
+              "data": [{
+                "type": "article",
+                "id": "1",
+                "relationships": {
+                  "comments": {"data": [{"type": "comment", "id": "1"}, {"type": "comment", "id": "2"}]}
+                }
+              }, {
+                "type": "article",
+                "id": "2"
+              }],
+              "included": [{"type": "comment", "id": "1"}, {"type": "comment", "id": "2"}]
+            }""";
+
+    @Test
+    @DisplayName("do not restrict documents within the limits")
+    void withinLimits() throws Exception {
+        var document = read(new DocumentLimits(10, DOCUMENT.length(), 2, 2, 2), DOCUMENT);
+
+        assertThat(document.getIncludedResources()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("restrict the number of resources in the primary data")
+    void maxResources() {
+        var exception = readFailing(DocumentLimits.UNLIMITED.withMaxResources(1), DOCUMENT);
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.RESOURCES);
+        assertThat(exception.getPointer()).isEqualTo("/data");
+    }
+
+    @Test
+    @DisplayName("restrict the number of included resources")
+    void maxIncludedResources() {
+        var exception = readFailing(DocumentLimits.UNLIMITED.withMaxIncludedResources(1), DOCUMENT);
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.INCLUDED_RESOURCES);
+        assertThat(exception.getPointer()).isEqualTo("/included");
+    }
+
+    @Test
+    @DisplayName("restrict the resource linkage of relationships")
+    void maxLinkage() {
+        var exception = readFailing(DocumentLimits.UNLIMITED.withMaxLinkage(1), DOCUMENT);
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.LINKAGE);
+        assertThat(exception.getPointer()).isEqualTo("/data/0/relationships/comments/data");
+    }
+
+    @Test
+    @DisplayName("restrict the nesting depth while parsing")
+    void maxDepth() {
+        var exception = readFailing(DocumentLimits.UNLIMITED.withMaxDepth(4), DOCUMENT);
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.DEPTH);
+        assertThat(exception.getMaximum()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("restrict the length of documents")
+    void maxBytes() {
+        var exception = readFailing(DocumentLimits.UNLIMITED.withMaxBytes(100), DOCUMENT);
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.BYTES);
+    }
+
+    @Test
+    @DisplayName("restrict the length of streamed documents while parsing")
+    void maxBytesWhileStreaming() {
+        var objectMapper = createObjectMapper(DocumentLimits.UNLIMITED.withMaxBytes(10_000));
+        String document = "{\"data\": [" + "{\"type\": \"article\", \"id\": \"1\"},".repeat(1000) + "{\"type\": \"article\", \"id\": \"1\"}]}";
+        var input = new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+
+        var exception = catchThrowableOfType(
+                () -> objectMapper.readValue(input, JsonApiDocument.class),
+                DocumentLimitExceededException.class
+        );
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.BYTES);
+        assertThat(exception.getCause()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("reset the constraints of the parser which are not limited to the defaults")
+    void unlimitedConstraints() {
+        var defaults = StreamReadConstraints.defaults();
+        var objectMapper = createObjectMapper(DocumentLimits.UNLIMITED.withMaxDepth(10).withMaxBytes(100));
+        objectMapper.setDocumentLimits(DocumentLimits.UNLIMITED.withMaxBytes(10_000));
+
+        var constraints = objectMapper.getFactory().streamReadConstraints();
+        assertThat(constraints.getMaxNestingDepth()).isEqualTo(defaults.getMaxNestingDepth());
+        assertThat(constraints.getMaxDocumentLength()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("may be relaxed beyond the defaults of the parser")
+    void relaxedConstraints() {
+        var objectMapper = createObjectMapper(DocumentLimits.UNLIMITED.withMaxDepth(10));
+        objectMapper.setDocumentLimits(DocumentLimits.UNLIMITED.withMaxDepth(5000));
+
+        assertThat(objectMapper.getFactory().streamReadConstraints().getMaxNestingDepth()).isEqualTo(5000);
+    }
+
+    @Test
+    @DisplayName("fail as soon as an array exceeds a limit")
+    void failFast() {
+        String malformedRest = ", {\"type\": \"article\", \"id\": \"3\"} ]]]";
+        String document = DOCUMENT.substring(0, DOCUMENT.indexOf("\"included\"")) + "\"included\": [" +
+                          "{\"type\": \"comment\", \"id\": \"1\"}, {\"type\": \"comment\", \"id\": \"2\"}" + malformedRest;
+
+        var exception = readFailing(DocumentLimits.UNLIMITED.withMaxIncludedResources(1), document);
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.INCLUDED_RESOURCES);
+    }
+
+    @Test
+    @DisplayName("apply to asynchronously read documents")
+    void asyncDocuments() throws Exception {
+        var objectMapper = createObjectMapper(DocumentLimits.UNLIMITED.withMaxResources(1));
+        var reader = new AsyncDocumentReader<>(objectMapper, Article.class, article -> {});
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+
+        var exception = catchThrowableOfType(() -> reader.feed(bytes, 0, bytes.length), DocumentLimitExceededException.class);
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.RESOURCES);
+        assertThat(exception.getPointer()).isEqualTo("/data");
+    }
+
+    @Test
+    @DisplayName("restrict the nesting depth of asynchronously read documents")
+    void asyncMaxDepth() throws Exception {
+        var objectMapper = createObjectMapper(DocumentLimits.UNLIMITED.withMaxDepth(4));
+        var reader = new AsyncDocumentReader<>(objectMapper, Article.class, article -> {});
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+
+        var exception = catchThrowableOfType(() -> reader.feed(bytes, 0, bytes.length), DocumentLimitExceededException.class);
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.DEPTH);
+    }
+
+    @Test
+    @DisplayName("do not translate violations of other constraints of the parser")
+    void otherConstraints() {
+        var objectMapper = createObjectMapper(DocumentLimits.UNLIMITED.withMaxDepth(10));
+        objectMapper.getFactory().setStreamReadConstraints(
+                objectMapper.getFactory().streamReadConstraints().rebuild().maxStringLength(10).build()
+        );
+
+        assertThatThrownBy(() -> objectMapper.readValue(DOCUMENT.replace("\"1\"", "\"" + "1".repeat(20) + "\""), JsonApiDocument.class))
+                .isInstanceOf(StreamConstraintsException.class)
+                .isNotInstanceOf(DocumentLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("provide an error document")
+    void errorDocument() {
+        var exception = readFailing(DocumentLimits.UNLIMITED.withMaxLinkage(1), DOCUMENT);
+
+        ErrorObject error = exception.getErrorDocument().getErrors()[0];
+        assertThat(error.getStatus()).isEqualTo("400");
+        assertThat(error.getCode()).isEqualTo("document-limit-exceeded");
+        assertThat(error.getDetail()).isEqualTo(
+                "The number of resource identifier objects of the relationship exceeds the maximum of 1.");
+        assertThat(error.getSource().getPointer()).isEqualTo("/data/0/relationships/comments/data");
+    }
+
+    @Test
+    @DisplayName("must be greater than 0")
+    void invalidLimits() {
+        assertThatThrownBy(() -> DocumentLimits.UNLIMITED.withMaxResources(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private JsonApiDocument read(DocumentLimits limits, String json) throws Exception {
+        return createObjectMapper(limits).readValue(json, JsonApiDocument.class);
+    }
+
+    private DocumentLimitExceededException readFailing(DocumentLimits limits, String json) {
+        return catchThrowableOfType(() -> read(limits, json), DocumentLimitExceededException.class);
+    }
+
+    private JsonApiObjectMapper createObjectMapper(DocumentLimits limits) {
+        return new JsonApiObjectMapper()
+                .registerResourceType(Article.class)
+                .registerResourceType(Comment.class)
+                .setDocumentLimits(limits);
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty("comments")
+        ToManyRelationship<Comment> comments;
+
+        Article() {
+            super("article");
+        }
+    }
+
+    private static class Comment extends ResourceObject {
+        Comment() {
+            super("comment");
+        }
+    }
+}
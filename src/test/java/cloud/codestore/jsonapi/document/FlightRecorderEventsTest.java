@@ -0,0 +1,129 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("The flight recorder events")
+class FlightRecorderEventsTest {
+    private static final String[] EVENTS = {
+            "cloud.codestore.jsonapi.DocumentRead",
+            "cloud.codestore.jsonapi.DocumentWrite",
+            "cloud.codestore.jsonapi.Unwrap",
+            "cloud.codestore.jsonapi.Link",
+            "cloud.codestore.jsonapi.Inclusion",
+            "cloud.codestore.jsonapi.MetaResolution"
+    };
+
+    private static final String DOCUMENT = """
+            {
+              "data": {
+                "type": "article",
+                "id": "1",
+                "relationships": {
+                  "author": {"data": {"type": "person", "id": "9"}}
+                },
+                "meta": {"views": 5}
+              },
+              "included": [{"type": "person", "id": "9"}]
+            }""";
+
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper()
+            .registerResourceType(Article.class)
+            .registerResourceType(Person.class);
+
+    @Test
+    @DisplayName("record the phases of deserialization")
+    void deserialization(@TempDir Path directory) throws Exception {
+        Map<String, RecordedEvent> events = record(directory, () -> objectMapper.readValue(DOCUMENT, JsonApiDocument.class));
+
+        RecordedEvent read = events.get("cloud.codestore.jsonapi.DocumentRead");
+        assertThat(read.getString("documentType")).isEqualTo(SingleResourceDocument.class.getName());
+        assertThat(read.getInt("resources")).isEqualTo(1);
+        assertThat(read.getInt("includedResources")).isEqualTo(1);
+        assertThat(read.getLong("length")).isEqualTo(DOCUMENT.length());
+
+        RecordedEvent unwrap = events.get("cloud.codestore.jsonapi.Unwrap");
+        assertThat(unwrap.getInt("resources")).isEqualTo(1);
+        assertThat(unwrap.getInt("includedResources")).isEqualTo(1);
+
+        RecordedEvent link = events.get("cloud.codestore.jsonapi.Link");
+        assertThat(link.getInt("relationships")).isEqualTo(1);
+        assertThat(link.getInt("includedResources")).isEqualTo(1);
+
+        RecordedEvent meta = events.get("cloud.codestore.jsonapi.MetaResolution");
+        assertThat(meta.getString("pointer")).isEqualTo("/data/meta");
+    }
+
+    @Test
+    @DisplayName("record the phases of serialization")
+    void serialization(@TempDir Path directory) throws Exception {
+        Article article = new Article();
+        article.author = new ToOneRelationship<>(new Person());
+
+        Map<String, RecordedEvent> events = record(directory, () -> objectMapper.writeValueAsString(JsonApiDocument.of(article)));
+
+        RecordedEvent write = events.get("cloud.codestore.jsonapi.DocumentWrite");
+        assertThat(write.getString("documentType")).isEqualTo(SingleResourceDocument.class.getName());
+        assertThat(write.getInt("resources")).isEqualTo(1);
+        assertThat(write.getInt("includedResources")).isEqualTo(1);
+
+        RecordedEvent inclusion = events.get("cloud.codestore.jsonapi.Inclusion");
+        assertThat(inclusion.getString("resourceType")).isEqualTo("article");
+        assertThat(inclusion.getInt("includedResources")).isEqualTo(1);
+    }
+
+    private Map<String, RecordedEvent> record(Path directory, Action action) throws Exception {
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            for (String event : EVENTS) {
+                recording.enable(event).withoutThreshold();
+            }
+
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        return events.stream().collect(Collectors.toMap(
+                event -> event.getEventType().getName(),
+                event -> event,
+                (first, second) -> first
+        ));
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty("author")
+        ToOneRelationship<Person> author;
+
+        Article() {
+            super("article", "1");
+        }
+    }
+
+    private static class Person extends ResourceObject {
+        Person() {
+            super("person", "9");
+        }
+    }
+}
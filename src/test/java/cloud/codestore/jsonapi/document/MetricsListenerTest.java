@@ -0,0 +1,176 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.DocumentStatistics;
+import cloud.codestore.jsonapi.DocumentStatistics.Phase;
+import cloud.codestore.jsonapi.DummyMetaInformation;
+import cloud.codestore.jsonapi.JsonApiMetricsListener;
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A metrics listener")
+class MetricsListenerTest {
+    private static final String DOCUMENT = """
+            {
+              "data": [{
+                "type": "article",
+                "id": "1",
+                "relationships": {
+                  "author": {"data": {"type": "person", "id": "9"}}
+                },
+                "meta": {"info": "first"}
+              }, {
+                "type": "article",
+                "id": "2",
+                "relationships": {
+                  "author": {"data": {"type": "person", "id": "9"}}
+                }
+              }],
+              "included": [{
+                "type": "person",
+                "id": "9",
+                "relationships": {
+                  "employer": {"data": {"type": "company", "id": "3"}}
+                },
+                "meta": {"info": "author"}
+              }, {
+                "type": "company",
+                "id": "3"
+              }]
+            }""";
+
+    private final Recorder recorder = new Recorder();
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper(pointer -> DummyMetaInformation.class)
+            .registerResourceType(Article.class)
+            .registerResourceType(Person.class)
+            .registerResourceType(Company.class)
+            .setMetricsListener(recorder);
+
+    @Test
+    @DisplayName("receives the statistics of deserialized documents")
+    void read() throws Exception {
+        objectMapper.readValue(DOCUMENT, JsonApiDocument.class);
+
+        assertThat(recorder.read).hasSize(1);
+        DocumentStatistics statistics = recorder.read.get(0);
+        assertThat(statistics.documentType()).isEqualTo(ResourceCollectionDocument.class);
+        assertThat(statistics.resources()).isEqualTo(2);
+        assertThat(statistics.includedResources()).isEqualTo(2);
+        assertThat(statistics.maxIncludeDepth()).isEqualTo(2);
+        assertThat(statistics.relationships()).isEqualTo(3);
+        assertThat(statistics.metaObjects()).isEqualTo(2);
+        assertThat(statistics.bytes()).isEqualTo(DOCUMENT.length());
+        assertThat(statistics.nanos(Phase.TOTAL)).isPositive();
+        assertThat(statistics.nanos(Phase.TOTAL)).isGreaterThanOrEqualTo(
+                statistics.nanos(Phase.UNWRAP) + statistics.nanos(Phase.BIND) + statistics.nanos(Phase.LINK));
+        assertThat(statistics.nanos(Phase.INCLUDE)).isZero();
+    }
+
+    @Test
+    @DisplayName("receives the statistics of serialized documents")
+    void write() throws Exception {
+        Person person = new Person("9");
+        person.employer = new ToOneRelationship<>(new Company());
+        Article first = new Article("1");
+        first.author = new ToOneRelationship<>(person);
+        Article second = new Article("2");
+        second.author = new ToOneRelationship<>(person);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        objectMapper.writeValue(output, JsonApiDocument.of(new Article[]{first, second}));
+
+        assertThat(recorder.written).hasSize(1);
+        DocumentStatistics statistics = recorder.written.get(0);
+        assertThat(statistics.documentType()).isEqualTo(ResourceCollectionDocument.class);
+        assertThat(statistics.resources()).isEqualTo(2);
+        assertThat(statistics.includedResources()).isEqualTo(2);
+        assertThat(statistics.maxIncludeDepth()).isEqualTo(2);
+        assertThat(statistics.relationships()).isEqualTo(3);
+        assertThat(statistics.metaObjects()).isZero();
+        assertThat(statistics.bytes()).isEqualTo(output.size());
+        assertThat(statistics.nanos(Phase.INCLUDE)).isPositive();
+        assertThat(statistics.nanos(Phase.TOTAL)).isGreaterThanOrEqualTo(statistics.nanos(Phase.INCLUDE));
+    }
+
+    @Test
+    @DisplayName("counts the characters of documents written as string")
+    void writeString() throws Exception {
+        String json = objectMapper.writeValueAsString(JsonApiDocument.of(new Article("1")));
+
+        assertThat(recorder.written.get(0).bytes()).isEqualTo(json.length());
+        assertThat(recorder.written.get(0).maxIncludeDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("is not called after it was removed")
+    void removed() throws Exception {
+        objectMapper.setMetricsListener(null);
+        objectMapper.readValue(DOCUMENT, JsonApiDocument.class);
+
+        assertThat(recorder.read).isEmpty();
+    }
+
+    @Test
+    @DisplayName("does not count the output after it was removed")
+    void outputNotCounted() {
+        objectMapper.setMetricsListener(null);
+
+        assertThat(objectMapper.getFactory().getOutputDecorator()).isNull();
+    }
+
+    private static class Recorder implements JsonApiMetricsListener {
+        final List<DocumentStatistics> read = new ArrayList<>();
+        final List<DocumentStatistics> written = new ArrayList<>();
+
+        @Override
+        public void documentRead(DocumentStatistics statistics) {
+            read.add(statistics);
+        }
+
+        @Override
+        public void documentWritten(DocumentStatistics statistics) {
+            written.add(statistics);
+        }
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty("author")
+        ToOneRelationship<Person> author;
+
+        Article() {
+            super("article");
+        }
+
+        Article(String id) {
+            super("article", id);
+        }
+    }
+
+    private static class Person extends ResourceObject {
+        @JsonProperty("employer")
+        ToOneRelationship<Company> employer;
+
+        Person() {
+            super("person");
+        }
+
+        Person(String id) {
+            super("person", id);
+        }
+    }
+
+    private static class Company extends ResourceObject {
+        Company() {
+            super("company", "3");
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.OutputLimitExceededException;
+import cloud.codestore.jsonapi.OutputLimitExceededException.Limit;
+import cloud.codestore.jsonapi.OutputLimits;
+import cloud.codestore.jsonapi.meta.MetaInformation;
+import cloud.codestore.jsonapi.relationship.ToManyRelationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@DisplayName("Output limits")
+class OutputLimitsTest {
+    private static final OutputLimits TRUNCATE = OutputLimits.UNLIMITED.withAction(OutputLimits.Action.TRUNCATE);
+
+    @Test
+    @DisplayName("do not restrict documents within the limits")
+    void withinLimits() throws Exception {
+        JsonNode json = write(new OutputLimits(4, 2, 10_000, OutputLimits.Action.FAIL), article());
+
+        assertThat(json.get("included")).hasSize(4);
+        assertThat(json.has("meta")).isFalse();
+    }
+
+    @Test
+    @DisplayName("fail if there are too many included resources")
+    void failOnIncludedResources() {
+        var exception = writeFailing(OutputLimits.UNLIMITED.withMaxIncludedResources(3), article());
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.INCLUDED_RESOURCES);
+        assertThat(exception.getMaximum()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("fail if the inclusion depth is exceeded")
+    void failOnInclusionDepth() {
+        var exception = writeFailing(OutputLimits.UNLIMITED.withMaxInclusionDepth(1), article());
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.INCLUSION_DEPTH);
+    }
+
+    @Test
+    @DisplayName("can truncate the included resources and keep the resource linkage")
+    void truncateIncludedResources() throws Exception {
+        JsonNode json = write(TRUNCATE.withMaxIncludedResources(2), article());
+
+        assertThat(json.get("included")).extracting(resource -> resource.get("id").asText()).containsExactly("1", "2");
+        assertThat(json.at("/data/relationships/comments/data")).hasSize(3);
+        assertThat(json.at("/meta/truncated")).extracting(JsonNode::asText).containsExactly("includedResources");
+    }
+
+    @Test
+    @DisplayName("can truncate related resources which exceed the inclusion depth")
+    void truncateInclusionDepth() throws Exception {
+        JsonNode json = write(TRUNCATE.withMaxInclusionDepth(1), article());
+
+        assertThat(json.get("included")).extracting(resource -> resource.get("id").asText()).containsExactly("1", "2", "3");
+        assertThat(json.at("/included/0/relationships/answers/data/0/id").asText()).isEqualTo("4");
+        assertThat(json.at("/meta/truncated")).extracting(JsonNode::asText).containsExactly("inclusionDepth");
+    }
+
+    @Test
+    @DisplayName("can truncate the included resources which exceed the maximum number of bytes")
+    void truncateBytes() throws Exception {
+        var article = article();
+        int primaryDataLength = new JsonApiObjectMapper().writeValueAsString(article).length();
+
+        JsonNode json = write(TRUNCATE.withMaxBytes(primaryDataLength + 100), article);
+
+        assertThat(json.get("included")).hasSizeBetween(1, 3);
+        assertThat(json.at("/meta/truncated")).extracting(JsonNode::asText).containsExactly("bytes");
+    }
+
+    @Test
+    @DisplayName("fail if the primary data exceeds the maximum number of bytes")
+    void failOnPrimaryDataBytes() {
+        var articles = IntStream.range(0, 10).mapToObj(i -> article()).toArray(Article[]::new);
+        var objectMapper = new JsonApiObjectMapper().setOutputLimits(TRUNCATE.withMaxBytes(100));
+
+        var exception = catchThrowableOfType(
+                () -> objectMapper.writeValueAsString(JsonApiDocument.of(articles)),
+                OutputLimitExceededException.class
+        );
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.BYTES);
+    }
+
+    @Test
+    @DisplayName("omit the included resources if the primary data already exceeds the maximum number of bytes")
+    void truncateAllIncludedResources() throws Exception {
+        var article = article();
+        int primaryDataLength = new JsonApiObjectMapper().writeValueAsString(article).length();
+
+        JsonNode json = write(TRUNCATE.withMaxBytes(primaryDataLength), article);
+
+        assertThat(json.has("included")).isFalse();
+        assertThat(json.at("/data/relationships/comments/data")).hasSize(3);
+        assertThat(json.at("/meta/truncated")).extracting(JsonNode::asText).containsExactly("bytes");
+    }
+
+    @Test
+    @DisplayName("count the included resources of all chunks which are serialized in parallel")
+    void parallelIncludedResources() throws Exception {
+        var articles = IntStream.range(0, 8).mapToObj(i -> new Article(new Comment(String.valueOf(i)))).toArray(Article[]::new);
+        var objectMapper = new JsonApiObjectMapper().enableParallelSerialization(2)
+                                                    .setOutputLimits(TRUNCATE.withMaxIncludedResources(3));
+
+        JsonNode json = new ObjectMapper().readTree(objectMapper.writeValueAsString(JsonApiDocument.of(articles)));
+
+        assertThat(json.get("included")).hasSize(3);
+        assertThat(json.at("/meta/truncated")).extracting(JsonNode::asText).containsExactly("includedResources");
+    }
+
+    @Test
+    @DisplayName("count the bytes of all chunks which are serialized in parallel")
+    void parallelBytes() {
+        var articles = IntStream.range(0, 10).mapToObj(i -> article()).toArray(Article[]::new);
+        var objectMapper = new JsonApiObjectMapper().enableParallelSerialization(2)
+                                                    .setOutputLimits(TRUNCATE.withMaxBytes(500));
+
+        var exception = catchThrowableOfType(
+                () -> objectMapper.writeValueAsString(JsonApiDocument.of(articles)),
+                OutputLimitExceededException.class
+        );
+
+        assertThat(exception.getLimit()).isEqualTo(Limit.BYTES);
+    }
+
+    @Test
+    @DisplayName("keep the meta information of a truncated document")
+    void existingMeta() throws Exception {
+        var document = JsonApiDocument.of(article()).setMeta(new Meta());
+        var objectMapper = new JsonApiObjectMapper().setOutputLimits(TRUNCATE.withMaxIncludedResources(1));
+
+        JsonNode json = new ObjectMapper().readTree(objectMapper.writeValueAsString(document));
+
+        assertThat(json.at("/meta/total").asInt()).isEqualTo(42);
+        assertThat(json.at("/meta/truncated")).extracting(JsonNode::asText).containsExactly("includedResources");
+    }
+
+    private static JsonNode write(OutputLimits limits, Article article) throws Exception {
+        var objectMapper = new JsonApiObjectMapper().setOutputLimits(limits);
+        return new ObjectMapper().readTree(objectMapper.writeValueAsString(JsonApiDocument.of(article)));
+    }
+
+    private static OutputLimitExceededException writeFailing(OutputLimits limits, Article article) {
+        var objectMapper = new JsonApiObjectMapper().setOutputLimits(limits);
+        return catchThrowableOfType(
+                () -> objectMapper.writeValueAsString(JsonApiDocument.of(article)),
+                OutputLimitExceededException.class
+        );
+    }
+
+    /**
+     * An article with three comments, the first of which has an answer.
+     */
+    private static Article article() {
+        return new Article(
+                new Comment("1", new Comment("4")),
+                new Comment("2"),
+                new Comment("3")
+        );
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty ToManyRelationship<Comment> comments;
+
+        Article(Comment... comments) {
+            super("article", "1");
+            this.comments = new ToManyRelationship<>(comments);
+        }
+    }
+
+    private static class Comment extends ResourceObject {
+        @JsonProperty ToManyRelationship<Comment> answers;
+
+        Comment(String id, Comment... answers) {
+            super("comment", id);
+            if (answers.length > 0)
+                this.answers = new ToManyRelationship<>(answers);
+        }
+    }
+
+    private static class Meta implements MetaInformation {
+        @JsonProperty int total = 42;
+    }
+}
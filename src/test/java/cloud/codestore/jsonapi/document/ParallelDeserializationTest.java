@@ -0,0 +1,152 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.meta.MetaDeserializer;
+import cloud.codestore.jsonapi.meta.MetaInformation;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A JSON:API document deserialized in parallel")
+class ParallelDeserializationTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    private static final String JSON = createJson();
+
+    private final PointerRecorder sequentialPointers = new PointerRecorder();
+    private final PointerRecorder parallelPointers = new PointerRecorder();
+    private final JsonApiObjectMapper sequentialMapper = new JsonApiObjectMapper(sequentialPointers)
+            .registerResourceType(Article.class)
+            .registerResourceType(Person.class);
+    private final JsonApiObjectMapper parallelMapper = new JsonApiObjectMapper(parallelPointers)
+            .registerResourceType(Article.class)
+            .registerResourceType(Person.class)
+            .enableParallelDeserialization(7, POOL);
+
+    @AfterAll
+    static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    @DisplayName("contains the primary data in the original order")
+    void primaryData() throws Exception {
+        Article[] articles = read(parallelMapper).getData();
+        assertThat(articles).extracting(Article::getId)
+                            .containsExactly(IntStream.range(0, 100).mapToObj(String::valueOf).toArray(String[]::new));
+        assertThat(articles).extracting(article -> article.title)
+                            .containsExactly(IntStream.range(0, 100).mapToObj(id -> "Article " + id).toArray(String[]::new));
+    }
+
+    @Test
+    @DisplayName("contains the included resources in the original order")
+    void includedResources() throws Exception {
+        assertThat(read(parallelMapper).getIncludedResources()).extracting(ResourceObject::getId)
+                                                               .containsExactly(IntStream.range(0, 20).mapToObj(String::valueOf).toArray(String[]::new));
+    }
+
+    @Test
+    @DisplayName("binds the primary data and the included resources on the fork/join pool")
+    void boundOnPool() throws Exception {
+        ResourceCollectionDocument<Article> document = read(parallelMapper);
+        assertThat(document.getData()).allMatch(article -> article.boundOnPool);
+        assertThat(document.getIncludedResources()).allMatch(person -> ((Person) person).boundOnPool);
+    }
+
+    @Test
+    @DisplayName("links the included resources to the relationships")
+    void linkedRelationships() throws Exception {
+        for (Article article : read(parallelMapper).getData()) {
+            Person author = article.author.getRelatedResource();
+            assertThat(author).isNotNull();
+            assertThat(author.getId()).isEqualTo(String.valueOf(Integer.parseInt(article.getId()) % 20));
+            assertThat(author.name).isEqualTo("Person " + author.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("passes the same JSON pointers to the meta deserializer")
+    void metaPointers() throws Exception {
+        read(sequentialMapper);
+        read(parallelMapper);
+        assertThat(parallelPointers.pointers).isNotEmpty().isEqualTo(sequentialPointers.pointers);
+    }
+
+    private ResourceCollectionDocument<Article> read(JsonApiObjectMapper mapper) throws Exception {
+        return mapper.readValue(JSON, new TypeReference<>() {});
+    }
+
+    private static String createJson() {
+        String articles = IntStream.range(0, 100).mapToObj(id -> """
+                {
+                  "type": "article",
+                  "id": "%1$d",
+                  "attributes": {"title": "Article %1$d"},
+                  "relationships": {
+                    "author": {
+                      "data": {"type": "person", "id": "%2$d"},
+                      "meta": {"info": "author"}
+                    }
+                  },
+                  "meta": {"info": "article"}
+                }""".formatted(id, id % 20)).collect(Collectors.joining(","));
+
+        String persons = IntStream.range(0, 20).mapToObj(id -> """
+                {
+                  "type": "person",
+                  "id": "%1$d",
+                  "attributes": {"name": "Person %1$d"},
+                  "meta": {"info": "person"}
+                }""".formatted(id)).collect(Collectors.joining(","));
+
+        return "{\"data\": [" + articles + "], \"included\": [" + persons + "], \"meta\": {\"info\": \"document\"}}";
+    }
+
+    private static class PointerRecorder implements MetaDeserializer {
+        final Set<String> pointers = Collections.synchronizedSet(new HashSet<>());
+
+        @Override
+        public Class<? extends MetaInformation> getClass(String pointer) {
+            pointers.add(pointer);
+            return null;
+        }
+    }
+
+    private static class Article extends ResourceObject {
+        final String title;
+        final ToOneRelationship<Person> author;
+        final boolean boundOnPool = Thread.currentThread() instanceof ForkJoinWorkerThread;
+
+        @JsonCreator
+        Article(@JsonProperty("title") String title, @JsonProperty("author") ToOneRelationship<Person> author) {
+            super("article");
+            this.title = title;
+            this.author = author;
+        }
+    }
+
+    private static class Person extends ResourceObject {
+        final String name;
+        final boolean boundOnPool = Thread.currentThread() instanceof ForkJoinWorkerThread;
+
+        @JsonCreator
+        Person(@JsonProperty("name") String name) {
+            super("person");
+            this.name = name;
+        }
+    }
+}
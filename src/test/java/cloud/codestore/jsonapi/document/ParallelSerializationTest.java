@@ -0,0 +1,127 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.relationship.ToManyRelationship;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static cloud.codestore.jsonapi.JsonAssertion.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A resource collection document serialized in parallel")
+class ParallelSerializationTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private final ObjectMapper sequentialMapper = new JsonApiObjectMapper();
+    private final ObjectMapper parallelMapper = new JsonApiObjectMapper().enableParallelSerialization(7, POOL);
+
+    @AfterAll
+    static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    @DisplayName("contains the same primary data and included resources in the same order")
+    void sameOutput() throws Exception {
+        assertEquals(
+                sequentialMapper.writeValueAsString(createDocument()),
+                parallelMapper.writeValueAsString(createDocument())
+        );
+    }
+
+    @Test
+    @DisplayName("is indented like a sequentially serialized document")
+    void sameIndentation() throws Exception {
+        String sequentialOutput = sequentialMapper.writeValueAsString(createDocument());
+
+        assertThat(parallelMapper.writeValueAsString(createDocument())).isEqualTo(sequentialOutput);
+    }
+
+    @Test
+    @DisplayName("uses the configuration of the object writer")
+    void writerConfiguration() throws Exception {
+        ObjectWriter sequentialWriter = sequentialMapper.writer()
+                                                        .without(SerializationFeature.INDENT_OUTPUT)
+                                                        .with(JsonWriteFeature.ESCAPE_NON_ASCII);
+        ObjectWriter parallelWriter = parallelMapper.writer()
+                                                    .without(SerializationFeature.INDENT_OUTPUT)
+                                                    .with(JsonWriteFeature.ESCAPE_NON_ASCII);
+
+        String sequentialOutput = sequentialWriter.writeValueAsString(createDocument());
+
+        assertThat(sequentialOutput).contains("\\u00DC");
+        assertThat(parallelWriter.writeValueAsString(createDocument())).isEqualTo(sequentialOutput);
+    }
+
+    @Test
+    @DisplayName("includes related resources only once")
+    void noDuplicates() throws Exception {
+        var document = createDocument();
+        parallelMapper.writeValueAsBytes(document);
+        assertThat(document.getIncludedResources()).hasSize(5 + 10);
+    }
+
+    @Test
+    @DisplayName("is serialized sequentially if the primary data is smaller than a chunk")
+    void smallDocument() throws Exception {
+        var document = JsonApiDocument.of(new Article[]{new Article(1, new Person(1))}).setSelfLink("/articles");
+        assertEquals(
+                sequentialMapper.writeValueAsString(document),
+                parallelMapper.writeValueAsString(document)
+        );
+    }
+
+    private JsonApiDocument createDocument() {
+        Person[] authors = IntStream.range(0, 5).mapToObj(Person::new).toArray(Person[]::new);
+        Article[] articles = IntStream.range(0, 100)
+                                      .mapToObj(id -> new Article(id, authors[id % authors.length]))
+                                      .toArray(Article[]::new);
+
+        return JsonApiDocument.of(articles).setSelfLink("/articles");
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty("title")
+        String title;
+        @JsonProperty("author")
+        ToOneRelationship<Person> author;
+
+        Article(int id, Person author) {
+            super("article", String.valueOf(id));
+            this.title = "Übersicht " + id;
+            this.author = new ToOneRelationship<>(author);
+        }
+    }
+
+    private static class Person extends ResourceObject {
+        @JsonProperty("name")
+        String name;
+        @JsonProperty("friends")
+        ToManyRelationship<Person> friends;
+
+        Person(int id) {
+            super("person", String.valueOf(id));
+            this.name = "Person " + id;
+            this.friends = new ToManyRelationship<>(new Person[]{
+                    new Person(String.valueOf(100 + id * 2)),
+                    new Person(String.valueOf(101 + id * 2))
+            });
+        }
+
+        Person(String id) {
+            super("person", id);
+            this.name = "Person " + id;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.meta.MetaInformation;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.IntStream;
+
+import static cloud.codestore.jsonapi.JsonAssertion.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A resource collection document published as byte chunks")
+class ResourceCollectionPublisherTest {
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper();
+    private final Person[] authors = IntStream.range(0, 3).mapToObj(Person::new).toArray(Person[]::new);
+    private final Article[] articles = IntStream.range(0, 10)
+                                                .mapToObj(id -> new Article(id, authors[id % authors.length]))
+                                                .toArray(Article[]::new);
+
+    @Test
+    @DisplayName("equals the serialized document")
+    void sameOutput() throws Exception {
+        var subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        createPublisher(new ListPublisher<>(articles)).subscribe(subscriber);
+
+        assertThat(subscriber.completed).isTrue();
+        assertEquals(objectMapper.writeValueAsString(createDocument(articles)), subscriber.getJson());
+    }
+
+    @Test
+    @DisplayName("equals the serialized document if there is no primary data")
+    void emptyData() throws Exception {
+        var subscriber = new CollectingSubscriber(1);
+        createPublisher(new ListPublisher<>(new Article[0])).subscribe(subscriber);
+
+        assertThat(subscriber.completed).isTrue();
+        assertEquals(objectMapper.writeValueAsString(createDocument(new Article[0])), subscriber.getJson());
+    }
+
+    @Test
+    @DisplayName("only requests as many resource objects as chunks were requested")
+    void backpressure() {
+        var upstream = new ListPublisher<>(articles);
+        var subscriber = new CollectingSubscriber(3);
+        createPublisher(upstream).subscribe(subscriber);
+
+        assertThat(upstream.emitted).isEqualTo(3);
+        assertThat(subscriber.chunks).hasSize(3);
+
+        subscriber.subscription.request(7);
+        assertThat(upstream.emitted).isEqualTo(10);
+        assertThat(subscriber.chunks).hasSize(10);
+        assertThat(subscriber.completed).isFalse();
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.chunks).hasSize(11);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    @DisplayName("forwards errors of the upstream publisher")
+    void upstreamError() {
+        var subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        createPublisher(subscription -> {
+            subscription.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscription.onError(new IllegalStateException());
+        }).subscribe(subscriber);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    private ResourceCollectionPublisher<Article> createPublisher(Flow.Publisher<Article> data) {
+        return new ResourceCollectionPublisher<>(objectMapper, createDocument(new Article[0]), data);
+    }
+
+    private ResourceCollectionDocument<Article> createDocument(Article[] data) {
+        var document = new ResourceCollectionDocument<>(data);
+        document.setJsonapiObject(new JsonApiObject());
+        document.setSelfLink("/articles?page=2");
+        document.setMeta(new PageMeta());
+        return document;
+    }
+
+    private static class PageMeta implements MetaInformation {
+        @JsonProperty("page")
+        int page = 2;
+    }
+
+    /**
+     * A synchronous publisher which emits the given items on request.
+     */
+    private static class ListPublisher<T> implements Flow.Publisher<T> {
+        private final T[] items;
+        private boolean completed;
+        int emitted;
+
+        ListPublisher(T[] items) {
+            this.items = items;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    for (long i = 0; i < n && emitted < items.length; i++) {
+                        subscriber.onNext(items[emitted++]);
+                    }
+
+                    if (emitted == items.length && !completed) {
+                        completed = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {}
+            });
+        }
+    }
+
+    private static class CollectingSubscriber implements Flow.Subscriber<ByteBuffer> {
+        private final long initialDemand;
+        final List<ByteBuffer> chunks = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        CollectingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(ByteBuffer chunk) {
+            chunks.add(chunk);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        String getJson() {
+            StringBuilder json = new StringBuilder();
+            for (ByteBuffer chunk : chunks) {
+                json.append(StandardCharsets.UTF_8.decode(chunk));
+            }
+            return json.toString();
+        }
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty("title")
+        String title;
+        @JsonProperty("author")
+        ToOneRelationship<Person> author;
+
+        Article(int id, Person author) {
+            super("article", String.valueOf(id));
+            this.title = "Article " + id;
+            this.author = new ToOneRelationship<>(author);
+        }
+    }
+
+    private static class Person extends ResourceObject {
+        @JsonProperty("name")
+        String name;
+
+        Person(int id) {
+            super("person", String.valueOf(id));
+            this.name = "Person " + id;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static cloud.codestore.jsonapi.JsonAssertion.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("The resource object cache")
+class ResourceObjectCacheTest {
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper().enableResourceObjectCache(10);
+
+    @Test
+    @DisplayName("does not change the output of a document")
+    void sameOutput() throws Exception {
+        var document = JsonApiDocument.of(new Country[]{new Country("de", "Germany"), new Country("fr", "France")});
+        String expected = new JsonApiObjectMapper().writeValueAsString(document);
+
+        assertEquals(expected, objectMapper.writeValueAsString(document));
+        assertEquals(expected, objectMapper.writeValueAsString(document));
+    }
+
+    @Test
+    @DisplayName("keeps the indentation of the document")
+    void sameIndentation() throws Exception {
+        var country = new Country("de", "Germany");
+        var collection = JsonApiDocument.of(new Country[]{country});
+        var single = JsonApiDocument.of(country);
+        var uncachedMapper = new JsonApiObjectMapper();
+
+        assertThat(objectMapper.writeValueAsString(collection)).isEqualTo(uncachedMapper.writeValueAsString(collection));
+        assertThat(objectMapper.writeValueAsString(collection)).isEqualTo(uncachedMapper.writeValueAsString(collection));
+        assertThat(objectMapper.writeValueAsString(single)).isEqualTo(uncachedMapper.writeValueAsString(single));
+    }
+
+    @Test
+    @DisplayName("only reuses the JSON of a resource object for the same writer configuration")
+    void writerConfiguration() throws Exception {
+        var document = JsonApiDocument.of(new Country("at", "Österreich"));
+        objectMapper.writeValueAsString(document);
+
+        ObjectWriter writer = objectMapper.writer()
+                                          .without(SerializationFeature.INDENT_OUTPUT)
+                                          .with(JsonWriteFeature.ESCAPE_NON_ASCII);
+        ObjectWriter uncachedWriter = new JsonApiObjectMapper().writer()
+                                                               .without(SerializationFeature.INDENT_OUTPUT)
+                                                               .with(JsonWriteFeature.ESCAPE_NON_ASCII);
+
+        String json = writer.writeValueAsString(document);
+        assertThat(json).contains("\\u00D6sterreich");
+        assertThat(json).isEqualTo(uncachedWriter.writeValueAsString(document));
+    }
+
+    @Test
+    @DisplayName("reuses the JSON of a resource object as long as its version does not change")
+    void cachedVersion() throws Exception {
+        var country = new Country("de", "Germany");
+        objectMapper.writeValueAsString(JsonApiDocument.of(country));
+
+        country.name = "Deutschland";
+        assertThat(objectMapper.writeValueAsString(JsonApiDocument.of(country))).contains("Germany");
+
+        country.version = "2";
+        assertThat(objectMapper.writeValueAsString(JsonApiDocument.of(country))).contains("Deutschland");
+    }
+
+    @Test
+    @DisplayName("ignores resource objects without version")
+    void withoutVersion() throws Exception {
+        var country = new Country("de", "Germany");
+        country.version = null;
+        objectMapper.writeValueAsString(JsonApiDocument.of(country));
+
+        country.name = "Deutschland";
+        assertThat(objectMapper.writeValueAsString(JsonApiDocument.of(country))).contains("Deutschland");
+    }
+
+    @Test
+    @DisplayName("includes the related resources of cached resource objects")
+    void includedResources() throws Exception {
+        var city = new City("berlin", new Country("de", "Germany"));
+        String expected = new JsonApiObjectMapper().writeValueAsString(JsonApiDocument.of(city));
+
+        assertEquals(expected, objectMapper.writeValueAsString(JsonApiDocument.of(city)));
+        assertEquals(expected, objectMapper.writeValueAsString(JsonApiDocument.of(city)));
+        assertThat(objectMapper.writeValueAsString(JsonApiDocument.of(city))).contains("\"included\"");
+    }
+
+    @Test
+    @DisplayName("can be disabled")
+    void disabled() throws Exception {
+        var country = new Country("de", "Germany");
+        objectMapper.writeValueAsString(JsonApiDocument.of(country));
+        objectMapper.disableResourceObjectCache();
+
+        country.name = "Deutschland";
+        assertThat(objectMapper.writeValueAsString(JsonApiDocument.of(country))).contains("Deutschland");
+    }
+
+    @Test
+    @DisplayName("requires a positive maximum size")
+    void maximumSize() {
+        assertThatThrownBy(() -> objectMapper.enableResourceObjectCache(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class Country extends ResourceObject {
+        @JsonProperty("name")
+        String name;
+        String version = "1";
+
+        Country(String id, String name) {
+            super("country", id);
+            this.name = name;
+        }
+
+        @Override
+        public String getCacheVersion() {
+            return version;
+        }
+    }
+
+    private static class City extends ResourceObject {
+        @JsonProperty("country")
+        ToOneRelationship<Country> country;
+
+        City(String id, Country country) {
+            super("city", id);
+            this.country = new ToOneRelationship<>(country);
+        }
+
+        @Override
+        public String getCacheVersion() {
+            return "1";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceIdentifierObject;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("String canonicalization")
+class StringCanonicalizationTest {
+    private static final String DOCUMENT = """
+            {
+              "data": [{
+                "type": "article",
+                "id": "1",
+                "relationships": {
+                  "author": {"data": {"type": "person", "id": "9"}},
+                  "editor": {"data": {"type": "user", "id": "9"}}
+                }
+              }, {
+                "type": "article",
+                "id": "2",
+                "relationships": {
+                  "author": {"data": {"type": "person", "id": "9"}},
+                  "editor": {"data": {"type": "user", "id": "9"}}
+                }
+              }]
+            }""";
+
+    @Test
+    @DisplayName("shares the registered type names")
+    void registeredTypes() throws Exception {
+        var objectMapper = new JsonApiObjectMapper()
+                .registerResourceType(Article.class)
+                .registerResourceType(Person.class)
+                .enableStringCanonicalization(false);
+
+        Article[] articles = read(objectMapper);
+        String type = articles[0].author.getData().getType();
+
+        assertThat(type).isEqualTo("person").isSameAs(articles[1].author.getData().getType());
+        assertThat(articles[0].editor.getData().getType()).isSameAs(articles[1].editor.getData().getType());
+        assertThat(articles[0].author.getData().getId()).isNotSameAs(articles[1].author.getData().getId());
+        assertThat(type).isSameAs(read(objectMapper)[0].author.getData().getType());
+    }
+
+    @Test
+    @DisplayName("optionally shares equal ids within a document")
+    void ids() throws Exception {
+        var objectMapper = new JsonApiObjectMapper()
+                .registerResourceType(Article.class)
+                .enableStringCanonicalization(true);
+
+        Article[] articles = read(objectMapper);
+        String id = articles[0].author.getData().getId();
+
+        assertThat(id).isEqualTo("9").isSameAs(articles[1].author.getData().getId());
+        assertThat(articles[0].editor.getData().getId()).isSameAs(id);
+    }
+
+    @Test
+    @DisplayName("is disabled by default")
+    void disabled() throws Exception {
+        var objectMapper = new JsonApiObjectMapper().registerResourceType(Article.class);
+
+        Article[] articles = read(objectMapper);
+
+        assertThat(articles[0].author.getData().getType()).isNotSameAs(articles[1].author.getData().getType());
+    }
+
+    private Article[] read(JsonApiObjectMapper objectMapper) throws Exception {
+        return objectMapper.readValue(DOCUMENT, new TypeReference<ResourceCollectionDocument<Article>>() {}).getData();
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty("author")
+        ToOneRelationship<Person> author;
+        @JsonProperty("editor")
+        ToOneRelationship<ResourceObject> editor;
+
+        Article() {
+            super("article");
+        }
+    }
+
+    private static class Person extends ResourceObject {
+        Person() {
+            super("person");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package cloud.codestore.jsonapi.document;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Warming up the object mapper")
+class WarmUpTest {
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper()
+            .registerResourceType(Article.class)
+            .registerResourceType(Person.class);
+
+    @Test
+    @DisplayName("creates the serializers of all registered resource types in advance")
+    void serializers() throws Exception {
+        var serializerProvider = (DefaultSerializerProvider) objectMapper.getSerializerProvider();
+        assertThat(serializerProvider.cachedSerializersCount()).isZero();
+
+        objectMapper.warmUp();
+        int cachedSerializers = serializerProvider.cachedSerializersCount();
+        assertThat(cachedSerializers).isPositive();
+
+        var json = objectMapper.writeValueAsString(JsonApiDocument.of(new Article("1", new Person("2"))));
+        objectMapper.writeValueAsString(objectMapper.readValue(json, JsonApiDocument.class));
+        assertThat(serializerProvider.cachedSerializersCount()).isEqualTo(cachedSerializers);
+    }
+
+    @Test
+    @DisplayName("creates the deserializers of all registered resource types in advance")
+    void deserializers() throws Exception {
+        var createdDeserializers = new AtomicInteger();
+        objectMapper.registerModule(new SimpleModule().setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(
+                    DeserializationConfig config, BeanDescription beanDesc, JsonDeserializer<?> deserializer
+            ) {
+                createdDeserializers.incrementAndGet();
+                return deserializer;
+            }
+        }));
+
+        var json = objectMapper.writeValueAsString(JsonApiDocument.of(new Article("1", new Person("2"))));
+        objectMapper.warmUp();
+        int warmUpDeserializers = createdDeserializers.get();
+        assertThat(warmUpDeserializers).isPositive();
+
+        objectMapper.readValue(json, JsonApiDocument.class);
+        assertThat(createdDeserializers).hasValue(warmUpDeserializers);
+    }
+
+    @Test
+    @DisplayName("does not change the result of serialization and deserialization")
+    void roundTrip() throws Exception {
+        var json = objectMapper.warmUp().writeValueAsString(JsonApiDocument.of(new Article("1", new Person("2"))));
+
+        var document = objectMapper.readValue(json, JsonApiDocument.class);
+
+        assertThat(document).isInstanceOf(SingleResourceDocument.class);
+        var article = (Article) ((SingleResourceDocument<?>) document).getData();
+        assertThat(article.author.getRelatedResource().getId()).isEqualTo("2");
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty ToOneRelationship<Person> author;
+
+        Article(String id, Person author) {
+            super("article", id);
+            this.author = new ToOneRelationship<>(author);
+        }
+
+        @JsonCreator
+        Article(@JsonProperty("author") ToOneRelationship<Person> author) {
+            super("article");
+            this.author = author;
+        }
+    }
+
+    private static class Person extends ResourceObject {
+        Person(String id) {
+            super("person", id);
+        }
+
+        @JsonCreator
+        Person() {
+            super("person");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package cloud.codestore.jsonapi.error;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static cloud.codestore.jsonapi.JsonAssertion.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("An error document template")
+class ErrorDocumentTemplateTest {
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper();
+
+    @Test
+    @DisplayName("writes the serialized error document")
+    void constantDocument() throws Exception {
+        var errorDocument = new ErrorDocument(new ErrorObject().setStatus("429").setTitle("Too Many Requests"));
+        var template = new ErrorDocumentTemplate(objectMapper, errorDocument);
+
+        var outputStream = new ByteArrayOutputStream();
+        template.write(outputStream);
+
+        assertThat(template.getVariableNames()).isEmpty();
+        assertEquals(errorDocument.toJson(), outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("substitutes its variables by escaped values")
+    void variables() throws Exception {
+        var template = new ErrorDocumentTemplate(objectMapper, new ErrorDocument(
+                new ErrorObject().setId(ErrorDocumentTemplate.variable("id"))
+                                 .setStatus("401")
+                                 .setDetail(ErrorDocumentTemplate.variable("detail")),
+                new ErrorObject().setId(ErrorDocumentTemplate.variable("id"))
+                                 .setStatus("403")
+        ));
+
+        String json = new String(template.toByteArray(Map.of("id", "42", "detail", "Invalid \"token\"")), StandardCharsets.UTF_8);
+
+        assertThat(template.getVariableNames()).containsExactly("id", "detail");
+        assertEquals("""
+                {
+                  "errors": [{
+                    "id": "42",
+                    "status": "401",
+                    "detail": "Invalid \\"token\\""
+                  }, {
+                    "id": "42",
+                    "status": "403"
+                  }]
+                }""", json);
+    }
+
+    @Test
+    @DisplayName("requires the values of all variables")
+    void missingValue() throws Exception {
+        var template = new ErrorDocumentTemplate(objectMapper, new ErrorDocument(
+                new ErrorObject().setId(ErrorDocumentTemplate.variable("id"))
+        ));
+
+        assertThatThrownBy(() -> template.write(new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("requires valid variable names")
+    void variableName() {
+        assertThatThrownBy(() -> ErrorDocumentTemplate.variable(null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ErrorDocumentTemplate.variable("request id"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package cloud.codestore.jsonapi.error;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static cloud.codestore.jsonapi.JsonAssertion.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("An error document writer")
+class ErrorDocumentWriterTest {
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper();
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    @Test
+    @DisplayName("writes the added error objects and a summary")
+    void errors() throws Exception {
+        try (var writer = new ErrorDocumentWriter(objectMapper, outputStream, 10)) {
+            writer.add(new ErrorObject().setStatus("422").setDetail("Invalid title"));
+            writer.addAll(List.of(new ErrorObject().setStatus("422").setDetail("Missing author")).iterator());
+        }
+
+        assertEquals("""
+                {
+                  "errors": [{
+                    "status": "422",
+                    "detail": "Invalid title"
+                  }, {
+                    "status": "422",
+                    "detail": "Missing author"
+                  }],
+                  "meta": {
+                    "totalErrors": 2,
+                    "omittedErrors": 0
+                  }
+                }""", json());
+    }
+
+    @Test
+    @DisplayName("omits all errors beyond the maximum number of errors")
+    void maximumErrors() throws Exception {
+        try (var writer = new ErrorDocumentWriter(objectMapper, outputStream, 2)) {
+            writer.addAll(IntStream.range(0, 1000).mapToObj(i -> new ErrorObject().setId(String.valueOf(i))).iterator());
+            assertThat(writer.getTotalErrors()).isEqualTo(1000);
+        }
+
+        assertEquals("""
+                {
+                  "errors": [{
+                    "id": "0"
+                  }, {
+                    "id": "1"
+                  }],
+                  "meta": {
+                    "totalErrors": 1000,
+                    "omittedErrors": 998
+                  }
+                }""", json());
+    }
+
+    @Test
+    @DisplayName("can be read as error document")
+    void deserialization() throws Exception {
+        try (var writer = new ErrorDocumentWriter(objectMapper, outputStream, 10)) {
+            writer.add(new ErrorObject().setId("1"));
+        }
+
+        ErrorDocument document = objectMapper.readValue(json(), ErrorDocument.class);
+        assertThat(document.getErrors()).hasSize(1);
+        assertThat(document.getErrors()[0].getId()).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("requires at least one error object")
+    void noErrors() throws Exception {
+        var writer = new ErrorDocumentWriter(objectMapper, outputStream, 10);
+        assertThatThrownBy(writer::close).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> writer.add(new ErrorObject())).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("requires a positive maximum number of errors")
+    void invalidMaximum() {
+        assertThatThrownBy(() -> new ErrorDocumentWriter(objectMapper, outputStream, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String json() {
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package cloud.codestore.jsonapi.http;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("An ETag output stream")
+class ETagOutputStreamTest {
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper();
+
+    @Test
+    @DisplayName("computes the same entity tag with and without producing output")
+    void hashOnly() throws Exception {
+        var document = JsonApiDocument.of(new Article("1", "Title"));
+        var output = new ByteArrayOutputStream();
+        var forwardingStream = new ETagOutputStream(output);
+        var hashOnlyStream = new ETagOutputStream();
+
+        objectMapper.writeValue(forwardingStream, document);
+        objectMapper.writeValue(hashOnlyStream, document);
+
+        assertThat(output.toString()).isEqualTo(objectMapper.writeValueAsString(document));
+        assertThat(forwardingStream.getETag()).isEqualTo(hashOnlyStream.getETag());
+    }
+
+    @Test
+    @DisplayName("computes different entity tags for different documents")
+    void differentDocuments() throws Exception {
+        assertThat(eTag(JsonApiDocument.of(new Article("1", "Title"))))
+                .isEqualTo(eTag(JsonApiDocument.of(new Article("1", "Title"))))
+                .isNotEqualTo(eTag(JsonApiDocument.of(new Article("1", "Other title"))));
+    }
+
+    @Test
+    @DisplayName("computes a quoted 64-bit FNV-1a hash")
+    void format() throws Exception {
+        var stream = new ETagOutputStream();
+        assertThat(stream.getETag()).isEqualTo("\"cbf29ce484222325\"");
+
+        stream.write('a');
+        assertThat(stream.getETag()).isEqualTo("\"af63dc4c8601ec8c\"");
+    }
+
+    private String eTag(JsonApiDocument document) throws Exception {
+        var stream = new ETagOutputStream();
+        objectMapper.writeValue(stream, document);
+        return stream.getETag();
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty("title")
+        String title;
+
+        Article(String id, String title) {
+            super("article", id);
+            this.title = title;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package cloud.codestore.jsonapi.http;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.document.ResourceCollectionDocument;
+import cloud.codestore.jsonapi.document.SingleResourceDocument;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("A JSON:API body handler")
+class JsonApiBodyHandlersTest {
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper().registerResourceType(Article.class);
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        respond("/articles", 200, JsonApiDocument.MEDIA_TYPE, """
+                {"data": [
+                  {"type": "article", "id": "1", "attributes": {"title": "First"}},
+                  {"type": "article", "id": "2", "attributes": {"title": "Second"}}
+                ]}""");
+        respond("/articles/1", 200, JsonApiDocument.MEDIA_TYPE + "; ext=\"https://example.com/ext\"", """
+                {"data": {"type": "article", "id": "1", "attributes": {"title": "First"}}}""");
+        respond("/missing", 404, JsonApiDocument.MEDIA_TYPE, """
+                {"errors": [{"status": "404", "title": "Not found"}]}""");
+        respond("/failure", 500, "text/html", "<html>Internal Server Error</html>");
+        respond("/html", 200, "text/html", "<html></html>");
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("reads a resource collection document")
+    void collectionDocument() throws Exception {
+        HttpResponse<ResourceCollectionDocument<Article>> response = httpClient.send(
+                request("/articles"),
+                JsonApiBodyHandlers.ofDocument(objectMapper, new TypeReference<>() {})
+        );
+
+        assertThat(response.body().getData()).extracting(article -> article.title).containsExactly("First", "Second");
+    }
+
+    @Test
+    @DisplayName("reads a document whose media type has parameters")
+    void mediaTypeParameters() throws Exception {
+        HttpResponse<JsonApiDocument> response = httpClient.send(request("/articles/1"), JsonApiBodyHandlers.ofDocument(objectMapper));
+
+        assertThat(response.body()).isInstanceOf(SingleResourceDocument.class);
+        assertThat(((SingleResourceDocument<?>) response.body()).getData().getId()).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("fails with the error document of the response")
+    void errorDocument() {
+        assertThatThrownBy(() -> sendAsync("/missing"))
+                .cause()
+                .isInstanceOfSatisfying(ErrorResponseException.class, exception -> {
+                    assertThat(exception.getStatusCode()).isEqualTo(404);
+                    assertThat(exception.getErrorDocument().getErrors()[0].getTitle()).isEqualTo("Not found");
+                });
+    }
+
+    @Test
+    @DisplayName("fails without error document if the error response is not a JSON:API document")
+    void otherErrorResponse() {
+        assertThatThrownBy(() -> sendAsync("/failure"))
+                .cause()
+                .isInstanceOfSatisfying(ErrorResponseException.class, exception -> {
+                    assertThat(exception.getStatusCode()).isEqualTo(500);
+                    assertThat(exception.getErrorDocument()).isNull();
+                });
+    }
+
+    @Test
+    @DisplayName("fails if the response is not a JSON:API document")
+    void otherMediaType() {
+        assertThatThrownBy(() -> sendAsync("/html"))
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("text/html");
+    }
+
+    private JsonApiDocument sendAsync(String path) {
+        return httpClient.sendAsync(request(path), JsonApiBodyHandlers.ofDocument(objectMapper))
+                         .join()
+                         .body();
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort() + path)).build();
+    }
+
+    private void respond(String path, int statusCode, String contentType, String body) {
+        server.createContext(path, exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(statusCode, bytes.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(bytes);
+            }
+        });
+    }
+
+    private static class Article extends ResourceObject {
+        final String title;
+
+        @JsonCreator
+        Article(@JsonProperty("title") String title) {
+            super("article");
+            this.title = title;
+        }
+    }
+}
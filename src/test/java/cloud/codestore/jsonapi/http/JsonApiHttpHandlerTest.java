@@ -0,0 +1,218 @@
+package cloud.codestore.jsonapi.http;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.document.JsonApiObject;
+import cloud.codestore.jsonapi.document.SingleResourceDocument;
+import cloud.codestore.jsonapi.error.ErrorDocument;
+import cloud.codestore.jsonapi.error.ErrorObject;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+
+import static cloud.codestore.jsonapi.JsonAssertion.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A JSON:API HTTP handler")
+class JsonApiHttpHandlerTest {
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("sends the document with chunked transfer encoding")
+    void document() throws Exception {
+        var document = JsonApiDocument.of(new Article("1", "Title"));
+        start(exchange -> document);
+
+        HttpResponse<String> response = send();
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Transfer-Encoding")).hasValue("chunked");
+        assertThat(response.headers().firstValue("Content-Type")).hasValue(JsonApiDocument.MEDIA_TYPE);
+        assertEquals(objectMapper.writeValueAsString(document), response.body());
+    }
+
+    @Test
+    @DisplayName("adds the extensions and profiles to the content type")
+    void contentTypeParameters() throws Exception {
+        start(exchange -> JsonApiDocument.of(new Article("1", "Title")).setJsonapiObject(
+                new JsonApiObject().setExtensions("https://example.com/ext1", "https://example.com/ext2")
+                                   .setProfiles("https://example.com/profile")
+        ));
+
+        assertThat(send().headers().firstValue("Content-Type")).hasValue(
+                "application/vnd.api+json; ext=\"https://example.com/ext1 https://example.com/ext2\"; profile=\"https://example.com/profile\""
+        );
+    }
+
+    @Test
+    @DisplayName("can be read by the JSON:API body handler")
+    void bodyHandler() throws Exception {
+        start(exchange -> JsonApiDocument.of(new Article("1", "Title")));
+        objectMapper.registerResourceType(Article.class);
+
+        HttpResponse<JsonApiDocument> response = httpClient.send(request(), JsonApiBodyHandlers.ofDocument(objectMapper));
+        assertThat(((SingleResourceDocument<?>) response.body()).getData().getId()).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("sends no content if there is no document")
+    void noContent() throws Exception {
+        start(exchange -> null);
+
+        HttpResponse<String> response = send();
+        assertThat(response.statusCode()).isEqualTo(204);
+        assertThat(response.body()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("sends the error document of an error document exception")
+    void errorResponse() throws Exception {
+        var errorDocument = new ErrorDocument(new ErrorObject().setStatus("404").setTitle("Not found"));
+        start(exchange -> {
+            throw new ErrorDocumentException(404, errorDocument);
+        });
+
+        HttpResponse<String> response = send();
+        assertThat(response.statusCode()).isEqualTo(404);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue(JsonApiDocument.MEDIA_TYPE);
+        assertEquals(errorDocument.toJson(), response.body());
+    }
+
+    @Test
+    @DisplayName("sends an internal server error without body if the exception handler returns no error document")
+    void internalServerError() throws Exception {
+        start(new JsonApiHttpHandler(objectMapper, exchange -> {
+            throw new IllegalStateException();
+        }) {
+            @Override
+            protected ErrorDocument handleException(HttpExchange exchange, Exception exception) {
+                return null;
+            }
+        });
+
+        HttpResponse<String> response = send();
+        assertThat(response.statusCode()).isEqualTo(500);
+        assertThat(response.body()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("passes any other exception to the exception handler")
+    void exceptionHandler() throws Exception {
+        var exception = new IllegalStateException();
+        var errorDocument = new ErrorDocument(new ErrorObject().setStatus("500").setDetail("failed"));
+        var handledExceptions = new ArrayList<Exception>();
+        start(new JsonApiHttpHandler(objectMapper, exchange -> {
+            throw exception;
+        }) {
+            @Override
+            protected ErrorDocument handleException(HttpExchange exchange, Exception exception) {
+                handledExceptions.add(exception);
+                return errorDocument;
+            }
+        });
+
+        HttpResponse<String> response = send();
+        assertThat(response.statusCode()).isEqualTo(500);
+        assertEquals(errorDocument.toJson(), response.body());
+        assertThat(handledExceptions).containsExactly(exception);
+    }
+
+    @Test
+    @DisplayName("sends only the headers of the document for HEAD requests")
+    void head() throws Exception {
+        var document = JsonApiDocument.of(new Article("1", "Title"));
+        start(new JsonApiHttpHandler(objectMapper, exchange -> document).enableETags());
+        String eTag = send().headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(request().uri()).method("HEAD", HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue(JsonApiDocument.MEDIA_TYPE);
+        assertThat(response.headers().firstValue("ETag")).hasValue(eTag);
+        assertThat(response.headers().firstValue("Transfer-Encoding")).isEmpty();
+        assertThat(response.body()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("sends the entity tag of the document")
+    void eTag() throws Exception {
+        var document = JsonApiDocument.of(new Article("1", "Title"));
+        start(new JsonApiHttpHandler(objectMapper, exchange -> document).enableETags());
+
+        var eTagStream = new ETagOutputStream();
+        objectMapper.writeValue(eTagStream, document);
+
+        HttpResponse<String> response = send();
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("ETag")).hasValue(eTagStream.getETag());
+    }
+
+    @Test
+    @DisplayName("sends no document if the entity tag matches")
+    void notModified() throws Exception {
+        start(new JsonApiHttpHandler(objectMapper, exchange -> JsonApiDocument.of(new Article("1", "Title"))).enableETags());
+        String eTag = send().headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(request().uri()).header("If-None-Match", "\"other\", W/" + eTag).build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+
+        assertThat(response.statusCode()).isEqualTo(304);
+        assertThat(response.headers().firstValue("ETag")).hasValue(eTag);
+        assertThat(response.body()).isEmpty();
+    }
+
+    private void start(JsonApiHttpHandler.RequestHandler requestHandler) throws IOException {
+        start(new JsonApiHttpHandler(objectMapper, requestHandler));
+    }
+
+    private void start(JsonApiHttpHandler handler) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", handler);
+        server.start();
+    }
+
+    private HttpResponse<String> send() throws Exception {
+        return httpClient.send(request(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort() + "/")).build();
+    }
+
+    private static class Article extends ResourceObject {
+        @JsonProperty("title")
+        String title;
+
+        Article() {
+            super("article");
+        }
+
+        Article(String id, String title) {
+            super("article", id);
+            this.title = title;
+        }
+    }
+}
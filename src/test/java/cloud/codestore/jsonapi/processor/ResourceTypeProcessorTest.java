@@ -0,0 +1,394 @@
+package cloud.codestore.jsonapi.processor;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.document.SingleResourceDocument;
+import cloud.codestore.jsonapi.relationship.Relationship;
+import cloud.codestore.jsonapi.resource.ResourceObject;
+import cloud.codestore.jsonapi.resource.ResourceObjectWriter;
+import cloud.codestore.jsonapi.resource.ResourceTypeRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("The resource type processor")
+class ResourceTypeProcessorTest {
+    private static final String ARTICLE = """
+            package com.example.article;
+
+            import cloud.codestore.jsonapi.resource.JsonApiType;
+            import cloud.codestore.jsonapi.resource.ResourceObject;
+
+            @JsonApiType("articles")
+            public class Article extends ResourceObject {
+                public Article() {
+                    super("articles");
+                }
+            }
+            """;
+
+    private static final String PERSON = """
+            package com.example.person;
+
+            import cloud.codestore.jsonapi.resource.JsonApiType;
+            import cloud.codestore.jsonapi.resource.ResourceObject;
+
+            @JsonApiType("people")
+            public class Person extends ResourceObject {
+                public Person() {
+                    super("people");
+                }
+            }
+            """;
+
+    private static final String BOOK = """
+            package com.example;
+
+            import cloud.codestore.jsonapi.relationship.ToManyRelationship;
+            import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+            import cloud.codestore.jsonapi.resource.JsonApiType;
+            import cloud.codestore.jsonapi.resource.ResourceObject;
+            import com.fasterxml.jackson.annotation.JsonIgnore;
+            import com.fasterxml.jackson.annotation.JsonProperty;
+
+            import java.util.List;
+            import java.util.Map;
+
+            @JsonApiType("books")
+            public class Book extends ResourceObject {
+                @JsonProperty("title") private String title;
+                @JsonProperty private Map<String, Object> details;
+                public int pageCount;
+                private List<String> tags;
+                @JsonIgnore public String secret = "secret";
+                @JsonProperty("author") private ToOneRelationship<Author> author;
+                public ToManyRelationship<Book> sequels;
+
+                public Book() {
+                    super("books");
+                }
+
+                public static Book example() {
+                    Book book = new Book();
+                    book.title = "The Book";
+                    book.details = Map.of("edition", 2, "languages", List.of("en", "de"));
+                    book.pageCount = 123;
+                    book.tags = List.of("fiction");
+                    book.author = new ToOneRelationship<>(new Author("1", "Jane"));
+                    return book;
+                }
+
+                public List<String> getTags() {
+                    return tags;
+                }
+
+                @Override
+                public String getId() {
+                    return "42";
+                }
+            }
+            """;
+
+    private static final String AUTHOR = """
+            package com.example;
+
+            import cloud.codestore.jsonapi.resource.JsonApiType;
+            import cloud.codestore.jsonapi.resource.ResourceObject;
+
+            @JsonApiType("authors")
+            public class Author extends ResourceObject {
+                private String name;
+
+                public Author() {
+                    super("authors");
+                }
+
+                public Author(String id, String name) {
+                    super("authors", id);
+                    this.name = name;
+                }
+
+                public String getName() {
+                    return name;
+                }
+            }
+            """;
+
+    private static final Pattern CLASS_NAME = Pattern.compile("class (\\w+)");
+    private static final String WRITERS = "-A" + ResourceTypeProcessor.WRITERS_OPTION + "=true";
+
+    @TempDir
+    Path directory;
+    private ClassLoader classLoader;
+
+    @Test
+    @DisplayName("generates a registry into the common package of all resource types")
+    void generateRegistry() throws Exception {
+        var diagnostics = compile(List.of(), ARTICLE, PERSON);
+        assertThat(diagnostics).isEmpty();
+
+        ResourceTypeRegistry registry = loadRegistry("com.example.JsonApiResourceTypes");
+        Map<String, Class<?>> resourceTypes = Map.copyOf(registry.getResourceTypes());
+        assertThat(resourceTypes).containsOnlyKeys("articles", "people");
+        assertThat(resourceTypes.get("articles").getName()).isEqualTo("com.example.article.Article");
+
+        assertThat(Files.readString(directory.resolve("classes/META-INF/services/" + ResourceTypeRegistry.class.getName())))
+                .isEqualTo("com.example.JsonApiResourceTypes\n");
+    }
+
+    @Test
+    @DisplayName("uses the name of the registry given as processor option")
+    void registryName() throws Exception {
+        var diagnostics = compile(List.of("-A" + ResourceTypeProcessor.REGISTRY_OPTION + "=com.example.Types"), ARTICLE);
+        assertThat(diagnostics).isEmpty();
+
+        assertThat(loadRegistry("com.example.Types").getResourceTypes()).containsOnlyKeys("articles");
+    }
+
+    @Test
+    @DisplayName("generates a registry which can be registered in an object mapper")
+    void registerRegistry() throws Exception {
+        compile(List.of(), ARTICLE, PERSON);
+        var objectMapper = new JsonApiObjectMapper().registerResourceTypes(loadRegistry("com.example.JsonApiResourceTypes"));
+
+        var document = objectMapper.readValue("""
+                {"data": {"type": "people", "id": "1"}}""", JsonApiDocument.class);
+
+        assertThat(((SingleResourceDocument<?>) document).getData().getClass().getName()).isEqualTo("com.example.person.Person");
+    }
+
+    @Test
+    @DisplayName("generates the reflection metadata of the resource types for native images")
+    void generateReflectConfig() throws Exception {
+        compile(List.of(), ARTICLE, PERSON);
+
+        Path reflectConfig = directory.resolve("classes/META-INF/native-image/com.example.JsonApiResourceTypes/reflect-config.json");
+        var entries = new ObjectMapper().readTree(reflectConfig.toFile());
+        List<String> names = new ArrayList<>();
+        entries.forEach(entry -> names.add(entry.get("name").asText()));
+
+        assertThat(names).containsExactly(
+                "com.example.article.Article", "com.example.person.Person",
+                "com.example.article.Article[]", "com.example.person.Person[]",
+                "com.example.JsonApiResourceTypes"
+        );
+        assertThat(entries.get(0).get("allDeclaredFields").asBoolean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("reports classes which are not resource objects")
+    void noResourceObject() throws Exception {
+        var diagnostics = compile(List.of(), """
+                package com.example;
+
+                @cloud.codestore.jsonapi.resource.JsonApiType("articles")
+                public class Article {}
+                """);
+
+        assertThat(diagnostics).containsExactly("Classes annotated with @JsonApiType must extend ResourceObject.");
+    }
+
+    @Test
+    @DisplayName("reports classes which are not accessible by the registry")
+    void notPublic() throws Exception {
+        var diagnostics = compile(List.of(), ARTICLE.replace("public class", "class"));
+
+        assertThat(diagnostics).containsExactly("Classes annotated with @JsonApiType must be public.");
+    }
+
+    @Test
+    @DisplayName("reports resource types with the same name")
+    void duplicateName() throws Exception {
+        var diagnostics = compile(List.of(), ARTICLE, PERSON.replace("@JsonApiType(\"people\")", "@JsonApiType(\"articles\")"));
+
+        assertThat(diagnostics).hasSize(1);
+        assertThat(diagnostics.get(0)).startsWith("The resource type \"articles\" is already bound to");
+    }
+
+    @Test
+    @DisplayName("generates resource object writers if enabled")
+    void generateWriters() throws Exception {
+        var diagnostics = compile(List.of(WRITERS), BOOK, AUTHOR);
+        assertThat(diagnostics).isEmpty();
+
+        List<ResourceObjectWriter<?>> writers = loadRegistry("com.example.JsonApiResourceTypes").getResourceObjectWriters();
+        assertThat(writers).extracting(writer -> writer.getClass().getName())
+                           .containsExactlyInAnyOrder("com.example.Author_JsonApiWriter", "com.example.Book_JsonApiWriter");
+        assertThat(compile(List.of(), BOOK, AUTHOR)).isEmpty();
+        assertThat(loadRegistry("com.example.JsonApiResourceTypes").getResourceObjectWriters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("generates resource object writers which produce the same JSON as Jackson")
+    void sameJson() throws Exception {
+        compile(List.of(WRITERS), BOOK, AUTHOR);
+        var registry = new CountingRegistry(loadRegistry("com.example.JsonApiResourceTypes"));
+        var document = new SingleResourceDocument<>(example());
+
+        String expectedJson = new JsonApiObjectMapper().writeValueAsString(document);
+        String json = new JsonApiObjectMapper().registerResourceTypes(registry).writeValueAsString(document);
+
+        assertThat(json).isEqualTo(expectedJson);
+        assertThat(json).contains("\"title\" : \"The Book\"", "\"name\" : \"Jane\"", "\"included\" : [")
+                        .doesNotContain("secret");
+        assertThat(registry.count).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("falls back to Jackson if the properties of a generated writer do not match")
+    void fallback() throws Exception {
+        compile(List.of(WRITERS), BOOK, AUTHOR);
+        var registry = new CountingRegistry(loadRegistry("com.example.JsonApiResourceTypes"));
+        var document = new SingleResourceDocument<>(example());
+
+        var objectMapper = new JsonApiObjectMapper().registerResourceTypes(registry);
+        objectMapper.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        String json = objectMapper.writeValueAsString(document);
+
+        assertThat(json).contains("\"page_count\" : 123");
+        assertThat(registry.count).hasValue(0);
+    }
+
+    private ResourceObject example() throws Exception {
+        return (ResourceObject) getClassLoader().loadClass("com.example.Book").getMethod("example").invoke(null);
+    }
+
+    /**
+     * Compiles the given sources with the {@link ResourceTypeProcessor}.
+     *
+     * @return the error messages of the compiler.
+     */
+    private List<String> compile(List<String> options, String... sources) throws Exception {
+        classLoader = null;
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        List<Path> sourceFiles = new ArrayList<>();
+        for (int i = 0; i < sources.length; i++) {
+            Path sourceFile = directory.resolve("src" + i).resolve(getClassName(sources[i]) + ".java");
+            Files.createDirectories(sourceFile.getParent());
+            sourceFiles.add(Files.writeString(sourceFile, sources[i]));
+        }
+
+        List<String> compilerOptions = new ArrayList<>(options);
+        compilerOptions.addAll(List.of("-classpath", getClassPath(), "-d", classes.toString()));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            var task = compiler.getTask(
+                    null, fileManager, diagnostics, compilerOptions, null, fileManager.getJavaFileObjectsFromPaths(sourceFiles)
+            );
+            task.setProcessors(List.of(new ResourceTypeProcessor()));
+            task.call();
+        }
+
+        return diagnostics.getDiagnostics()
+                          .stream()
+                          .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                          .map(diagnostic -> diagnostic.getMessage(null))
+                          .toList();
+    }
+
+    private ResourceTypeRegistry loadRegistry(String name) throws Exception {
+        return (ResourceTypeRegistry) getClassLoader().loadClass(name).getConstructor().newInstance();
+    }
+
+    /**
+     * @return a class loader for the compiled classes, which is created after each compilation.
+     */
+    private ClassLoader getClassLoader() throws Exception {
+        if (classLoader == null) {
+            URL[] urls = {directory.resolve("classes").toUri().toURL()};
+            classLoader = new URLClassLoader(urls, getClass().getClassLoader());
+        }
+
+        return classLoader;
+    }
+
+    /**
+     * Counts the books which were serialized by a generated writer.
+     */
+    private static class CountingRegistry implements ResourceTypeRegistry {
+        private final ResourceTypeRegistry registry;
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingRegistry(ResourceTypeRegistry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        public Map<String, Class<? extends ResourceObject>> getResourceTypes() {
+            return registry.getResourceTypes();
+        }
+
+        @Override
+        public List<ResourceObjectWriter<?>> getResourceObjectWriters() {
+            return registry.getResourceObjectWriters().stream().<ResourceObjectWriter<?>>map(this::counting).toList();
+        }
+
+        private <T extends ResourceObject> ResourceObjectWriter<T> counting(ResourceObjectWriter<T> writer) {
+            return new ResourceObjectWriter<>() {
+                @Override
+                public Class<T> getResourceType() {
+                    return writer.getResourceType();
+                }
+
+                @Override
+                public List<String> getAttributeNames() {
+                    return writer.getAttributeNames();
+                }
+
+                @Override
+                public List<String> getRelationshipNames() {
+                    return writer.getRelationshipNames();
+                }
+
+                @Override
+                public void writeAttributes(T resourceObject, AttributeWriter attributeWriter) throws IOException {
+                    if (resourceObject.getType().equals("books"))
+                        count.incrementAndGet();
+
+                    writer.writeAttributes(resourceObject, attributeWriter);
+                }
+
+                @Override
+                public void collectRelationships(T resourceObject, Map<String, Relationship> relationships) {
+                    writer.collectRelationships(resourceObject, relationships);
+                }
+            };
+        }
+    }
+
+    private static String getClassName(String source) {
+        Matcher matcher = CLASS_NAME.matcher(source);
+        return matcher.find() ? matcher.group(1) : "Unknown";
+    }
+
+    private static String getClassPath() {
+        String modulePath = System.getProperty("jdk.module.path", "");
+        String classPath = System.getProperty("java.class.path", "");
+        return modulePath.isEmpty() ? classPath : modulePath + File.pathSeparator + classPath;
+    }
+}
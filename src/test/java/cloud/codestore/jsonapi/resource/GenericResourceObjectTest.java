@@ -0,0 +1,200 @@
+package cloud.codestore.jsonapi.resource;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.document.SingleResourceDocument;
+import cloud.codestore.jsonapi.relationship.ToManyRelationship;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static cloud.codestore.jsonapi.JsonAssertion.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("A generic resource object")
+class GenericResourceObjectTest {
+    private static final String DOCUMENT = """
+            {
+              "data": {
+                "type": "article",
+                "id": "1",
+                "attributes": {
+                  "title": "JSON:API paints my bikeshed!",
+                  "pages": 42,
+                  "published": true,
+                  "tags": ["json", "api"],
+                  "dimensions": {"width": 21, "height": 29.7},
+                  "rating": null
+                },
+                "relationships": {
+                  "author": {
+                    "data": {"type": "person", "id": "9"}
+                  },
+                  "comments": {
+                    "data": [{"type": "comment", "id": "5"}]
+                  }
+                }
+              },
+              "included": [{
+                "type": "person",
+                "id": "9",
+                "attributes": {
+                  "name": "Dan"
+                }
+              }, {
+                "type": "comment",
+                "id": "5",
+                "attributes": {
+                  "body": "First!"
+                }
+              }]
+            }""";
+
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper()
+            .registerResourceType(Person.class)
+            .enableGenericResourceObjects();
+
+    @Test
+    @DisplayName("is created for resource objects of unknown types")
+    void unknownType() throws Exception {
+        GenericResourceObject article = readArticle();
+
+        assertThat(article.getType()).isEqualTo("article");
+        assertThat(article.getId()).isEqualTo("1");
+        assertThat(article.getAttributeNames()).containsExactly("title", "pages", "published", "tags", "dimensions", "rating");
+        assertThat(article.getRelationshipNames()).containsExactly("author", "comments");
+    }
+
+    @Test
+    @DisplayName("provides typed access to its attributes")
+    void attributes() throws Exception {
+        GenericResourceObject article = readArticle();
+
+        assertThat(article.getAttribute("title", String.class)).isEqualTo("JSON:API paints my bikeshed!");
+        assertThat(article.getAttribute("pages", Number.class).intValue()).isEqualTo(42);
+        assertThat(article.getAttribute("published", Boolean.class)).isTrue();
+        assertThat(article.getAttribute("tags", List.class)).containsExactly("json", "api");
+        assertThat(article.getAttribute("dimensions", Map.class)).containsEntry("width", 21);
+        assertThat(article.hasAttribute("rating")).isTrue();
+        assertThat(article.getAttribute("rating")).isNull();
+        assertThat(article.hasAttribute("body")).isFalse();
+    }
+
+    @Test
+    @DisplayName("links its relationships to the included resources")
+    void relationships() throws Exception {
+        GenericResourceObject article = readArticle();
+
+        var author = (ToOneRelationship<?>) article.getRelationship("author");
+        assertThat(((Person) author.getRelatedResource()).name).isEqualTo("Dan");
+
+        var comments = (ToManyRelationship<?>) article.getRelationship("comments");
+        var comment = (GenericResourceObject) comments.getRelatedResource()[0];
+        assertThat(comment.getAttribute("body", String.class)).isEqualTo("First!");
+    }
+
+    @Test
+    @DisplayName("is written with all non-null attributes and relationships")
+    void serialization() throws Exception {
+        var document = objectMapper.readValue(DOCUMENT, JsonApiDocument.class);
+        var expected = DOCUMENT.replace("""
+                "dimensions": {"width": 21, "height": 29.7},
+                      "rating": null""", """
+                "dimensions": {"width": 21, "height": 29.7}""");
+
+        assertEquals(expected, objectMapper.writeValueAsString(document));
+    }
+
+    @Test
+    @DisplayName("can be created without a class")
+    void creation() {
+        var resource = new GenericResourceObject("article", "1")
+                .setAttribute("title", "Title")
+                .setAttribute("title", "New title")
+                .setRelationship("author", new ToOneRelationship<>().setData(new ResourceIdentifierObject("person", "9")));
+
+        assertEquals("""
+                {
+                  "type": "article",
+                  "id": "1",
+                  "attributes": {
+                    "title": "New title"
+                  },
+                  "relationships": {
+                    "author": {
+                      "data": {"type": "person", "id": "9"}
+                    }
+                  }
+                }""", resource);
+    }
+
+    @Test
+    @DisplayName("is only created if the expected type is any resource object")
+    void expectedType() throws Exception {
+        var json = """
+                {"type": "article", "id": "1"}""";
+
+        assertThat(objectMapper.readValue(json, ResourceObject.class)).isInstanceOf(GenericResourceObject.class);
+        assertThat(objectMapper.readValue(json, Person.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("leaves unknown or missing type ids of other types to the configuration of the object mapper")
+    void otherTypeIds() throws Exception {
+        assertThat(objectMapper.readValue("{\"id\": \"1\"}", Person.class)).isNull();
+        assertThatThrownBy(() -> objectMapper.readValue("{\"kind\": \"unknown\"}", Shape.class))
+                .isInstanceOf(InvalidTypeIdException.class);
+        assertThatThrownBy(() -> objectMapper.readValue("{\"name\": \"circle\"}", Shape.class))
+                .isInstanceOf(InvalidTypeIdException.class);
+    }
+
+    @Test
+    @DisplayName("can be disabled again")
+    void disabled() throws Exception {
+        objectMapper.disableGenericResourceObjects();
+
+        assertThat(objectMapper.readValue("{\"type\": \"article\", \"id\": \"1\"}", ResourceObject.class)).isNull();
+        assertThat(objectMapper.isEnabled(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("is not created if not enabled")
+    void notEnabled() throws Exception {
+        var objectMapper = new JsonApiObjectMapper().registerResourceType(Person.class);
+        var document = (SingleResourceDocument<?>) objectMapper.readValue("""
+                {
+                  "data": {"type": "article", "id": "1"}
+                }""", JsonApiDocument.class);
+
+        assertThat(document.getData()).isNull();
+    }
+
+    private GenericResourceObject readArticle() throws Exception {
+        var document = (SingleResourceDocument<?>) objectMapper.readValue(DOCUMENT, JsonApiDocument.class);
+        return (GenericResourceObject) document.getData();
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "kind")
+    @JsonSubTypes(@JsonSubTypes.Type(value = Circle.class, name = "circle"))
+    private interface Shape {}
+
+    private static class Circle implements Shape {}
+
+    private static class Person extends ResourceObject {
+        @JsonProperty("name")
+        String name;
+
+        Person() {
+            super("person");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package cloud.codestore.jsonapi.resource;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.document.SingleResourceDocument;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static cloud.codestore.jsonapi.JsonAssertion.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("An immutable resource object")
+class ImmutableResourceObjectTest {
+    private static final String DOCUMENT = """
+            {
+              "data": {
+                "type": "article",
+                "id": "1",
+                "attributes": {
+                  "subject": "JSON:API paints my bikeshed!",
+                  "tags": ["json", "api"]
+                },
+                "relationships": {
+                  "author": {
+                    "data": {"type": "person", "id": "9"}
+                  }
+                }
+              },
+              "included": [{
+                "type": "person",
+                "id": "9",
+                "attributes": {
+                  "name": "Dan"
+                }
+              }]
+            }""";
+
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper()
+            .registerResourceType(Article.class)
+            .registerResourceType(Person.class);
+
+    @Test
+    @DisplayName("is bound by its only constructor")
+    void constructorBinding() throws Exception {
+        Article article = readArticle();
+
+        assertThat(article.getId()).isEqualTo("1");
+        assertThat(article.getTitle()).isEqualTo("JSON:API paints my bikeshed!");
+        assertThat(article.getTags()).containsExactly("json", "api");
+        assertThat(article.getAuthor().getRelatedResource().getName()).isEqualTo("Dan");
+    }
+
+    @Test
+    @DisplayName("is serialized like any other resource object")
+    void serialization() throws Exception {
+        var document = new SingleResourceDocument<>(readArticle());
+
+        assertEquals(DOCUMENT, objectMapper.writeValueAsString(document));
+    }
+
+    @Test
+    @DisplayName("binds missing attributes and relationships to null")
+    void missingValues() throws Exception {
+        var document = objectMapper.readValue("""
+                {"data": {"type": "article", "id": "2"}}""", JsonApiDocument.class);
+        var article = (Article) ((SingleResourceDocument<?>) document).getData();
+
+        assertThat(article.getId()).isEqualTo("2");
+        assertThat(article.getTitle()).isNull();
+        assertThat(article.getTags()).isNull();
+        assertThat(article.getAuthor()).isNull();
+    }
+
+    private Article readArticle() throws Exception {
+        var document = objectMapper.readValue(DOCUMENT, JsonApiDocument.class);
+        return (Article) ((SingleResourceDocument<?>) document).getData();
+    }
+
+    private static final class Article extends ResourceObject {
+        private final String title;
+        private final List<String> tags;
+        private final ToOneRelationship<Person> author;
+
+        Article(String id, @JsonProperty("subject") String title, List<String> tags, ToOneRelationship<Person> author) {
+            super("article", id);
+            this.title = title;
+            this.tags = tags == null ? null : List.copyOf(tags);
+            this.author = author;
+        }
+
+        @JsonProperty("subject")
+        public String getTitle() {
+            return title;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public ToOneRelationship<Person> getAuthor() {
+            return author;
+        }
+    }
+
+    private static final class Person extends ResourceObject {
+        private final String name;
+
+        Person(String id, String name) {
+            super("person", id);
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package cloud.codestore.jsonapi.resource;
+
+import cloud.codestore.jsonapi.JsonApiObjectMapper;
+import cloud.codestore.jsonapi.document.JsonApiDocument;
+import cloud.codestore.jsonapi.document.ResourceCollectionDocument;
+import cloud.codestore.jsonapi.document.SingleResourceDocument;
+import cloud.codestore.jsonapi.relationship.ToOneRelationship;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static cloud.codestore.jsonapi.JsonAssertion.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A lazy resource object")
+class LazyResourceObjectTest {
+    private static final String DOCUMENT = """
+            {
+              "data": {
+                "type": "article",
+                "id": "1",
+                "attributes": {
+                  "title": "JSON:API paints my bikeshed!",
+                  "tags": ["json", "api"],
+                  "rating": null
+                },
+                "relationships": {
+                  "author": {
+                    "data": {"type": "person", "id": "9"}
+                  }
+                }
+              },
+              "included": [{
+                "type": "person",
+                "id": "9",
+                "attributes": {
+                  "name": "Dan"
+                }
+              }]
+            }""";
+
+    private final JsonApiObjectMapper objectMapper = new JsonApiObjectMapper()
+            .registerResourceType(Article.class)
+            .registerResourceType(Person.class);
+
+    @Test
+    @DisplayName("binds its attributes on first access")
+    void lazyAttributes() throws Exception {
+        Article article = readArticle();
+
+        assertThat(article.getId()).isEqualTo("1");
+        assertThat(article.getAttributeNames()).containsExactly("title", "tags", "rating");
+        assertThat(article.hasAttribute("title")).isTrue();
+        assertThat(article.hasAttribute("body")).isFalse();
+        assertThat(article.getTitle()).isEqualTo("JSON:API paints my bikeshed!");
+        assertThat(article.getAttribute("tags", new TypeReference<List<String>>() {})).containsExactly("json", "api");
+        assertThat(article.getAttribute("rating", Integer.class)).isNull();
+        assertThat(article.getAttribute("body", String.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("caches the bound attributes")
+    void cachedAttributes() throws Exception {
+        Article article = readArticle();
+        List<?> tags = article.getAttribute("tags", List.class);
+
+        assertThat(article.getAttribute("tags", List.class)).isSameAs(tags);
+    }
+
+    @Test
+    @DisplayName("can bind its attributes by multiple threads")
+    void concurrentAttributes() throws Exception {
+        Article article = readArticle();
+        List<List<?>> tags = IntStream.range(0, 64)
+                                      .parallel()
+                                      .mapToObj(i -> article.getAttribute("tags", new TypeReference<List<String>>() {}))
+                                      .collect(Collectors.toList());
+
+        assertThat(tags).allSatisfy(value -> assertThat(value).isSameAs(tags.get(0)));
+    }
+
+    @Test
+    @DisplayName("binds its relationships and the included resources as usual")
+    void relationships() throws Exception {
+        Article article = readArticle();
+
+        assertThat(article.author.getData().getId()).isEqualTo("9");
+        assertThat(article.author.getRelatedResource().name).isEqualTo("Dan");
+    }
+
+    @Test
+    @DisplayName("writes the retained attributes unchanged")
+    void serialization() throws Exception {
+        assertEquals(DOCUMENT, objectMapper.writeValueAsString(objectMapper.readValue(DOCUMENT, JsonApiDocument.class)));
+    }
+
+    @Test
+    @DisplayName("retains the attributes of resource collections")
+    void collection() throws Exception {
+        var document = objectMapper.readValue("""
+                {
+                  "data": [
+                    {"type": "article", "id": "1", "attributes": {"title": "First"}},
+                    {"attributes": {"title": "Second"}, "id": "2", "type": "article"}
+                  ]
+                }""", new TypeReference<ResourceCollectionDocument<Article>>() {});
+
+        assertThat(document.getData()).extracting(Article::getTitle).containsExactly("First", "Second");
+    }
+
+    @Test
+    @DisplayName("can be read without a document")
+    void withoutDocument() throws Exception {
+        var article = objectMapper.readValue("""
+                {"type": "article", "id": "1", "attributes": {"title": "Title"}}""", Article.class);
+
+        assertThat(article.getTitle()).isEqualTo("Title");
+    }
+
+    @Test
+    @DisplayName("has no attributes if it was not deserialized")
+    void notDeserialized() {
+        var article = new Article();
+
+        assertThat(article.getAttributeNames()).isEmpty();
+        assertThat(article.getUnboundAttributes()).isNull();
+        assertThat(article.getTitle()).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Article readArticle() throws Exception {
+        return ((SingleResourceDocument<Article>) objectMapper.readValue(DOCUMENT, JsonApiDocument.class)).getData();
+    }
+
+    private static class Article extends LazyResourceObject {
+        @JsonProperty("author")
+        ToOneRelationship<Person> author;
+
+        Article() {
+            super("article");
+        }
+
+        String getTitle() {
+            return getAttribute("title", String.class);
+        }
+    }
+
+    private static class Person extends ResourceObject {
+        @JsonProperty("name")
+        String name;
+
+        Person() {
+            super("person");
+        }
+    }
+}
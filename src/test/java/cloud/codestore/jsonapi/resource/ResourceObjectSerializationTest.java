@@ -66,6 +66,39 @@ class ResourceObjectSerializationTest {
                 }""", resource);
     }
 
+    @Test
+    @DisplayName("reads attributes and relationships from private fields and getters")
+    void privateMembers() {
+        var resource = new ResourceObject(TYPE, ID) {
+            @JsonProperty("title")
+            private String title = "The article's title";
+            @JsonProperty("pages")
+            private int pages = 42;
+            @JsonProperty("author")
+            private ToOneRelationship<Person> author = ResourceObject.asRelationship(new Person("5"));
+
+            public boolean isPublished() {
+                return true;
+            }
+        };
+
+        assertEquals("""
+                {
+                  "type": "article",
+                  "id": "1",
+                  "attributes": {
+                    "pages": 42,
+                    "published": true,
+                    "title": "The article's title"
+                  },
+                  "relationships": {
+                    "author": {
+                      "data":{"type":"person", "id":"5"}
+                    }
+                  }
+                }""", resource);
+    }
+
     @Nested
     @DisplayName("may contain")
     class OptionalMembers {